@@ -0,0 +1,73 @@
+package javascript;
+
+/**
+ * The kernels JSString uses to scan its chars.
+ * <br/>
+ * This is the Java 17 version, which the multi-release JAR puts under
+ * <code>META-INF/versions/17</code> in place of the Java 8 one. It uses
+ * {@link VectorCharScan} when the <code>jdk.incubator.vector</code> module
+ * is present (<code>--add-modules jdk.incubator.vector</code>), and
+ * {@link ScalarCharScan} otherwise.
+ * @version 19th October, 2026
+ */
+final class CharScan
+{
+	private CharScan() {}
+	
+	private static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+	
+	/**
+	 * Returns the first index in <code>[from, to)</code> holding <code>c</code>, or <code>-1</code>
+	 */
+	static int indexOf(char[] a, char c, int from, int to)
+	{
+		return VECTORIZED ? VectorCharScan.indexOf(a, c, from, to) : ScalarCharScan.indexOf(a, c, from, to);
+	}
+	
+	/**
+	 * Returns the first index in <code>[from, to)</code> holding a
+	 * surrogate, high or low, or <code>-1</code>
+	 */
+	static int indexOfSurrogate(char[] a, int from, int to)
+	{
+		return VECTORIZED ? VectorCharScan.indexOfSurrogate(a, from, to) : ScalarCharScan.indexOfSurrogate(a, from, to);
+	}
+	
+	/**
+	 * Returns the first offset below <code>length</code> at which the chars of
+	 * <code>a</code> from <code>aFrom</code> and <code>b</code> from
+	 * <code>bFrom</code> differ, or <code>-1</code> if they don't.
+	 */
+	static int mismatch(char[] a, int aFrom, char[] b, int bFrom, int length)
+	{
+		return VECTORIZED
+				? VectorCharScan.mismatch(a, aFrom, b, bFrom, length)
+				: ScalarCharScan.mismatch(a, aFrom, b, bFrom, length);
+	}
+	
+	/**
+	 * Copies the chars in <code>[from, to)</code> of <code>src</code> to the
+	 * same indices of <code>dst</code>, lower casing <code>A</code> to
+	 * <code>Z</code>, until it reaches a char that isn't ASCII.
+	 * @return The index of that char, or <code>to</code> if every char was copied
+	 */
+	static int toLowerCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		return VECTORIZED
+				? VectorCharScan.toLowerCaseAscii(src, dst, from, to)
+				: ScalarCharScan.toLowerCaseAscii(src, dst, from, to);
+	}
+	
+	/**
+	 * Copies the chars in <code>[from, to)</code> of <code>src</code> to the
+	 * same indices of <code>dst</code>, upper casing <code>a</code> to
+	 * <code>z</code>, until it reaches a char that isn't ASCII.
+	 * @return The index of that char, or <code>to</code> if every char was copied
+	 */
+	static int toUpperCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		return VECTORIZED
+				? VectorCharScan.toUpperCaseAscii(src, dst, from, to)
+				: ScalarCharScan.toUpperCaseAscii(src, dst, from, to);
+	}
+}
@@ -0,0 +1,97 @@
+package javascript;
+
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The Vector API versions of the {@link CharScan} kernels. Chars are
+ * loaded as shorts, a whole vector at a time, and the chars left over at
+ * the end of a range are handled by {@link ScalarCharScan}.
+ * <br/>
+ * This class must only be loaded when the <code>jdk.incubator.vector</code>
+ * module is present.
+ * @version 19th October, 2026
+ */
+final class VectorCharScan
+{
+	private VectorCharScan() {}
+	
+	private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+	private static final int LANES = SPECIES.length();
+	
+	static int indexOf(char[] a, char c, int from, int to)
+	{
+		int k = from;
+		for (int max = to - LANES; k <= max; k += LANES)
+		{
+			VectorMask<Short> found = ShortVector.fromCharArray(SPECIES, a, k).eq((short)c);
+			if (found.anyTrue()) return k + found.firstTrue();
+		}
+		return ScalarCharScan.indexOf(a, c, k, to);
+	}
+	
+	static int indexOfSurrogate(char[] a, int from, int to)
+	{
+		int k = from;
+		for (int max = to - LANES; k <= max; k += LANES)
+		{
+			// chars below 0xD800 wrap around to large values
+			VectorMask<Short> found = ShortVector.fromCharArray(SPECIES, a, k)
+					.sub((short)0xD800)
+					.compare(VectorOperators.UNSIGNED_LT, (short)0x800);
+			if (found.anyTrue()) return k + found.firstTrue();
+		}
+		return ScalarCharScan.indexOfSurrogate(a, k, to);
+	}
+	
+	static int mismatch(char[] a, int aFrom, char[] b, int bFrom, int length)
+	{
+		int k = 0;
+		for (int max = length - LANES; k <= max; k += LANES)
+		{
+			ShortVector va = ShortVector.fromCharArray(SPECIES, a, aFrom + k);
+			ShortVector vb = ShortVector.fromCharArray(SPECIES, b, bFrom + k);
+			VectorMask<Short> differs = va.compare(VectorOperators.NE, vb);
+			if (differs.anyTrue()) return k + differs.firstTrue();
+		}
+		
+		int i = ScalarCharScan.mismatch(a, aFrom + k, b, bFrom + k, length - k);
+		return i == -1 ? -1 : k + i;
+	}
+	
+	static int toLowerCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		return VectorCharScan.shiftCaseAscii(src, dst, from, to, 'A', 'Z', (short)32);
+	}
+	
+	static int toUpperCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		return VectorCharScan.shiftCaseAscii(src, dst, from, to, 'a', 'z', (short)-32);
+	}
+	
+	/**
+	 * Copies the chars from <code>src</code> to <code>dst</code>, adding
+	 * <code>shift</code> to those from <code>first</code> to <code>last</code>,
+	 * until it reaches a char that isn't ASCII.
+	 */
+	private static int shiftCaseAscii(char[] src, char[] dst, int from, int to, char first, char last, short shift)
+	{
+		int k = from;
+		for (int max = to - LANES; k <= max; k += LANES)
+		{
+			ShortVector v = ShortVector.fromCharArray(SPECIES, src, k);
+			
+			// chars from 0x8000 up are negative as shorts, so compare unsigned
+			if (v.compare(VectorOperators.UNSIGNED_GE, (short)0x80).anyTrue()) break;
+			
+			VectorMask<Short> letters = v.compare(VectorOperators.GE, (short)first).and(v.compare(VectorOperators.LE, (short)last));
+			v.add(shift, letters).intoCharArray(dst, k);
+		}
+		
+		return shift > 0
+				? ScalarCharScan.toLowerCaseAscii(src, dst, k, to)
+				: ScalarCharScan.toUpperCaseAscii(src, dst, k, to);
+	}
+}
@@ -0,0 +1,277 @@
+package javascript;
+
+/**
+ * The <a href="https://tc39.es/ecma262/#sec-abstract-operations">abstract operations</a>
+ * that convert and compare values, in one place so every method converts
+ * its arguments the same way.
+ * <br/>
+ * Each operation checks for the most common type first, then switches on
+ * a type tag that is worked out once per class, rather than testing a
+ * value against every boxed type in turn.
+ * @version 19th October, 2026
+ */
+public final class AbstractOps
+{
+	private AbstractOps() {}
+	
+	/**
+	 * The type {@link #toPrimitive(Object, Hint)} should prefer to convert an object to
+	 */
+	public enum Hint
+	{
+		DEFAULT,
+		STRING,
+		NUMBER
+	}
+	
+	private static final JSString NULL = new JSString("null");
+	private static final JSString UNDEFINED = new JSString("undefined");
+	private static final JSString TRUE = new JSString("true");
+	private static final JSString FALSE = new JSString("false");
+	
+	/**
+	 * Gets whether <code>value</code> is an ECMAScript object, rather than a
+	 * primitive like a string, number, boolean, null or undefined
+	 */
+	private static boolean isObject(Object value)
+	{
+		return Type.of(value) == Type.OBJECT;
+	}
+	
+	/**
+	 * Converts <code>value</code> to a primitive value, as
+	 * <a href="https://tc39.es/ecma262/#sec-toprimitive">ToPrimitive</a> does
+	 * with no preferred type
+	 * @param value The value to convert
+	 * @return <code>value</code> if it is already a primitive, otherwise
+	 * the result of its {@link JSObject#valueOf()} or <code>toString()</code>
+	 */
+	public static Object toPrimitive(Object value)
+	{
+		return AbstractOps.toPrimitive(value, Hint.DEFAULT);
+	}
+	
+	/**
+	 * Converts <code>value</code> to a primitive value, as
+	 * <a href="https://tc39.es/ecma262/#sec-toprimitive">ToPrimitive</a> does.
+	 * <br/>
+	 * Objects are converted by their {@link JSObject#valueOf()}, then by their
+	 * <code>toString()</code> if that isn't a primitive, or the other way
+	 * around when <code>hint</code> is {@link Hint#STRING}. Other Java objects
+	 * are only converted by their <code>toString()</code>.
+	 * @param value The value to convert
+	 * @param hint The preferred type
+	 * @return The primitive value
+	 */
+	public static Object toPrimitive(Object value, Hint hint)
+	{
+		if (!AbstractOps.isObject(value)) return value;
+		
+		if (value instanceof JSObject && hint != Hint.STRING)
+		{
+			Object primitive = ((JSObject)value).valueOf();
+			if (!AbstractOps.isObject(primitive)) return primitive;
+		}
+		return value.toString();
+	}
+	
+	/**
+	 * Converts <code>value</code> to a string, as
+	 * <a href="https://tc39.es/ecma262/#sec-tostring">ToString</a> does.
+	 * Numbers are formatted as {@link JSNumber#toString(double)} does.
+	 * @param value The value to convert
+	 * @return The string, which is <code>value</code> itself if it is a JSString
+	 */
+	public static JSString toString(Object value)
+	{
+		if (value instanceof JSString) return (JSString)value;
+		
+		switch (Type.of(value))
+		{
+			case Type.NULL: return NULL;
+			case Type.UNDEFINED: return UNDEFINED;
+			case Type.BOOLEAN: return (Boolean)value ? TRUE : FALSE;
+			case Type.STRING: return new JSString(value.toString());
+			case Type.INTEGRAL: return new JSString(Long.toString(((Number)value).longValue()));
+			case Type.FLOATING: return JSString.adopt(NumberToString.toChars(((Number)value).doubleValue()));
+			case Type.BIGINT: return ((JSBigInt)value).toString(10);
+			default: return AbstractOps.toString(AbstractOps.toPrimitive(value, Hint.STRING));
+		}
+	}
+	
+	/**
+	 * Converts <code>value</code> to a number, as
+	 * <a href="https://tc39.es/ecma262/#sec-tonumber">ToNumber</a> does.
+	 * Strings must be a whole decimal, <code>0x</code>, <code>0o</code> or
+	 * <code>0b</code> literal or <code>Infinity</code>, with optional white
+	 * space around it, and empty strings are 0.
+	 * @param value The value to convert
+	 * @return The number, or <code>NaN</code> if <code>value</code> isn't one
+	 * @throws IllegalArgumentException If <code>value</code> is a {@link JSBigInt}
+	 */
+	public static double toNumber(Object value)
+	{
+		if (value instanceof Double) return (Double)value;
+		else if (value instanceof Integer) return (Integer)value;
+		else if (value instanceof JSString) return NumberParser.toNumber(((JSString)value).getValues());
+		
+		switch (Type.of(value))
+		{
+			case Type.NULL: return 0;
+			case Type.UNDEFINED: return Double.NaN;
+			case Type.BOOLEAN: return (Boolean)value ? 1 : 0;
+			case Type.INTEGRAL:
+			case Type.FLOATING: return ((Number)value).doubleValue();
+			case Type.STRING: return NumberParser.toNumber(value.toString().toCharArray());
+			case Type.BIGINT: throw new IllegalArgumentException("Cannot convert a BigInt value to a number");
+			default: return AbstractOps.toNumber(AbstractOps.toPrimitive(value, Hint.NUMBER));
+		}
+	}
+	
+	/**
+	 * Converts <code>value</code> to a whole number, as
+	 * <a href="https://tc39.es/ecma262/#sec-tointegerorinfinity">ToIntegerOrInfinity</a>
+	 * does, truncating towards zero with <code>NaN</code> becoming 0
+	 * @param value The value to convert
+	 * @return The whole number, or an infinity
+	 */
+	public static double toIntegerOrInfinity(Object value)
+	{
+		if (value instanceof Integer) return (Integer)value;
+		
+		double number = AbstractOps.toNumber(value);
+		if (number != number || number == 0) return 0;
+		if (Double.isInfinite(number)) return number;
+		
+		// adding 0 turns -0 into 0
+		return (number < 0 ? Math.ceil(number) : Math.floor(number)) + 0.0;
+	}
+	
+	/**
+	 * Compares two values as <code>===</code> does, as
+	 * <a href="https://tc39.es/ecma262/#sec-isstrictlyequal">IsStrictlyEqual</a>
+	 * describes, with numbers equal by value whatever their boxes and
+	 * <code>NaN</code> equal to nothing
+	 */
+	public static boolean isStrictlyEqual(Object a, Object b)
+	{
+		return AbstractOps.equals(a, b, false);
+	}
+	
+	/**
+	 * Compares two values as <a href="https://tc39.es/ecma262/#sec-samevaluezero">SameValueZero</a>
+	 * does, which is strict equality except that <code>NaN</code> equals itself
+	 */
+	public static boolean sameValueZero(Object a, Object b)
+	{
+		return AbstractOps.equals(a, b, true);
+	}
+	
+	/**
+	 * Compares two values as <code>==</code> does, as
+	 * <a href="https://tc39.es/ecma262/#sec-islooselyequal">IsLooselyEqual</a>
+	 * describes: <code>null</code> and undefined equal each other, strings
+	 * and booleans are compared to numbers as numbers, BigInts equal numbers
+	 * and strings with the same integer value, and objects are compared to
+	 * primitives by {@link #toPrimitive(Object)}
+	 */
+	public static boolean isLooselyEqual(Object a, Object b)
+	{
+		int aTag = Type.of(a);
+		int bTag = Type.of(b);
+		
+		if (aTag == bTag || (Type.isNumber(aTag) && Type.isNumber(bTag))) return AbstractOps.equals(a, b, false);
+		
+		if ((aTag == Type.NULL || aTag == Type.UNDEFINED) && (bTag == Type.NULL || bTag == Type.UNDEFINED)) return true;
+		if (aTag == Type.NULL || aTag == Type.UNDEFINED || bTag == Type.NULL || bTag == Type.UNDEFINED) return false;
+		
+		if (aTag == Type.BOOLEAN) return AbstractOps.isLooselyEqual(AbstractOps.toNumber(a), b);
+		if (bTag == Type.BOOLEAN) return AbstractOps.isLooselyEqual(a, AbstractOps.toNumber(b));
+		
+		if (Type.isNumber(aTag) && bTag == Type.STRING) return AbstractOps.equals(a, AbstractOps.toNumber(b), false);
+		if (aTag == Type.STRING && Type.isNumber(bTag)) return AbstractOps.equals(AbstractOps.toNumber(a), b, false);
+		
+		if (aTag == Type.BIGINT && bTag == Type.STRING) return a.equals(AbstractOps.toBigInt(b));
+		if (aTag == Type.STRING && bTag == Type.BIGINT) return b.equals(AbstractOps.toBigInt(a));
+		
+		if (aTag == Type.OBJECT) return AbstractOps.isLooselyEqual(AbstractOps.toPrimitive(a), b);
+		if (bTag == Type.OBJECT) return AbstractOps.isLooselyEqual(a, AbstractOps.toPrimitive(b));
+		
+		if (aTag == Type.BIGINT && Type.isNumber(bTag)) return ((JSBigInt)a).equals((Number)b, bTag);
+		if (Type.isNumber(aTag) && bTag == Type.BIGINT) return ((JSBigInt)b).equals((Number)a, aTag);
+		
+		return false;
+	}
+	
+	/**
+	 * Parses the string <code>value</code> as a BigInt literal
+	 * @return The BigInt, or <code>null</code> if it isn't one
+	 */
+	private static JSBigInt toBigInt(Object value)
+	{
+		char[] values = AbstractOps.toString(value).getValues();
+		return JSBigInt.parse(values, 0, values.length);
+	}
+	
+	/**
+	 * Compares two values as <a href="https://tc39.es/ecma262/#sec-samevaluenonnumber">SameValueNonNumber</a>
+	 * does, for callers that already know neither is a number
+	 */
+	static boolean sameValueNonNumeric(Object a, Object b)
+	{
+		if (a == null) return b == null;
+		else if (b == null) return false;
+		else if (a instanceof JSUndefined) return b instanceof JSUndefined;
+		else if (a instanceof String) return b instanceof String && ((String)a).contentEquals((String)b);
+		else if (a instanceof JSString)
+		{
+			// interned strings are compared by identity in contentEquals
+			JSString aString = (JSString)a;
+			if (b instanceof JSString) return aString == b || aString.contentEquals((JSString)b);
+		}
+		
+		if (a instanceof Boolean) return a.equals(b);
+		else return a == b;
+	}
+	
+	/**
+	 * Compares two values the way strict equality and SameValueZero both do,
+	 * only differing in whether <code>NaN</code> equals itself
+	 */
+	static boolean equals(Object a, Object b, boolean nanEqualsNaN)
+	{
+		int aTag = Type.of(a);
+		int bTag = Type.of(b);
+		
+		switch (aTag)
+		{
+			case Type.NULL:
+			case Type.UNDEFINED:
+				return aTag == bTag;
+			case Type.BOOLEAN:
+				return bTag == Type.BOOLEAN && ((Boolean)a).booleanValue() == ((Boolean)b).booleanValue();
+			case Type.STRING:
+				return bTag == Type.STRING && AbstractOps.stringEquals(a, b);
+			case Type.INTEGRAL:
+			case Type.FLOATING:
+				return Type.isNumber(bTag) && JSNumber.equals((Number)a, aTag, (Number)b, bTag, nanEqualsNaN);
+			case Type.BIGINT:
+				return bTag == Type.BIGINT && a.equals(b);
+			default:
+				return a == b;
+		}
+	}
+	
+	/**
+	 * Compares the contents of two values that are each a JSString,
+	 * <code>String</code> or <code>Character</code>
+	 */
+	private static boolean stringEquals(Object a, Object b)
+	{
+		if (a == b) return true;
+		else if (a instanceof JSString && b instanceof JSString) return a.equals(b);
+		else if (a instanceof JSString) return b.toString().contentEquals(((JSString)a).asCharSequence());
+		else if (b instanceof JSString) return a.toString().contentEquals(((JSString)b).asCharSequence());
+		else return a.toString().equals(b.toString());
+	}
+}
@@ -0,0 +1,132 @@
+package javascript;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The table of interned strings behind {@link JSString#intern()}.
+ * <br/>
+ * Atoms are only weakly held, so an interned string that nothing else
+ * uses any more is garbage collected, and its entry is removed the next
+ * time the table is used.
+ * @version 19th October, 2026
+ */
+final class AtomTable
+{
+	private AtomTable() {}
+	
+	private static final ConcurrentHashMap<Object, Atom> atoms = new ConcurrentHashMap<>();
+	private static final ReferenceQueue<JSString> collected = new ReferenceQueue<>();
+	
+	private static final LongAdder lookups = new LongAdder();
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder bytesSaved = new LongAdder();
+	
+	/**
+	 * A weakly held interned string. Its hash is kept so that the entry can
+	 * still be found and removed after the string is collected.
+	 */
+	private static final class Atom extends WeakReference<JSString>
+	{
+		private final int hash;
+		
+		Atom(JSString string)
+		{
+			super(string, collected);
+			this.hash = string.hashCode();
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return this.hash;
+		}
+		
+		@Override
+		public boolean equals(Object obj)
+		{
+			if (obj == this) return true;
+			
+			JSString string = this.get();
+			if (string == null) return false;
+			else if (obj instanceof Atom) return string.equals(((Atom)obj).get());
+			else return obj instanceof Probe && string.equals(((Probe)obj).string);
+		}
+	}
+	
+	/**
+	 * Looks up the atom for a string without creating a weak reference to it
+	 */
+	private static final class Probe
+	{
+		private final JSString string;
+		
+		Probe(JSString string)
+		{
+			this.string = string;
+		}
+		
+		@Override
+		public int hashCode()
+		{
+			return this.string.hashCode();
+		}
+		
+		@Override
+		public boolean equals(Object obj)
+		{
+			return obj instanceof Atom && this.string.equals(((Atom)obj).get());
+		}
+	}
+	
+	/**
+	 * Returns the atom with the same chars as <code>string</code>, making
+	 * <code>string</code> the atom if there isn't one yet.
+	 */
+	static JSString intern(JSString string)
+	{
+		AtomTable.expungeCollected();
+		lookups.increment();
+		
+		Atom atom = atoms.get(new Probe(string));
+		JSString existing = atom == null ? null : atom.get();
+		if (existing != null) return AtomTable.hit(string, existing);
+		
+		Atom newAtom = new Atom(string);
+		while (true)
+		{
+			Atom prior = atoms.putIfAbsent(newAtom, newAtom);
+			if (prior == null) return string;
+			
+			existing = prior.get();
+			if (existing != null) return AtomTable.hit(string, existing);
+			
+			// the atom was collected but not expunged yet
+			atoms.remove(prior, prior);
+		}
+	}
+	
+	private static JSString hit(JSString string, JSString existing)
+	{
+		hits.increment();
+		if (existing.getValues() != string.getValues()) bytesSaved.add((long)string.length() * Character.BYTES);
+		return existing;
+	}
+	
+	private static void expungeCollected()
+	{
+		Object ref;
+		while ((ref = collected.poll()) != null)
+		{
+			atoms.remove(ref, ref);
+		}
+	}
+	
+	static InternStats stats()
+	{
+		AtomTable.expungeCollected();
+		return new InternStats(lookups.sum(), hits.sum(), bytesSaved.sum(), atoms.size());
+	}
+}
@@ -0,0 +1,99 @@
+package javascript;
+
+import java.util.Arrays;
+
+/**
+ * A growable char buffer that hands its chars straight to a new
+ * JSString, instead of going through a <code>StringBuilder</code> and
+ * a <code>String</code>.
+ * @version 19th October, 2026
+ */
+final class CharArrayBuilder
+{
+	private char[] _values;
+	private int _length;
+	
+	CharArrayBuilder(int capacity)
+	{
+		this._values = new char[Math.max(capacity, 16)];
+	}
+	
+	int length()
+	{
+		return this._length;
+	}
+	
+	private void ensureCapacity(int capacity)
+	{
+		if (capacity > this._values.length)
+		{
+			int newCapacity = Math.max(capacity, this._values.length << 1);
+			this._values = Arrays.copyOf(this._values, newCapacity);
+		}
+	}
+	
+	CharArrayBuilder append(char c)
+	{
+		this.ensureCapacity(this._length + 1);
+		this._values[this._length] = c;
+		this._length++;
+		return this;
+	}
+	
+	CharArrayBuilder append(char[] values, int from, int to)
+	{
+		int count = to - from;
+		this.ensureCapacity(this._length + count);
+		System.arraycopy(values, from, this._values, this._length, count);
+		this._length += count;
+		return this;
+	}
+	
+	CharArrayBuilder append(JSString string)
+	{
+		char[] values = string.getValues();
+		return this.append(values, 0, values.length);
+	}
+	
+	CharArrayBuilder append(String string)
+	{
+		int count = string.length();
+		this.ensureCapacity(this._length + count);
+		string.getChars(0, count, this._values, this._length);
+		this._length += count;
+		return this;
+	}
+	
+	CharArrayBuilder append(CharSequence string, int from, int to)
+	{
+		if (string instanceof String)
+		{
+			int count = to - from;
+			this.ensureCapacity(this._length + count);
+			((String)string).getChars(from, to, this._values, this._length);
+			this._length += count;
+		}
+		else
+		{
+			this.ensureCapacity(this._length + to - from);
+			for (int i = from; i < to; i++)
+			{
+				this._values[this._length] = string.charAt(i);
+				this._length++;
+			}
+		}
+		return this;
+	}
+	
+	/**
+	 * Creates a JSString from the chars appended so far. The buffer is
+	 * handed over without a copy when it is exactly full, so this builder
+	 * must not be used afterwards.
+	 * @return The chars appended so far as a JSString
+	 */
+	JSString toJSString()
+	{
+		char[] values = this._values.length == this._length ? this._values : Arrays.copyOf(this._values, this._length);
+		return JSString.adopt(values);
+	}
+}
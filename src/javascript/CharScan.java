@@ -0,0 +1,64 @@
+package javascript;
+
+/**
+ * The kernels JSString uses to scan its chars.
+ * <br/>
+ * This is the Java 8 version, which just uses {@link ScalarCharScan}.
+ * The multi-release JAR replaces this class on Java 17 and later with
+ * the one in <code>src-java17</code>, which uses the Vector API when the
+ * <code>jdk.incubator.vector</code> module is present.
+ * @version 19th October, 2026
+ */
+final class CharScan
+{
+	private CharScan() {}
+	
+	/**
+	 * Returns the first index in <code>[from, to)</code> holding <code>c</code>, or <code>-1</code>
+	 */
+	static int indexOf(char[] a, char c, int from, int to)
+	{
+		return ScalarCharScan.indexOf(a, c, from, to);
+	}
+	
+	/**
+	 * Returns the first index in <code>[from, to)</code> holding a
+	 * surrogate, high or low, or <code>-1</code>
+	 */
+	static int indexOfSurrogate(char[] a, int from, int to)
+	{
+		return ScalarCharScan.indexOfSurrogate(a, from, to);
+	}
+	
+	/**
+	 * Returns the first offset below <code>length</code> at which the chars of
+	 * <code>a</code> from <code>aFrom</code> and <code>b</code> from
+	 * <code>bFrom</code> differ, or <code>-1</code> if they don't.
+	 */
+	static int mismatch(char[] a, int aFrom, char[] b, int bFrom, int length)
+	{
+		return ScalarCharScan.mismatch(a, aFrom, b, bFrom, length);
+	}
+	
+	/**
+	 * Copies the chars in <code>[from, to)</code> of <code>src</code> to the
+	 * same indices of <code>dst</code>, lower casing <code>A</code> to
+	 * <code>Z</code>, until it reaches a char that isn't ASCII.
+	 * @return The index of that char, or <code>to</code> if every char was copied
+	 */
+	static int toLowerCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		return ScalarCharScan.toLowerCaseAscii(src, dst, from, to);
+	}
+	
+	/**
+	 * Copies the chars in <code>[from, to)</code> of <code>src</code> to the
+	 * same indices of <code>dst</code>, upper casing <code>a</code> to
+	 * <code>z</code>, until it reaches a char that isn't ASCII.
+	 * @return The index of that char, or <code>to</code> if every char was copied
+	 */
+	static int toUpperCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		return ScalarCharScan.toUpperCaseAscii(src, dst, from, to);
+	}
+}
@@ -0,0 +1,25 @@
+package javascript;
+
+/**
+ * The progress of {@link TextEncoder#encodeInto(JSString, java.nio.ByteBuffer)}
+ * @version 19th October, 2026
+ */
+public class EncodeIntoResult
+{
+	/**
+	 * The number of chars of the source that were encoded, which never
+	 * splits a surrogate pair
+	 */
+	public final int read;
+	
+	/**
+	 * The number of bytes written to the destination
+	 */
+	public final int written;
+	
+	EncodeIntoResult(int read, int written)
+	{
+		this.read = read;
+		this.written = written;
+	}
+}
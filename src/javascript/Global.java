@@ -5,4 +5,60 @@ public class Global
 	private Global() {}
 	
 	public static final JSUndefined undefined = new JSUndefined();
-}
\ No newline at end of file
+	
+	/**
+	 * Creates a deep copy of <code>value</code>.
+	 * <br/>
+	 * Arrays, plain objects, RegExps and <code>ByteBuffer</code>s are copied,
+	 * as are other {@link JSObject}s with a no-argument constructor, by their
+	 * public instance fields. Values that can't change, like strings,
+	 * numbers and frozen objects holding only such values, are shared with
+	 * the copy rather than copied. Since freezing is shallow, other frozen
+	 * objects are copied, and the copy is frozen too.
+	 * Anything that appears more than once, including inside itself, is
+	 * copied once and appears the same way in the copy.
+	 * @param value The value to copy
+	 * @return The copy
+	 * @throws IllegalArgumentException if <code>value</code> holds something
+	 * that can't be cloned
+	 */
+	public static Object structuredClone(Object value)
+	{
+		return StructuredCloner.clone(value);
+	}
+	
+	/**
+	 * Parses the integer at the start of the string representation of
+	 * <code>string</code>, after any white space, in base 10, or base 16
+	 * if it starts with <code>0x</code>
+	 * @param string The string to parse
+	 * @return The integer, or <code>NaN</code> if there isn't one
+	 */
+	public static double parseInt(Object string)
+	{
+		return NumberParser.parseInt(AbstractOps.toString(string).getValues(), 0);
+	}
+	
+	/**
+	 * Parses the integer in base <code>radix</code> at the start of the
+	 * string representation of <code>string</code>, after any white space
+	 * @param string The string to parse
+	 * @param radix The base, from 2 to 36, or 0 to work it out as {@link #parseInt(Object)} does
+	 * @return The integer, or <code>NaN</code> if there isn't one or <code>radix</code> is out of range
+	 */
+	public static double parseInt(Object string, int radix)
+	{
+		return NumberParser.parseInt(AbstractOps.toString(string).getValues(), radix);
+	}
+	
+	/**
+	 * Parses the decimal number, or <code>Infinity</code>, at the start of
+	 * the string representation of <code>string</code>, after any white space
+	 * @param string The string to parse
+	 * @return The number, or <code>NaN</code> if there isn't one
+	 */
+	public static double parseFloat(Object string)
+	{
+		return NumberParser.parseFloat(AbstractOps.toString(string).getValues());
+	}
+}
@@ -0,0 +1,110 @@
+package javascript;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressed map from objects, compared by identity, to objects.
+ * Keys and values sit side by side in one array and collisions are probed
+ * linearly, so a lookup touches no other objects than the key.
+ * <br/>
+ * The table is meant to be cleared and used again, instead of allocating
+ * a new one for every walk of an object graph.
+ * @version 19th October, 2026
+ */
+final class IdentityTable
+{
+	private static final int INITIAL_CAPACITY = 64;
+	
+	/**
+	 * Tables that grew past this many slots are shrunk back when cleared,
+	 * so one huge walk doesn't keep its memory forever
+	 */
+	private static final int MAX_RETAINED_CAPACITY = 1 << 16;
+	
+	private Object[] _table = new Object[INITIAL_CAPACITY << 1];
+	private int _size;
+	
+	private static int indexFor(Object key, int length)
+	{
+		int h = System.identityHashCode(key);
+		// multiply to spread the bits, then keep the index even
+		return ((h << 1) - (h << 8)) & (length - 1) & ~1;
+	}
+	
+	int size()
+	{
+		return this._size;
+	}
+	
+	/**
+	 * Gets the value mapped to <code>key</code>
+	 * @return The value, or <code>null</code> if there is none
+	 */
+	Object get(Object key)
+	{
+		Object[] table = this._table;
+		int length = table.length;
+		int i = IdentityTable.indexFor(key, length);
+		
+		while (true)
+		{
+			Object k = table[i];
+			if (k == key) return table[i + 1];
+			if (k == null) return null;
+			i = (i + 2) & (length - 1);
+		}
+	}
+	
+	/**
+	 * Maps <code>key</code> to <code>value</code>, replacing what it
+	 * was mapped to before
+	 */
+	void put(Object key, Object value)
+	{
+		if ((this._size + 1) << 2 > this._table.length) this.resize();
+		
+		Object[] table = this._table;
+		int length = table.length;
+		int i = IdentityTable.indexFor(key, length);
+		while (table[i] != null && table[i] != key)
+		{
+			i = (i + 2) & (length - 1);
+		}
+		
+		if (table[i] == null) this._size++;
+		table[i] = key;
+		table[i + 1] = value;
+	}
+	
+	private void resize()
+	{
+		Object[] old = this._table;
+		Object[] table = new Object[old.length << 1];
+		int length = table.length;
+		
+		for (int j = 0; j < old.length; j += 2)
+		{
+			Object key = old[j];
+			if (key == null) continue;
+			
+			int i = IdentityTable.indexFor(key, length);
+			while (table[i] != null)
+			{
+				i = (i + 2) & (length - 1);
+			}
+			table[i] = key;
+			table[i + 1] = old[j + 1];
+		}
+		this._table = table;
+	}
+	
+	/**
+	 * Removes every mapping, so the table can be used again
+	 */
+	void clear()
+	{
+		if (this._table.length > MAX_RETAINED_CAPACITY << 1) this._table = new Object[INITIAL_CAPACITY << 1];
+		else if (this._size > 0) Arrays.fill(this._table, null);
+		this._size = 0;
+	}
+}
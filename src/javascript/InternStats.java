@@ -0,0 +1,53 @@
+package javascript;
+
+/**
+ * A snapshot of how well {@link JSString#intern()} has been doing
+ * @version 19th October, 2026
+ */
+public class InternStats
+{
+	/**
+	 * How many times a string has been interned
+	 */
+	public final long lookups;
+	
+	/**
+	 * How many of the lookups found an existing atom
+	 */
+	public final long hits;
+	
+	/**
+	 * How many bytes of chars were not kept because an existing atom was
+	 * returned in their place
+	 */
+	public final long bytesSaved;
+	
+	/**
+	 * How many atoms are in the table
+	 */
+	public final int size;
+	
+	InternStats(long lookups, long hits, long bytesSaved, int size)
+	{
+		this.lookups = lookups;
+		this.hits = hits;
+		this.bytesSaved = bytesSaved;
+		this.size = size;
+	}
+	
+	/**
+	 * Gets the fraction of lookups that found an existing atom
+	 * @return The hit rate, from <code>0</code> to <code>1</code>
+	 */
+	public double hitRate()
+	{
+		return this.lookups == 0 ? 0 : (double)this.hits / this.lookups;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "InternStats{lookups=" + this.lookups + ", hits=" + this.hits + ", bytesSaved="
+				+ this.bytesSaved + ", size=" + this.size + "}";
+	}
+}
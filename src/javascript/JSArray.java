@@ -72,6 +72,38 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		this._values = Arrays.copyOf(items, length);
 	}
 	
+	/**
+	 * Creates an Array that takes ownership of the first <code>length</code>
+	 * items of <code>values</code>, instead of copying them in one at a time.
+	 * @param values The backing items, which must not be used by the caller afterwards
+	 * @param length The number of items in <code>values</code> that belong to the array
+	 * @return An Array backed by <code>values</code>
+	 */
+	static JSArray adopt(Object[] values, int length)
+	{
+		JSArray A = new JSArray();
+		A.setValues(values, length);
+		return A;
+	}
+	
+	/**
+	 * Replaces the items of this array with the first <code>length</code>
+	 * items of <code>values</code>, like {@link #adopt(Object[], int)}
+	 */
+	void setValues(Object[] values, int length)
+	{
+		this._values = values.length == length ? values : Arrays.copyOf(values, length);
+	}
+	
+	/**
+	 * Gets the backing items of this array, which must not be modified
+	 * @return The items of this array
+	 */
+	Object[] getValues()
+	{
+		return this._values;
+	}
+	
 	public JSArray concat(Object ...items)
 	{
 		JSArray A = new JSArray();
@@ -376,21 +408,109 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		}
 	}
 	
-	public boolean includes(Object searchElement)
+	/**
+	 * Gets whether <code>value</code> is a number that a double holds exactly,
+	 * so it can be searched for as a double
+	 */
+	private static boolean isExactDouble(Object value, int tag)
 	{
-		int len = this.length();
+		if (tag == Type.FLOATING) return true;
+		if (tag != Type.INTEGRAL) return false;
+		
+		long l = ((Number)value).longValue();
+		return l >= JSNumber.MIN_SAFE_INTEGER && l <= JSNumber.MAX_SAFE_INTEGER;
+	}
+	
+	/**
+	 * Gets whether <code>item</code> is the number <code>x</code>, which is not <code>NaN</code>
+	 */
+	private static boolean isNumber(Object item, double x)
+	{
+		// the common boxes first, without looking up the tag
+		if (item instanceof Double) return (Double)item == x;
+		else if (item instanceof Integer) return (Integer)item == x;
 		
-		int fromIndex = 0;
-		int k = fromIndex;
+		int tag = Type.of(item);
+		if (tag == Type.FLOATING) return ((Number)item).doubleValue() == x;
+		else if (tag == Type.INTEGRAL) return JSNumber.equals(((Number)item).longValue(), x);
+		else return false;
+	}
+	
+	/**
+	 * Finds the first index at or after <code>k</code> holding
+	 * <code>searchElement</code>, by strict equality or by SameValueZero
+	 * when <code>nanEqualsNaN</code> is set.
+	 * <br/>
+	 * The type of <code>searchElement</code> is only looked at once, and
+	 * numbers are compared as doubles without unboxing through
+	 * {@link AbstractOps#equals(Object, Object, boolean)} for every item.
+	 */
+	private int search(Object searchElement, int k, boolean nanEqualsNaN)
+	{
+		Object[] values = this._values;
+		int len = values.length;
+		int tag = Type.of(searchElement);
+		
+		if (JSArray.isExactDouble(searchElement, tag))
+		{
+			double x = ((Number)searchElement).doubleValue();
+			if (x != x)
+			{
+				if (!nanEqualsNaN) return -1;
+				for (; k < len; k++)
+				{
+					if (JSNumber.isNaN(values[k])) return k;
+				}
+				return -1;
+			}
+			
+			for (; k < len; k++)
+			{
+				if (JSArray.isNumber(values[k], x)) return k;
+			}
+			return -1;
+		}
 		
 		for (; k < len; k++)
 		{
-			Object elementK = this.get(k);
-			if (Utils.sameValueZero(searchElement, elementK))
-				return true;
+			if (AbstractOps.equals(searchElement, values[k], nanEqualsNaN)) return k;
 		}
+		return -1;
+	}
+	
+	/**
+	 * Finds the last index at or before <code>k</code> holding
+	 * <code>searchElement</code> by strict equality
+	 */
+	private int searchBackwards(Object searchElement, int k)
+	{
+		Object[] values = this._values;
+		int tag = Type.of(searchElement);
 		
-		return false;
+		if (k >= values.length) k = values.length - 1;
+		
+		if (JSArray.isExactDouble(searchElement, tag))
+		{
+			double x = ((Number)searchElement).doubleValue();
+			if (x != x) return -1;
+			
+			for (; k >= 0; k--)
+			{
+				if (JSArray.isNumber(values[k], x)) return k;
+			}
+			return -1;
+		}
+		
+		for (; k >= 0; k--)
+		{
+			if (AbstractOps.equals(searchElement, values[k], false)) return k;
+		}
+		return -1;
+	}
+	
+	public boolean includes(Object searchElement)
+	{
+		return this.search(searchElement, 0, true) != -1;
 	}
 	
 	public boolean includes(Object searchElement, int fromIndex)
@@ -406,31 +526,12 @@ public class JSArray extends JSObject implements IArray<JSArray>
 			if (k < 0) k = 0;
 		}
 		
-		for (; k < len; k++)
-		{
-			Object elementK = this.get(k);
-			if (Utils.sameValueZero(searchElement, elementK))
-				return true;
-		}
-		
-		return false;
+		return this.search(searchElement, k, true) != -1;
 	}
 	
 	public int indexOf(Object searchElement)
 	{
-		int len = this.length();
-		
-		int fromIndex = 0;
-		int k = fromIndex;
-		
-		for (; k < len; k++)
-		{
-			Object elementK = this.get(k);
-			if (Utils.strictEqualityComparison(searchElement, elementK))
-				return k;
-		}
-		
-		return -1;
+		return this.search(searchElement, 0, false);
 	}
 	
 	public int indexOf(Object searchElement, int fromIndex)
@@ -446,14 +547,20 @@ public class JSArray extends JSObject implements IArray<JSArray>
 			if (k < 0) k = 0;
 		}
 		
-		for (; k < len; k++)
-		{
-			Object elementK = this.get(k);
-			if (Utils.strictEqualityComparison(searchElement, elementK))
-				return k;
-		}
-		
-		return -1;
+		return this.search(searchElement, k, false);
+	}
+	
+	/**
+	 * Appends <code>element</code> as join does, converted by {@link AbstractOps#toString(Object)}
+	 * except that doubles are written straight from <code>digits</code>, a scratch buffer
+	 */
+	private static void appendElement(StringBuilder R, Object element, char[] digits)
+	{
+		if (element == null || element instanceof JSUndefined) return;
+		else if (element instanceof Double || element instanceof Float)
+			R.append(digits, 0, NumberToString.toChars(((Number)element).doubleValue(), digits, 0, false));
+		else if (element instanceof Integer) R.append(((Integer)element).intValue());
+		else R.append(AbstractOps.toString(element).getValues());
 	}
 	
 	public String join()
@@ -462,12 +569,11 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		String sep = ",";
 		
 		StringBuilder R = new StringBuilder();
+		char[] digits = new char[NumberToString.MAX_CHARS];
 		for (int k = 0; k < len; k++)
 		{
 			if (k > 0) R.append(sep);
-			Object element = this.get(k);
-			String next = element == null || element instanceof JSUndefined ? "" : element.toString();
-			R.append(next);
+			JSArray.appendElement(R, this._values[k], digits);
 		}
 		return R.toString();
 	}
@@ -478,12 +584,11 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		String sep = separator == null ? "null" : separator;
 		
 		StringBuilder R = new StringBuilder();
+		char[] digits = new char[NumberToString.MAX_CHARS];
 		for (int k = 0; k < len; k++)
 		{
 			if (k > 0) R.append(sep);
-			Object element = this.get(k);
-			String next = element == null || element instanceof JSUndefined ? "" : element.toString();
-			R.append(next);
+			JSArray.appendElement(R, this._values[k], digits);
 		}
 		return R.toString();
 	}
@@ -493,17 +598,7 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		int len = this.length();
 		int fromIndex = len - 1;
 		
-		for (int k = fromIndex; k >= 0; k--)
-		{
-			if (k >= 0 && k < len)
-			{
-				Object elementK = this.get(k);
-				if (Utils.strictEqualityComparison(searchElement, elementK))
-					return k;
-			}
-		}
-		
-		return -1;
+		return this.searchBackwards(searchElement, fromIndex);
 	}
 	
 	public int lastIndexOf(Object searchElement, int toIndex)
@@ -511,17 +606,7 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		int len = this.length();
 		int k = toIndex >= 0 ? Math.min(toIndex, len - 1) : len + toIndex;
 		
-		for (; k >= 0; k--)
-		{
-			if (k >= 0 && k < len)
-			{
-				Object elementK = this.get(k);
-				if (Utils.strictEqualityComparison(searchElement, elementK))
-					return k;
-			}
-		}
-		
-		return -1;
+		return this.searchBackwards(searchElement, k);
 	}
 	
 	public JSArray map(Function<ArrayEntry, Object> callbackfn)
@@ -801,6 +886,64 @@ public class JSArray extends JSObject implements IArray<JSArray>
 		return this;
 	}
 	
+	/**
+	 * Sorts this array by the string representation of each element,
+	 * compared with <code>collator</code>, and undefined elements last.
+	 * <br/>
+	 * The collation key of each element is worked out once up front, then
+	 * the keys are sorted by their bytes, instead of running the
+	 * collator's rules for every comparison.
+	 * @param collator The collator to compare elements with
+	 * @return This array
+	 */
+	public JSArray sortByCollator(JSCollator collator)
+	{
+		if (collator == null) throw new IllegalArgumentException("'collator' may not be 'null'");
+		
+		int len = this.length();
+		byte[][] keys = new byte[len][];
+		Integer[] order = new Integer[len];
+		Object[] values = Arrays.copyOf(this._values, len);
+		
+		int count = 0;
+		for (int k = 0; k < len; k++)
+		{
+			if (values[k] instanceof JSUndefined) continue;
+			
+			keys[k] = collator.getCollationKey(values[k]).toByteArray();
+			order[count] = k;
+			count++;
+		}
+		
+		// the sort is stable, so elements with the same key keep their order
+		Arrays.sort(order, 0, count, (a, b) -> JSArray.compareKeys(keys[a], keys[b]));
+		
+		for (int k = 0; k < count; k++)
+		{
+			this.set(k, values[order[k]]);
+		}
+		for (int k = count; k < len; k++)
+		{
+			this.set(k, Global.undefined);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * Compares two collation keys by their bytes, as unsigned values
+	 */
+	private static int compareKeys(byte[] a, byte[] b)
+	{
+		int len = Math.min(a.length, b.length);
+		for (int k = 0; k < len; k++)
+		{
+			int c = (a[k] & 0xFF) - (b[k] & 0xFF);
+			if (c != 0) return c;
+		}
+		return a.length - b.length;
+	}
+	
 	private int sortCompare(Object x, Object y, ToIntFunction<CompareInfo> compareFn)
 	{
 		if (x instanceof JSUndefined) return y instanceof JSUndefined ? 0 : -1;
@@ -812,18 +955,7 @@ public class JSArray extends JSObject implements IArray<JSArray>
 			return v;
 		}
 		
-		String xString = String.valueOf(x);
-		String yString = String.valueOf(y);
-		
-		if (xString.compareTo(yString) < 0)
-		{
-			return -1;
-		}
-		else if (yString.compareTo(xString) < 0)
-		{
-			return 1;
-		}
-		return 0;
+		return Integer.signum(AbstractOps.toString(x).compareTo(AbstractOps.toString(y)));
 	}
 	
 	public JSArray splice()
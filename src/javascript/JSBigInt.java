@@ -0,0 +1,536 @@
+package javascript;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * An immutable <a href="https://tc39.es/ecma262/#sec-ecmascript-language-types-bigint-type">BigInt</a>,
+ * an integer of any size.
+ * <br/>
+ * Values that fit in a <code>long</code> are kept inline, and arithmetic on
+ * them doesn't allocate anything besides the result, so they only move to a
+ * <code>BigInteger</code> magnitude when a result overflows. Results that fit
+ * in a <code>long</code> again move back, so each value has exactly one form.
+ * @version 19th October, 2026
+ */
+public final class JSBigInt implements Comparable<JSBigInt>
+{
+	/**
+	 * The most bits a value can have, which is the same limit as V8
+	 */
+	static final int MAX_BITS = 1 << 30;
+	
+	private static final int CACHE_LOW = -128;
+	private static final int CACHE_HIGH = 1023;
+	
+	private static final JSBigInt[] SMALL = new JSBigInt[CACHE_HIGH - CACHE_LOW + 1];
+	
+	static
+	{
+		for (int i = 0; i < SMALL.length; i++)
+		{
+			SMALL[i] = new JSBigInt(i + CACHE_LOW, null);
+		}
+	}
+	
+	public static final JSBigInt ZERO = JSBigInt.valueOf(0);
+	public static final JSBigInt ONE = JSBigInt.valueOf(1);
+	
+	/**
+	 * The value, when <code>_big</code> is <code>null</code>
+	 */
+	private final long _value;
+	
+	/**
+	 * The value, when it doesn't fit in a <code>long</code>
+	 */
+	private final BigInteger _big;
+	
+	private JSBigInt(long value, BigInteger big)
+	{
+		this._value = value;
+		this._big = big;
+	}
+	
+	public static JSBigInt valueOf(long value)
+	{
+		if (value >= CACHE_LOW && value <= CACHE_HIGH) return SMALL[(int)value - CACHE_LOW];
+		return new JSBigInt(value, null);
+	}
+	
+	public static JSBigInt valueOf(BigInteger value)
+	{
+		if (value.bitLength() < Long.SIZE) return JSBigInt.valueOf(value.longValue());
+		JSBigInt.checkSize(value.bitLength());
+		return new JSBigInt(0, value);
+	}
+	
+	/**
+	 * Converts <code>value</code> to a BigInt the way
+	 * <a href="https://tc39.es/ecma262/#sec-bigint-constructor-number-value">BigInt(value)</a>
+	 * does. Numbers must be whole, booleans are 0 or 1, and strings are
+	 * parsed as {@link #parse(JSString)} does.
+	 * @param value The value to convert
+	 * @return The BigInt
+	 * @throws IllegalArgumentException If <code>value</code> is a number
+	 * that isn't whole, a string that isn't an integer, <code>null</code> or
+	 * undefined
+	 */
+	public static JSBigInt valueOf(Object value)
+	{
+		Object prim = AbstractOps.toPrimitive(value, AbstractOps.Hint.NUMBER);
+		switch (Type.of(prim))
+		{
+			case Type.BIGINT: return (JSBigInt)prim;
+			case Type.BOOLEAN: return (Boolean)prim ? ONE : ZERO;
+			case Type.INTEGRAL: return JSBigInt.valueOf(((Number)prim).longValue());
+			case Type.FLOATING:
+			{
+				double d = ((Number)prim).doubleValue();
+				if (Double.isNaN(d) || Double.isInfinite(d) || d != Math.floor(d))
+					throw new IllegalArgumentException("The number " + AbstractOps.toString(d) + " cannot be converted to a BigInt because it is not an integer");
+				
+				if (Math.abs(d) < 0x1.0p63) return JSBigInt.valueOf((long)d);
+				return JSBigInt.valueOf(new BigDecimal(d).toBigInteger());
+			}
+			case Type.STRING: return JSBigInt.parse(AbstractOps.toString(prim));
+			default: throw new IllegalArgumentException("Cannot convert " + AbstractOps.toString(prim) + " to a BigInt");
+		}
+	}
+	
+	/**
+	 * Parses <code>string</code> the way
+	 * <a href="https://tc39.es/ecma262/#sec-stringtobigint">StringToBigInt</a>
+	 * does: a decimal integer with an optional sign, or a <code>0x</code>,
+	 * <code>0o</code> or <code>0b</code> literal, with optional white space
+	 * around it. An empty string is 0.
+	 * @param string The string to parse
+	 * @return The BigInt
+	 * @throws IllegalArgumentException If <code>string</code> isn't an integer
+	 */
+	public static JSBigInt parse(JSString string)
+	{
+		char[] values = string.getValues();
+		JSBigInt result = JSBigInt.parse(values, 0, values.length);
+		if (result == null) throw new IllegalArgumentException("Cannot convert " + string + " to a BigInt");
+		return result;
+	}
+	
+	/**
+	 * Parses the chars of <code>s</code> from <code>from</code> to
+	 * <code>to</code> as {@link #parse(JSString)} does
+	 * @return The BigInt, or <code>null</code> if they aren't an integer
+	 */
+	static JSBigInt parse(char[] s, int from, int to)
+	{
+		while (from < to && JSString.isWhiteSpace(s[from])) from++;
+		while (to > from && JSString.isWhiteSpace(s[to - 1])) to--;
+		if (from == to) return ZERO;
+		
+		int radix = 10;
+		boolean negative = false;
+		if (to - from > 2 && s[from] == '0')
+		{
+			char c = s[from + 1];
+			if (c == 'x' || c == 'X') radix = 16;
+			else if (c == 'o' || c == 'O') radix = 8;
+			else if (c == 'b' || c == 'B') radix = 2;
+			if (radix != 10) from += 2;
+		}
+		else if (s[from] == '-' || s[from] == '+')
+		{
+			negative = s[from] == '-';
+			from++;
+			if (from == to) return null;
+		}
+		
+		// accumulate negatively, so that Long.MIN_VALUE fits too
+		long value = 0;
+		long limit = Long.MIN_VALUE / radix;
+		for (int i = from; i < to; i++)
+		{
+			int d = Character.digit(s[i], radix);
+			if (d < 0 || s[i] > 'z') return null;
+			
+			if (value < limit || value * radix < Long.MIN_VALUE + d)
+			{
+				for (int j = i + 1; j < to; j++)
+				{
+					if (Character.digit(s[j], radix) < 0 || s[j] > 'z') return null;
+				}
+				BigInteger big = new BigInteger(new String(s, from, to - from), radix);
+				return JSBigInt.valueOf(negative ? big.negate() : big);
+			}
+			value = value * radix - d;
+		}
+		
+		if (negative) return JSBigInt.valueOf(value);
+		else if (value == Long.MIN_VALUE) return new JSBigInt(0, BigInteger.valueOf(value).negate());
+		else return JSBigInt.valueOf(-value);
+	}
+	
+	private static void checkSize(long bits)
+	{
+		if (bits > MAX_BITS) throw new IllegalArgumentException("Maximum BigInt size exceeded");
+	}
+	
+	private BigInteger big()
+	{
+		return this._big != null ? this._big : BigInteger.valueOf(this._value);
+	}
+	
+	/**
+	 * Gets the number of bits in the two's complement form of this value,
+	 * not counting the sign bit
+	 */
+	private long bitLength()
+	{
+		if (this._big != null) return this._big.bitLength();
+		return Long.SIZE - Long.numberOfLeadingZeros(this._value < 0 ? ~this._value : this._value);
+	}
+	
+	public int signum()
+	{
+		return this._big != null ? this._big.signum() : Long.signum(this._value);
+	}
+	
+	public JSBigInt add(JSBigInt that)
+	{
+		if (this._big == null && that._big == null)
+		{
+			long a = this._value;
+			long b = that._value;
+			long r = a + b;
+			if (((a ^ r) & (b ^ r)) >= 0) return JSBigInt.valueOf(r);
+		}
+		return JSBigInt.valueOf(this.big().add(that.big()));
+	}
+	
+	public JSBigInt subtract(JSBigInt that)
+	{
+		if (this._big == null && that._big == null)
+		{
+			long a = this._value;
+			long b = that._value;
+			long r = a - b;
+			if (((a ^ b) & (a ^ r)) >= 0) return JSBigInt.valueOf(r);
+		}
+		return JSBigInt.valueOf(this.big().subtract(that.big()));
+	}
+	
+	public JSBigInt multiply(JSBigInt that)
+	{
+		if (this._big == null && that._big == null)
+		{
+			long a = this._value;
+			long b = that._value;
+			long r = a * b;
+			
+			// the same overflow check as Math.multiplyExact
+			if (((Math.abs(a) | Math.abs(b)) >>> 31) == 0
+				|| ((b == 0 || r / b == a) && !(a == Long.MIN_VALUE && b == -1)))
+				return JSBigInt.valueOf(r);
+		}
+		
+		JSBigInt.checkSize(this.bitLength() + that.bitLength());
+		return JSBigInt.valueOf(this.big().multiply(that.big()));
+	}
+	
+	/**
+	 * Divides this value by <code>that</code>, rounding towards zero
+	 * @throws IllegalArgumentException If <code>that</code> is 0
+	 */
+	public JSBigInt divide(JSBigInt that)
+	{
+		if (that.signum() == 0) throw new IllegalArgumentException("Division by zero");
+		
+		if (this._big == null && that._big == null && !(this._value == Long.MIN_VALUE && that._value == -1))
+			return JSBigInt.valueOf(this._value / that._value);
+		return JSBigInt.valueOf(this.big().divide(that.big()));
+	}
+	
+	/**
+	 * Gets the remainder of {@link #divide(JSBigInt)}, which has the sign of this value
+	 * @throws IllegalArgumentException If <code>that</code> is 0
+	 */
+	public JSBigInt remainder(JSBigInt that)
+	{
+		if (that.signum() == 0) throw new IllegalArgumentException("Division by zero");
+		
+		if (this._big == null && that._big == null) return JSBigInt.valueOf(this._value % that._value);
+		return JSBigInt.valueOf(this.big().remainder(that.big()));
+	}
+	
+	/**
+	 * Raises this value to the power of <code>exponent</code>
+	 * @throws IllegalArgumentException If <code>exponent</code> is negative,
+	 * or the result would be too big
+	 */
+	public JSBigInt pow(JSBigInt exponent)
+	{
+		if (exponent.signum() < 0) throw new IllegalArgumentException("Exponent must be non-negative");
+		if (exponent.signum() == 0) return ONE;
+		
+		// 0, 1 and -1 stay small whatever the exponent
+		if (this._big == null && this._value >= -1 && this._value <= 1)
+		{
+			if (this._value == -1 && exponent.isEven()) return ONE;
+			return this;
+		}
+		
+		long bits = this.bitLength();
+		if (exponent._big != null || exponent._value > MAX_BITS) throw new IllegalArgumentException("Maximum BigInt size exceeded");
+		int n = (int)exponent._value;
+		
+		if (this._big == null && bits * n < Long.SIZE - 1)
+		{
+			long base = this._value;
+			long result = 1;
+			for (int e = n; e != 0; e >>>= 1)
+			{
+				if ((e & 1) != 0) result *= base;
+				base *= base;
+			}
+			return JSBigInt.valueOf(result);
+		}
+		
+		JSBigInt.checkSize(bits * n);
+		return JSBigInt.valueOf(this.big().pow(n));
+	}
+	
+	private boolean isEven()
+	{
+		return this._big != null ? !this._big.testBit(0) : (this._value & 1) == 0;
+	}
+	
+	public JSBigInt negate()
+	{
+		if (this._big == null && this._value != Long.MIN_VALUE) return JSBigInt.valueOf(-this._value);
+		return JSBigInt.valueOf(this.big().negate());
+	}
+	
+	public JSBigInt and(JSBigInt that)
+	{
+		if (this._big == null && that._big == null) return JSBigInt.valueOf(this._value & that._value);
+		return JSBigInt.valueOf(this.big().and(that.big()));
+	}
+	
+	public JSBigInt or(JSBigInt that)
+	{
+		if (this._big == null && that._big == null) return JSBigInt.valueOf(this._value | that._value);
+		return JSBigInt.valueOf(this.big().or(that.big()));
+	}
+	
+	public JSBigInt xor(JSBigInt that)
+	{
+		if (this._big == null && that._big == null) return JSBigInt.valueOf(this._value ^ that._value);
+		return JSBigInt.valueOf(this.big().xor(that.big()));
+	}
+	
+	public JSBigInt not()
+	{
+		if (this._big == null) return JSBigInt.valueOf(~this._value);
+		return JSBigInt.valueOf(this._big.not());
+	}
+	
+	/**
+	 * Shifts this value left by <code>shift</code> bits, or right if it is negative
+	 */
+	public JSBigInt shiftLeft(JSBigInt shift)
+	{
+		return this.shift(shift.saturatedValue());
+	}
+	
+	/**
+	 * Shifts this value right by <code>shift</code> bits, keeping its sign,
+	 * or left if it is negative
+	 */
+	public JSBigInt shiftRight(JSBigInt shift)
+	{
+		return this.shift(-shift.saturatedValue());
+	}
+	
+	/**
+	 * Gets this value clamped to plus or minus <code>Long.MAX_VALUE</code>,
+	 * so it can be negated
+	 */
+	private long saturatedValue()
+	{
+		if (this._big != null) return this._big.signum() * Long.MAX_VALUE;
+		return Math.max(this._value, -Long.MAX_VALUE);
+	}
+	
+	private JSBigInt shift(long n)
+	{
+		if (n == 0 || this.signum() == 0) return this;
+		
+		if (n < 0)
+		{
+			// shifting out every bit leaves only the sign
+			if (-n >= this.bitLength()) return this.signum() < 0 ? JSBigInt.valueOf(-1) : ZERO;
+			if (this._big == null) return JSBigInt.valueOf(this._value >> -n);
+			return JSBigInt.valueOf(this._big.shiftRight((int)-n));
+		}
+		
+		JSBigInt.checkSize(n > MAX_BITS ? n : this.bitLength() + n);
+		if (this._big == null && n < Long.SIZE)
+		{
+			long r = this._value << n;
+			if (r >> n == this._value) return JSBigInt.valueOf(r);
+		}
+		return JSBigInt.valueOf(this.big().shiftLeft((int)n));
+	}
+	
+	private static long checkBits(long bits)
+	{
+		if (bits < 0 || bits > JSNumber.MAX_SAFE_INTEGER) throw new IllegalArgumentException("Invalid value: not (convertible to) a safe integer");
+		return bits;
+	}
+	
+	/**
+	 * Wraps <code>bigint</code> to a signed integer of <code>bits</code> bits,
+	 * as <a href="https://tc39.es/ecma262/#sec-bigint.asintn">BigInt.asIntN</a> does
+	 * @param bits The number of bits, from 0 to {@link JSNumber#MAX_SAFE_INTEGER}
+	 * @param bigint The value to wrap
+	 * @return <code>bigint</code> modulo 2<sup>bits</sup>, from
+	 * -2<sup>bits - 1</sup> to 2<sup>bits - 1</sup> - 1
+	 */
+	public static JSBigInt asIntN(long bits, JSBigInt bigint)
+	{
+		JSBigInt.checkBits(bits);
+		if (bits == 0) return ZERO;
+		if (bigint.bitLength() < bits) return bigint;
+		
+		if (bigint._big == null)
+		{
+			int s = Long.SIZE - (int)bits;
+			return JSBigInt.valueOf((bigint._value << s) >> s);
+		}
+		
+		BigInteger wrapped = bigint._big.and(BigInteger.ONE.shiftLeft((int)bits).subtract(BigInteger.ONE));
+		if (wrapped.testBit((int)bits - 1)) wrapped = wrapped.subtract(BigInteger.ONE.shiftLeft((int)bits));
+		return JSBigInt.valueOf(wrapped);
+	}
+	
+	/**
+	 * Wraps <code>bigint</code> to an unsigned integer of <code>bits</code> bits,
+	 * as <a href="https://tc39.es/ecma262/#sec-bigint.asuintn">BigInt.asUintN</a> does
+	 * @param bits The number of bits, from 0 to {@link JSNumber#MAX_SAFE_INTEGER}
+	 * @param bigint The value to wrap
+	 * @return <code>bigint</code> modulo 2<sup>bits</sup>, from 0 to 2<sup>bits</sup> - 1
+	 * @throws IllegalArgumentException If <code>bits</code> is out of range,
+	 * or the result would be too big
+	 */
+	public static JSBigInt asUintN(long bits, JSBigInt bigint)
+	{
+		JSBigInt.checkBits(bits);
+		if (bits == 0) return ZERO;
+		if (bigint.signum() >= 0 && bigint.bitLength() <= bits) return bigint;
+		
+		if (bigint._big == null && bits < Long.SIZE) return JSBigInt.valueOf(bigint._value & (-1L >>> (Long.SIZE - bits)));
+		
+		JSBigInt.checkSize(bits);
+		return JSBigInt.valueOf(bigint.big().and(BigInteger.ONE.shiftLeft((int)bits).subtract(BigInteger.ONE)));
+	}
+	
+	/**
+	 * Converts this value to the nearest double
+	 */
+	public double doubleValue()
+	{
+		return this._big != null ? this._big.doubleValue() : this._value;
+	}
+	
+	/**
+	 * Gets the low 64 bits of this value, like {@link #asIntN(long, JSBigInt)} with 64 bits
+	 */
+	public long longValue()
+	{
+		return this._big != null ? this._big.longValue() : this._value;
+	}
+	
+	public BigInteger toBigInteger()
+	{
+		return this.big();
+	}
+	
+	/**
+	 * Gets whether this value is the whole number <code>n</code>, which is
+	 * never the case for <code>NaN</code> or the infinities
+	 */
+	boolean equals(double n)
+	{
+		if (n != Math.floor(n) || Double.isInfinite(n)) return false;
+		if (this._big == null) return JSNumber.equals(this._value, n);
+		return Math.abs(n) >= 0x1.0p63 && this._big.equals(new BigDecimal(n).toBigInteger());
+	}
+	
+	/**
+	 * Gets whether this value is the number <code>n</code>, which has the type tag <code>tag</code>
+	 */
+	boolean equals(Number n, int tag)
+	{
+		if (tag == Type.INTEGRAL) return this._big == null && this._value == n.longValue();
+		else return this.equals(n.doubleValue());
+	}
+	
+	/**
+	 * Converts this value to a string in base <code>radix</code>, as
+	 * <a href="https://tc39.es/ecma262/#sec-bigint.prototype.tostring">BigInt.prototype.toString</a>
+	 * does, with lower case letters for digits past 9
+	 * @param radix The base, from 2 to 36
+	 * @throws IllegalArgumentException If <code>radix</code> is out of range
+	 */
+	public JSString toString(int radix)
+	{
+		if (radix < Character.MIN_RADIX || radix > Character.MAX_RADIX)
+			throw new IllegalArgumentException("toString() radix must be between 2 and 36");
+		
+		if (this._big != null) return JSString.adopt(this._big.toString(radix).toCharArray());
+		
+		// write the digits from the end, using negative values so Long.MIN_VALUE works
+		char[] buffer = new char[Long.SIZE + 1];
+		int pos = buffer.length;
+		long v = this._value > 0 ? -this._value : this._value;
+		do
+		{
+			buffer[--pos] = Character.forDigit((int)-(v % radix), radix);
+			v /= radix;
+		}
+		while (v != 0);
+		if (this._value < 0) buffer[--pos] = '-';
+		
+		return JSString.adopt(Arrays.copyOfRange(buffer, pos, buffer.length));
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this._big != null ? this._big.toString() : Long.toString(this._value);
+	}
+	
+	@Override
+	public int compareTo(JSBigInt that)
+	{
+		if (this._big == null && that._big == null) return Long.compare(this._value, that._value);
+		return this.big().compareTo(that.big());
+	}
+	
+	@Override
+	public boolean equals(Object obj)
+	{
+		if (this == obj) return true;
+		if (!(obj instanceof JSBigInt)) return false;
+		
+		JSBigInt that = (JSBigInt)obj;
+		if (this._big == null) return that._big == null && this._value == that._value;
+		return this._big.equals(that._big);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		return this._big != null ? this._big.hashCode() : Long.hashCode(this._value);
+	}
+}
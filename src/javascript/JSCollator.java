@@ -0,0 +1,97 @@
+package javascript;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An <a href="https://tc39.es/ecma402/#collator-objects">Intl.Collator</a>
+ * implementation, comparing strings by the rules of a locale.
+ * <br/>
+ * Creating a <code>java.text.Collator</code> means loading and parsing the
+ * locale's rules, so there is one per locale, shared by every JSCollator
+ * for it. Collators synchronize their own comparisons, so sharing one is
+ * safe.
+ * @version 19th October, 2026
+ */
+public class JSCollator extends JSObject
+{
+	private static final ConcurrentHashMap<Locale, Collator> collators = new ConcurrentHashMap<>();
+	
+	private final Locale locale;
+	private final Collator collator;
+	
+	/**
+	 * Instantiates a new Collator for the default locale
+	 */
+	public JSCollator()
+	{
+		this(Global.undefined);
+	}
+	
+	/**
+	 * Instantiates a new Collator for <code>locales</code>
+	 * @param locales A <code>Locale</code>, a BCP 47 language tag, or
+	 * {@link Global.undefined} for the default locale
+	 */
+	public JSCollator(Object locales)
+	{
+		this.locale = JSCollator.toLocale(locales);
+		this.collator = collators.computeIfAbsent(this.locale, JSCollator::createCollator);
+	}
+	
+	private static Locale toLocale(Object locales)
+	{
+		if (locales == null || locales instanceof JSUndefined) return Locale.getDefault();
+		else if (locales instanceof Locale) return (Locale)locales;
+		
+		Locale locale = Locale.forLanguageTag(locales.toString());
+		if (locale.getLanguage().isEmpty())
+			throw new IllegalArgumentException("Incorrect locale information provided: " + locales);
+		return locale;
+	}
+	
+	private static Collator createCollator(Locale locale)
+	{
+		// canonically equivalent strings compare as equal, like they do in Intl
+		Collator collator = Collator.getInstance(locale);
+		collator.setStrength(Collator.TERTIARY);
+		collator.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+		return collator;
+	}
+	
+	/**
+	 * Compares <code>x</code> and <code>y</code> after converting them with
+	 * {@link AbstractOps#toString(Object)}
+	 * @param x The first value
+	 * @param y The second value
+	 * @return A negative number, zero, or a positive number if <code>x</code>
+	 * sorts before, the same as, or after <code>y</code>
+	 */
+	public int compare(Object x, Object y)
+	{
+		return this.collator.compare(AbstractOps.toString(x).toString(), AbstractOps.toString(y).toString());
+	}
+	
+	/**
+	 * Gets the key that sorts <code>x</code>, converted with
+	 * {@link AbstractOps#toString(Object)},
+	 * so that comparing keys gives the same order as {@link #compare(Object, Object)}
+	 * @param x The value
+	 * @return The collation key for <code>x</code>
+	 */
+	public CollationKey getCollationKey(Object x)
+	{
+		return this.collator.getCollationKey(AbstractOps.toString(x).toString());
+	}
+	
+	/**
+	 * Gets the language tag of the locale this Collator compares by
+	 * @return The language tag of the locale
+	 */
+	public String resolvedLocale()
+	{
+		return this.locale.toLanguageTag();
+	}
+}
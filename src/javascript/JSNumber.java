@@ -0,0 +1,311 @@
+package javascript;
+
+/**
+ * The <a href="https://tc39.es/ecma262/#sec-number-objects">Number</a>
+ * constants and functions.
+ * <br/>
+ * Numbers are kept as boxed Java numbers. The canonical form, which
+ * {@link #valueOf(double)} gives, is an <code>Integer</code> for whole
+ * numbers that fit in one, and a <code>Double</code> for everything else,
+ * including <code>-0</code>. Any boxed number compares by value though, so
+ * <code>Integer 1</code> and <code>Double 1.0</code> are the same number
+ * to {@link JSArray#indexOf(Object)} and {@link JSArray#includes(Object)}.
+ * @version 19th October, 2026
+ */
+public final class JSNumber
+{
+	private JSNumber() {}
+	
+	/**
+	 * The difference between 1 and the smallest number greater than 1
+	 */
+	public static final double EPSILON = 0x1.0p-52;
+	
+	/**
+	 * The largest integer <code>n</code> such that <code>n</code> and
+	 * <code>n + 1</code> are both exactly representable
+	 */
+	public static final long MAX_SAFE_INTEGER = (1L << 53) - 1;
+	
+	/**
+	 * The smallest integer <code>n</code> such that <code>n</code> and
+	 * <code>n - 1</code> are both exactly representable
+	 */
+	public static final long MIN_SAFE_INTEGER = -MAX_SAFE_INTEGER;
+	
+	public static final double MAX_VALUE = Double.MAX_VALUE;
+	public static final double MIN_VALUE = Double.MIN_VALUE;
+	public static final double NaN = Double.NaN;
+	public static final double POSITIVE_INFINITY = Double.POSITIVE_INFINITY;
+	public static final double NEGATIVE_INFINITY = Double.NEGATIVE_INFINITY;
+	
+	private static final int CACHE_LOW = -128;
+	private static final int CACHE_HIGH = 1023;
+	
+	/**
+	 * The boxes for small integers, which cover more than <code>Integer</code>'s
+	 * own cache so that typical array indexes and lengths don't allocate
+	 */
+	private static final Integer[] SMALL_INTS = new Integer[CACHE_HIGH - CACHE_LOW + 1];
+	
+	static
+	{
+		for (int i = 0; i < SMALL_INTS.length; i++)
+		{
+			SMALL_INTS[i] = Integer.valueOf(i + CACHE_LOW);
+		}
+	}
+	
+	private static final Double NAN_VALUE = Double.NaN;
+	private static final Double NEGATIVE_ZERO = -0.0;
+	
+	/**
+	 * Gets the canonical box for <code>value</code>
+	 * @param value The value
+	 * @return A shared box for small values, otherwise a new <code>Integer</code>
+	 */
+	public static Integer valueOf(int value)
+	{
+		return value >= CACHE_LOW && value <= CACHE_HIGH ? SMALL_INTS[value - CACHE_LOW] : Integer.valueOf(value);
+	}
+	
+	/**
+	 * Gets the canonical box for <code>value</code>, which is an
+	 * <code>Integer</code> if it fits in one and a <code>Double</code> otherwise
+	 * @param value The value
+	 * @return The canonical box
+	 */
+	public static Number valueOf(long value)
+	{
+		return value == (int)value ? JSNumber.valueOf((int)value) : Double.valueOf(value);
+	}
+	
+	/**
+	 * Gets the canonical box for <code>value</code>, which is an
+	 * <code>Integer</code> if it is a whole number that fits in one, and a
+	 * <code>Double</code> otherwise. <code>NaN</code> and <code>-0</code> are
+	 * always the same box.
+	 * @param value The value
+	 * @return The canonical box
+	 */
+	public static Number valueOf(double value)
+	{
+		int i = (int)value;
+		if (i == value)
+		{
+			if (i != 0 || Double.doubleToRawLongBits(value) == 0) return JSNumber.valueOf(i);
+			return NEGATIVE_ZERO;
+		}
+		return value != value ? NAN_VALUE : Double.valueOf(value);
+	}
+	
+	/**
+	 * Gets the canonical box for the same number as <code>value</code>
+	 * @param value A boxed number
+	 * @return The canonical box
+	 * @throws IllegalArgumentException if <code>value</code> is not a
+	 * <code>Byte</code>, <code>Short</code>, <code>Integer</code>,
+	 * <code>Long</code>, <code>Float</code> or <code>Double</code>
+	 */
+	public static Number valueOf(Number value)
+	{
+		switch (Type.of(value))
+		{
+			case Type.INTEGRAL: return JSNumber.valueOf(value.longValue());
+			case Type.FLOATING: return JSNumber.valueOf(value.doubleValue());
+			default: throw new IllegalArgumentException("'" + value + "' is not a number");
+		}
+	}
+	
+	/**
+	 * Gets whether <code>value</code> is a number, that is a <code>Byte</code>,
+	 * <code>Short</code>, <code>Integer</code>, <code>Long</code>,
+	 * <code>Float</code> or <code>Double</code>
+	 */
+	public static boolean isNumber(Object value)
+	{
+		return Type.isNumber(Type.of(value));
+	}
+	
+	public static boolean isNaN(Object value)
+	{
+		return Type.of(value) == Type.FLOATING && Double.isNaN(((Number)value).doubleValue());
+	}
+	
+	public static boolean isFinite(Object value)
+	{
+		switch (Type.of(value))
+		{
+			case Type.INTEGRAL: return true;
+			case Type.FLOATING:
+				double d = ((Number)value).doubleValue();
+				return !Double.isNaN(d) && !Double.isInfinite(d);
+			default: return false;
+		}
+	}
+	
+	public static boolean isInteger(Object value)
+	{
+		switch (Type.of(value))
+		{
+			case Type.INTEGRAL: return true;
+			case Type.FLOATING:
+				double d = ((Number)value).doubleValue();
+				return !Double.isInfinite(d) && Math.floor(d) == d;
+			default: return false;
+		}
+	}
+	
+	public static boolean isSafeInteger(Object value)
+	{
+		switch (Type.of(value))
+		{
+			case Type.INTEGRAL:
+				long l = ((Number)value).longValue();
+				return l >= MIN_SAFE_INTEGER && l <= MAX_SAFE_INTEGER;
+			case Type.FLOATING:
+				double d = ((Number)value).doubleValue();
+				return Math.floor(d) == d && Math.abs(d) <= MAX_SAFE_INTEGER;
+			default: return false;
+		}
+	}
+	
+	/**
+	 * Converts <code>value</code> to a number the way
+	 * <a href="https://tc39.es/ecma262/#sec-tonumber">ToNumber</a> does.
+	 * Strings must be a whole decimal, <code>0x</code>, <code>0o</code> or
+	 * <code>0b</code> literal or <code>Infinity</code>, with optional white
+	 * space around it, and empty strings are 0. Objects are converted by
+	 * {@link AbstractOps#toPrimitive(Object, AbstractOps.Hint)} first.
+	 * @param value The value to convert
+	 * @return The number, or <code>NaN</code> if <code>value</code> isn't one
+	 */
+	public static double toNumber(Object value)
+	{
+		return AbstractOps.toNumber(value);
+	}
+	
+	/**
+	 * Converts <code>value</code> to a string the way
+	 * <a href="https://tc39.es/ecma262/#sec-numeric-types-number-tostring">Number::toString</a>
+	 * does, with the fewest digits that read back as the same number
+	 * @param value The number
+	 * @return The number as a string, like <code>1</code>, <code>0.1</code> or <code>1e+21</code>
+	 */
+	public static JSString toString(double value)
+	{
+		return JSString.adopt(NumberToString.toChars(value));
+	}
+	
+	private static void checkDigits(int digits, int min, String name)
+	{
+		if (digits < min || digits > 100)
+			throw new IllegalArgumentException("'" + name + "' must be between " + min + " and 100");
+	}
+	
+	/**
+	 * Formats <code>value</code> with no digits after the point
+	 * @param value The number
+	 * @return The number in fixed-point notation
+	 */
+	public static JSString toFixed(double value)
+	{
+		return NumberToString.toFixed(value, 0);
+	}
+	
+	/**
+	 * Formats <code>value</code> with <code>fractionDigits</code> digits after
+	 * the point, rounding halves away from zero. Numbers of <code>1e21</code>
+	 * or more are formatted as {@link #toString(double)} does.
+	 * @param value The number
+	 * @param fractionDigits The number of digits after the point, from 0 to 100
+	 * @return The number in fixed-point notation
+	 * @throws IllegalArgumentException if <code>fractionDigits</code> is out of range
+	 */
+	public static JSString toFixed(double value, int fractionDigits)
+	{
+		JSNumber.checkDigits(fractionDigits, 0, "fractionDigits");
+		return NumberToString.toFixed(value, fractionDigits);
+	}
+	
+	/**
+	 * Formats <code>value</code> in exponential notation, with as many
+	 * digits as it takes to read back as the same number
+	 * @param value The number
+	 * @return The number in exponential notation, like <code>1.5e+2</code>
+	 */
+	public static JSString toExponential(double value)
+	{
+		return NumberToString.toExponential(value);
+	}
+	
+	/**
+	 * Formats <code>value</code> in exponential notation with
+	 * <code>fractionDigits</code> digits after the point, rounding halves
+	 * away from zero
+	 * @param value The number
+	 * @param fractionDigits The number of digits after the point, from 0 to 100
+	 * @return The number in exponential notation, like <code>1.50e+2</code>
+	 * @throws IllegalArgumentException if <code>fractionDigits</code> is out of range
+	 */
+	public static JSString toExponential(double value, int fractionDigits)
+	{
+		JSNumber.checkDigits(fractionDigits, 0, "fractionDigits");
+		return NumberToString.toExponential(value, fractionDigits);
+	}
+	
+	/**
+	 * Formats <code>value</code> as {@link #toString(double)} does
+	 * @param value The number
+	 * @return The number as a string
+	 */
+	public static JSString toPrecision(double value)
+	{
+		return JSNumber.toString(value);
+	}
+	
+	/**
+	 * Formats <code>value</code> with <code>precision</code> significant
+	 * digits, rounding halves away from zero. Exponential notation is used
+	 * when the exponent is below -6, or too big for the digits.
+	 * @param value The number
+	 * @param precision The number of significant digits, from 1 to 100
+	 * @return The formatted number
+	 * @throws IllegalArgumentException if <code>precision</code> is out of range
+	 */
+	public static JSString toPrecision(double value, int precision)
+	{
+		JSNumber.checkDigits(precision, 1, "precision");
+		return NumberToString.toPrecision(value, precision);
+	}
+	
+	/**
+	 * Compares two numbers by value, whatever their boxes
+	 * @param aTag The {@link Type} of <code>a</code>
+	 * @param bTag The {@link Type} of <code>b</code>
+	 * @param nanEqualsNaN Whether <code>NaN</code> equals itself, as in
+	 * SameValueZero, rather than nothing, as in strict equality
+	 */
+	static boolean equals(Number a, int aTag, Number b, int bTag, boolean nanEqualsNaN)
+	{
+		if (aTag == Type.INTEGRAL)
+		{
+			if (bTag == Type.INTEGRAL) return a.longValue() == b.longValue();
+			return JSNumber.equals(a.longValue(), b.doubleValue());
+		}
+		else if (bTag == Type.INTEGRAL) return JSNumber.equals(b.longValue(), a.doubleValue());
+		
+		double x = a.doubleValue();
+		double y = b.doubleValue();
+		return x == y || (nanEqualsNaN && x != x && y != y);
+	}
+	
+	/**
+	 * Gets whether <code>l</code> and <code>d</code> are exactly the same number
+	 */
+	static boolean equals(long l, double d)
+	{
+		// (double)l can round, so check the conversion back as well
+		return d == (double)l && d < 0x1.0p63 && (long)d == l;
+	}
+}
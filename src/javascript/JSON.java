@@ -0,0 +1,198 @@
+package javascript;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+import javascript.exceptions.*;
+
+/**
+ * The <a href="https://tc39.es/ecma262/#sec-json-object">JSON object</a>,
+ * for turning JSON text into values and values into JSON text.
+ * <br/>
+ * Arrays become {@link JSArray}s, objects become {@link JSPlainObject}s,
+ * strings become {@link JSString}s and numbers become <code>Double</code>s.
+ * To read a document piece by piece, use a {@link JSONReader}.
+ * <br/>
+ * When stringifying, any other object is written from its public instance
+ * fields, the same ones {@link JSObject#keys(JSObject)} lists.
+ * @version 19th October, 2026
+ */
+public final class JSON
+{
+	private JSON() {}
+	
+	/**
+	 * Parses the string representation of <code>text</code> as JSON
+	 * @param text The JSON text
+	 * @return The value the text describes
+	 * @throws SyntaxException if the text isn't valid JSON
+	 */
+	public static Object parse(Object text)
+	{
+		JSString S = text instanceof JSString ? (JSString)text : new JSString(text);
+		return JSON.parseDocument(new JSONReader(S.getValues()));
+	}
+	
+	/**
+	 * Parses the JSON text read from <code>in</code>, without holding more
+	 * of the text in memory than the reader's buffer
+	 * @param in Where to read the JSON text from
+	 * @return The value the text describes
+	 * @throws SyntaxException if the text isn't valid JSON
+	 */
+	public static Object parse(Reader in)
+	{
+		return JSON.parseDocument(new JSONReader(in));
+	}
+	
+	/**
+	 * Parses the UTF-8 JSON text read from <code>in</code>, without holding
+	 * more of the text in memory than the reader's buffer
+	 * @param in Where to read the JSON text from
+	 * @return The value the text describes
+	 * @throws SyntaxException if the text isn't valid JSON
+	 */
+	public static Object parse(InputStream in)
+	{
+		return JSON.parseDocument(new JSONReader(in));
+	}
+	
+	/**
+	 * Converts <code>value</code> to JSON text
+	 * @param value The value to convert
+	 * @return The JSON text, or <code>null</code> if <code>value</code> has
+	 * no JSON representation, such as {@link Global.undefined}
+	 * @throws IllegalArgumentException if <code>value</code> contains itself
+	 */
+	public static JSString stringify(Object value)
+	{
+		return JSON.stringifyToString(new CharArrayBuilder(64), value, null, null, null);
+	}
+	
+	/**
+	 * Converts <code>value</code> to JSON text
+	 * @param value The value to convert
+	 * @param replacer Called for every property, including the value itself
+	 * under the empty key, to get the value to write instead. May be <code>null</code>.
+	 * @param space The string, or number of spaces, to indent each level
+	 * with, up to 10. Anything else writes the text on one line.
+	 * @return The JSON text, or <code>null</code> if <code>value</code> has
+	 * no JSON representation, such as {@link Global.undefined}
+	 * @throws IllegalArgumentException if <code>value</code> contains itself
+	 */
+	public static JSString stringify(Object value, Function<StringifyInfo, Object> replacer, Object space)
+	{
+		return JSON.stringifyToString(new CharArrayBuilder(64), value, replacer, null, space);
+	}
+	
+	/**
+	 * Converts <code>value</code> to JSON text. If <code>replacer</code> is a
+	 * function, this is the same as {@link #stringify(Object, Function, Object)},
+	 * and if it is a JSArray, only the properties of objects it names are written.
+	 * @param value The value to convert
+	 * @param replacer A function or the names of the properties to write.
+	 * Anything else, including <code>null</code>, is ignored.
+	 * @param space The string, or number of spaces, to indent each level
+	 * with, up to 10. Anything else writes the text on one line.
+	 * @return The JSON text, or <code>null</code> if <code>value</code> has
+	 * no JSON representation, such as {@link Global.undefined}
+	 * @throws IllegalArgumentException if <code>value</code> contains itself
+	 */
+	@SuppressWarnings("unchecked")
+	public static JSString stringify(Object value, Object replacer, Object space)
+	{
+		if (replacer instanceof Function) return JSON.stringify(value, (Function<StringifyInfo, Object>)replacer, space);
+		
+		JSArray propertyList = replacer instanceof JSArray ? (JSArray)replacer : null;
+		return JSON.stringifyToString(new CharArrayBuilder(64), value, null, propertyList, space);
+	}
+	
+	/**
+	 * Writes <code>value</code> as JSON text to <code>out</code>, without
+	 * building the whole text in memory first
+	 * @param value The value to convert
+	 * @param out Where to write the text
+	 * @return Whether anything was written, which isn't the case when
+	 * <code>value</code> has no JSON representation
+	 * @throws IllegalArgumentException if <code>value</code> contains itself
+	 * @throws UncheckedIOException if writing to <code>out</code> fails
+	 */
+	public static boolean stringify(Object value, Appendable out)
+	{
+		return JSON.stringify(value, null, null, out);
+	}
+	
+	/**
+	 * Writes <code>value</code> as JSON text to <code>out</code>, without
+	 * building the whole text in memory first
+	 * @param value The value to convert
+	 * @param replacer Called for every property, including the value itself
+	 * under the empty key, to get the value to write instead. May be <code>null</code>.
+	 * @param space The string, or number of spaces, to indent each level
+	 * with, up to 10. Anything else writes the text on one line.
+	 * @param out Where to write the text
+	 * @return Whether anything was written, which isn't the case when
+	 * <code>value</code> has no JSON representation
+	 * @throws IllegalArgumentException if <code>value</code> contains itself
+	 * @throws UncheckedIOException if writing to <code>out</code> fails
+	 */
+	public static boolean stringify(Object value, Function<StringifyInfo, Object> replacer, Object space, Appendable out)
+	{
+		if (out == null) throw new IllegalArgumentException("out is null");
+		return new JSONSerializer(JSONSerializer.Sink.of(out), replacer, null, space).write(value);
+	}
+	
+	/**
+	 * Writes <code>value</code> as UTF-8 JSON text to <code>out</code>,
+	 * without building the whole text in memory first. The stream is flushed
+	 * but not closed.
+	 * @param value The value to convert
+	 * @param replacer Called for every property, including the value itself
+	 * under the empty key, to get the value to write instead. May be <code>null</code>.
+	 * @param space The string, or number of spaces, to indent each level
+	 * with, up to 10. Anything else writes the text on one line.
+	 * @param out Where to write the text
+	 * @return Whether anything was written, which isn't the case when
+	 * <code>value</code> has no JSON representation
+	 * @throws IllegalArgumentException if <code>value</code> contains itself
+	 * @throws UncheckedIOException if writing to <code>out</code> fails
+	 */
+	public static boolean stringify(Object value, Function<StringifyInfo, Object> replacer, Object space, OutputStream out)
+	{
+		if (out == null) throw new IllegalArgumentException("out is null");
+		
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+		boolean written = new JSONSerializer(JSONSerializer.Sink.of(writer), replacer, null, space).write(value);
+		try
+		{
+			writer.flush();
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return written;
+	}
+	
+	private static JSString stringifyToString(CharArrayBuilder builder, Object value, Function<StringifyInfo, Object> replacer, JSArray propertyList, Object space)
+	{
+		boolean written = new JSONSerializer(JSONSerializer.Sink.of(builder), replacer, propertyList, space).write(value);
+		return written ? builder.toJSString() : null;
+	}
+	
+	private static Object parseDocument(JSONReader reader)
+	{
+		Object value = reader.readValue();
+		if (reader.peek() != JSONReader.Token.END_DOCUMENT)
+			throw new SyntaxException("Unexpected non-whitespace character after JSON");
+		return value;
+	}
+}
@@ -0,0 +1,649 @@
+package javascript;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javascript.exceptions.*;
+
+/**
+ * A pull parser for JSON text, reading one token at a time.
+ * <br/>
+ * Text from a <code>Reader</code> goes through a fixed size buffer, so a
+ * document of any size can be read in bounded memory as long as its
+ * values are pulled one at a time rather than with {@link #readValue()}
+ * on the whole document. Strings are copied straight out of the buffer,
+ * and object keys that come up again are shared instead of copied again.
+ * @version 19th October, 2026
+ */
+public class JSONReader implements Closeable
+{
+	/**
+	 * The kinds of token in JSON text
+	 */
+	public enum Token
+	{
+		BEGIN_ARRAY,
+		END_ARRAY,
+		BEGIN_OBJECT,
+		END_OBJECT,
+		NAME,
+		STRING,
+		NUMBER,
+		TRUE,
+		FALSE,
+		NULL,
+		END_DOCUMENT
+	}
+	
+	private static final int BUFFER_SIZE = 8192;
+	
+	private static final int EMPTY_DOCUMENT = 0;
+	private static final int NONEMPTY_DOCUMENT = 1;
+	private static final int EMPTY_ARRAY = 2;
+	private static final int NONEMPTY_ARRAY = 3;
+	private static final int EMPTY_OBJECT = 4;
+	private static final int DANGLING_NAME = 5;
+	private static final int NONEMPTY_OBJECT = 6;
+	
+	/**
+	 * The longest key that is looked up in the key cache
+	 */
+	private static final int MAX_CACHED_KEY_LENGTH = 32;
+	private static final int KEY_CACHE_SIZE = 512;
+	
+	private final Reader in;
+	private final char[] buffer;
+	private int pos;
+	private int limit;
+	
+	/**
+	 * How many chars came before the start of the buffer
+	 */
+	private long offset;
+	
+	private int[] stack = new int[32];
+	private int depth;
+	
+	private Token peeked;
+	private JSString string;
+	private double number;
+	
+	private final JSString[] keyCache = new JSString[KEY_CACHE_SIZE];
+	
+	private char[] numberChars = new char[32];
+	private int numberLength;
+	
+	/**
+	 * Instantiates a reader for the JSON text read from <code>in</code>
+	 * @param in Where to read the text from
+	 */
+	public JSONReader(Reader in)
+	{
+		if (in == null) throw new IllegalArgumentException("'in' may not be 'null'");
+		
+		this.in = in;
+		this.buffer = new char[BUFFER_SIZE];
+		this.stack[this.depth++] = EMPTY_DOCUMENT;
+	}
+	
+	/**
+	 * Instantiates a reader for the UTF-8 JSON text read from <code>in</code>
+	 * @param in Where to read the text from
+	 */
+	public JSONReader(InputStream in)
+	{
+		this(new InputStreamReader(JSONReader.requireNonNull(in), StandardCharsets.UTF_8));
+	}
+	
+	private static InputStream requireNonNull(InputStream in)
+	{
+		if (in == null) throw new IllegalArgumentException("'in' may not be 'null'");
+		return in;
+	}
+	
+	/**
+	 * Instantiates a reader for the JSON text in <code>text</code>, which is
+	 * read in place and must not be modified while it is being read
+	 */
+	JSONReader(char[] text)
+	{
+		this.in = null;
+		this.buffer = text;
+		this.limit = text.length;
+		this.stack[this.depth++] = EMPTY_DOCUMENT;
+	}
+	
+	/**
+	 * Gets the kind of the next token without consuming it
+	 * @return The kind of the next token
+	 * @throws SyntaxException if the text isn't valid JSON
+	 */
+	public Token peek()
+	{
+		if (this.peeked == null) this.peeked = this.readToken();
+		return this.peeked;
+	}
+	
+	/**
+	 * Consumes the next token. For a name, string or number, its value is
+	 * then available from {@link #getString()} or {@link #getNumber()}.
+	 * @return The kind of the token
+	 * @throws SyntaxException if the text isn't valid JSON
+	 */
+	public Token next()
+	{
+		Token token = this.peek();
+		this.peeked = null;
+		return token;
+	}
+	
+	/**
+	 * Gets the value of the last name or string token
+	 * @return The name or string
+	 */
+	public JSString getString()
+	{
+		return this.string;
+	}
+	
+	/**
+	 * Gets the value of the last number token
+	 * @return The number
+	 */
+	public double getNumber()
+	{
+		return this.number;
+	}
+	
+	/**
+	 * Consumes the next value, building it from {@link JSArray}s,
+	 * {@link JSPlainObject}s, {@link JSString}s, <code>Double</code>s,
+	 * <code>Boolean</code>s and <code>null</code>.
+	 * @return The value
+	 * @throws SyntaxException if the text isn't valid JSON, or the next token doesn't start a value
+	 */
+	public Object readValue()
+	{
+		Token token = this.next();
+		switch (token)
+		{
+			case BEGIN_ARRAY:
+			{
+				Object[] items = new Object[8];
+				int count = 0;
+				while (this.peek() != Token.END_ARRAY)
+				{
+					if (count == items.length) items = Arrays.copyOf(items, count << 1);
+					items[count] = this.readValue();
+					count++;
+				}
+				this.next();
+				return JSArray.adopt(items, count);
+			}
+			case BEGIN_OBJECT:
+			{
+				JSPlainObject obj = new JSPlainObject();
+				while (this.next() != Token.END_OBJECT)
+				{
+					JSString key = this.string;
+					obj.set(key, this.readValue());
+				}
+				return obj;
+			}
+			case STRING:
+				return this.string;
+			case NUMBER:
+				return this.number;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case NULL:
+				return null;
+			default:
+				throw this.syntaxError("Unexpected " + token + " where a value was expected");
+		}
+	}
+	
+	/**
+	 * Consumes the next value without building it
+	 * @throws SyntaxException if the text isn't valid JSON, or the next token doesn't start a value
+	 */
+	public void skipValue()
+	{
+		int nesting = 0;
+		do
+		{
+			Token token = this.next();
+			switch (token)
+			{
+				case BEGIN_ARRAY:
+				case BEGIN_OBJECT:
+					nesting++;
+					break;
+				case END_ARRAY:
+				case END_OBJECT:
+					if (nesting == 0) throw this.syntaxError("Unexpected " + token + " where a value was expected");
+					nesting--;
+					break;
+				case END_DOCUMENT:
+					throw this.syntaxError("Unexpected end of JSON input");
+				default:
+					break;
+			}
+		}
+		while (nesting > 0);
+	}
+	
+	@Override
+	public void close() throws IOException
+	{
+		if (this.in != null) this.in.close();
+	}
+	
+	private Token readToken()
+	{
+		int c;
+		switch (this.stack[this.depth - 1])
+		{
+			case EMPTY_DOCUMENT:
+				this.stack[this.depth - 1] = NONEMPTY_DOCUMENT;
+				c = this.nextNonWhiteSpace();
+				return this.readValueToken(c);
+			case NONEMPTY_DOCUMENT:
+				c = this.nextNonWhiteSpace();
+				if (c == -1) return Token.END_DOCUMENT;
+				throw this.unexpected(c);
+			case EMPTY_ARRAY:
+				this.stack[this.depth - 1] = NONEMPTY_ARRAY;
+				c = this.nextNonWhiteSpace();
+				if (c == ']')
+				{
+					this.depth--;
+					return Token.END_ARRAY;
+				}
+				return this.readValueToken(c);
+			case NONEMPTY_ARRAY:
+				c = this.nextNonWhiteSpace();
+				if (c == ']')
+				{
+					this.depth--;
+					return Token.END_ARRAY;
+				}
+				else if (c != ',') throw this.unexpected(c);
+				return this.readValueToken(this.nextNonWhiteSpace());
+			case EMPTY_OBJECT:
+				c = this.nextNonWhiteSpace();
+				if (c == '}')
+				{
+					this.depth--;
+					return Token.END_OBJECT;
+				}
+				return this.readName(c);
+			case NONEMPTY_OBJECT:
+				c = this.nextNonWhiteSpace();
+				if (c == '}')
+				{
+					this.depth--;
+					return Token.END_OBJECT;
+				}
+				else if (c != ',') throw this.unexpected(c);
+				return this.readName(this.nextNonWhiteSpace());
+			default:
+				c = this.nextNonWhiteSpace();
+				if (c != ':') throw this.unexpected(c);
+				this.stack[this.depth - 1] = NONEMPTY_OBJECT;
+				return this.readValueToken(this.nextNonWhiteSpace());
+		}
+	}
+	
+	private Token readName(int c)
+	{
+		if (c != '"') throw this.unexpected(c);
+		this.string = this.readString(true);
+		this.stack[this.depth - 1] = DANGLING_NAME;
+		return Token.NAME;
+	}
+	
+	private Token readValueToken(int c)
+	{
+		switch (c)
+		{
+			case '[':
+				this.push(EMPTY_ARRAY);
+				return Token.BEGIN_ARRAY;
+			case '{':
+				this.push(EMPTY_OBJECT);
+				return Token.BEGIN_OBJECT;
+			case '"':
+				this.string = this.readString(false);
+				return Token.STRING;
+			case 't':
+				this.readLiteral("rue");
+				return Token.TRUE;
+			case 'f':
+				this.readLiteral("alse");
+				return Token.FALSE;
+			case 'n':
+				this.readLiteral("ull");
+				return Token.NULL;
+			default:
+				if (c == '-' || (c >= '0' && c <= '9'))
+				{
+					this.number = this.readNumber(c);
+					return Token.NUMBER;
+				}
+				throw this.unexpected(c);
+		}
+	}
+	
+	private void push(int state)
+	{
+		if (this.depth == this.stack.length) this.stack = Arrays.copyOf(this.stack, this.depth << 1);
+		this.stack[this.depth++] = state;
+	}
+	
+	private void readLiteral(String rest)
+	{
+		for (int k = 0, len = rest.length(); k < len; k++)
+		{
+			int c = this.read();
+			if (c != rest.charAt(k)) throw this.unexpected(c);
+		}
+	}
+	
+	/**
+	 * Reads a string after its opening quote. Strings that end in the buffer
+	 * and have no escapes are copied out of it in one go.
+	 */
+	private JSString readString(boolean isKey)
+	{
+		char[] buffer = this.buffer;
+		int start = this.pos;
+		
+		for (int p = start, limit = this.limit; p < limit; p++)
+		{
+			char c = buffer[p];
+			if (c == '"')
+			{
+				this.pos = p + 1;
+				return isKey && p - start <= MAX_CACHED_KEY_LENGTH
+						? this.cachedKey(buffer, start, p)
+						: JSString.fromRange(buffer, start, p);
+			}
+			else if (c == '\\' || c < 0x20) break;
+		}
+		
+		return this.readStringSlow(isKey);
+	}
+	
+	/**
+	 * Reads a string with escapes, or one that carries on past the end of
+	 * the buffer, piece by piece
+	 */
+	private JSString readStringSlow(boolean isKey)
+	{
+		CharArrayBuilder result = new CharArrayBuilder(32);
+		while (true)
+		{
+			char[] buffer = this.buffer;
+			int p = this.pos;
+			int limit = this.limit;
+			int start = p;
+			
+			while (p < limit)
+			{
+				char c = buffer[p];
+				if (c == '"')
+				{
+					result.append(buffer, start, p);
+					this.pos = p + 1;
+					
+					JSString string = result.toJSString();
+					return isKey && string.length() <= MAX_CACHED_KEY_LENGTH
+							? this.cachedKey(string.getValues(), 0, string.length())
+							: string;
+				}
+				else if (c == '\\')
+				{
+					result.append(buffer, start, p);
+					this.pos = p + 1;
+					result.append(this.readEscape());
+					p = this.pos;
+					limit = this.limit;
+					start = p;
+				}
+				else if (c < 0x20)
+				{
+					this.pos = p;
+					throw this.syntaxError("Bad control character in string literal");
+				}
+				else p++;
+			}
+			
+			result.append(buffer, start, p);
+			this.pos = p;
+			if (!this.fill()) throw this.syntaxError("Unterminated string in JSON");
+		}
+	}
+	
+	private char readEscape()
+	{
+		int c = this.read();
+		switch (c)
+		{
+			case '"': return '"';
+			case '\\': return '\\';
+			case '/': return '/';
+			case 'b': return '\b';
+			case 'f': return '\f';
+			case 'n': return '\n';
+			case 'r': return '\r';
+			case 't': return '\t';
+			case 'u':
+			{
+				int value = 0;
+				for (int k = 0; k < 4; k++)
+				{
+					int h = this.read();
+					int digit = Character.digit(h, 16);
+					if (h == -1 || digit == -1) throw this.syntaxError("Bad Unicode escape in JSON");
+					value = (value << 4) | digit;
+				}
+				return (char)value;
+			}
+			default:
+				throw this.syntaxError("Bad escaped character in JSON");
+		}
+	}
+	
+	/**
+	 * Gets a key from the key cache, or adds it, so that a key that comes up
+	 * again and again in a document shares one JSString
+	 */
+	private JSString cachedKey(char[] buffer, int from, int to)
+	{
+		int hash = 0;
+		for (int k = from; k < to; k++)
+		{
+			hash = 31 * hash + buffer[k];
+		}
+		
+		int slot = (hash ^ (hash >>> 16)) & (KEY_CACHE_SIZE - 1);
+		JSString cached = this.keyCache[slot];
+		if (cached != null)
+		{
+			char[] values = cached.getValues();
+			if (values.length == to - from && CharScan.mismatch(values, 0, buffer, from, to - from) == -1)
+				return cached;
+		}
+		
+		JSString key = JSString.fromRange(buffer, from, to);
+		this.keyCache[slot] = key;
+		return key;
+	}
+	
+	/**
+	 * Reads a number, checking it against the JSON grammar:
+	 * <code>-?(0|[1-9][0-9]*)(\.[0-9]+)?([eE][+-]?[0-9]+)?</code>
+	 */
+	private double readNumber(int first)
+	{
+		this.numberLength = 0;
+		this.appendNumberChar(first);
+		
+		int c = first;
+		if (c == '-')
+		{
+			c = this.read();
+			if (!this.isDigit(c)) throw this.unexpected(c);
+			this.appendNumberChar(c);
+		}
+		
+		// no leading zeros
+		if (c == '0')
+		{
+			if (this.isDigit(this.peekChar())) throw this.unexpected(this.read());
+		}
+		else this.readDigits();
+		
+		boolean integer = true;
+		if (this.peekChar() == '.')
+		{
+			integer = false;
+			this.appendNumberChar(this.read());
+			if (!this.isDigit(this.peekChar())) throw this.unexpected(this.read());
+			this.readDigits();
+		}
+		
+		c = this.peekChar();
+		if (c == 'e' || c == 'E')
+		{
+			integer = false;
+			this.appendNumberChar(this.read());
+			c = this.peekChar();
+			if (c == '+' || c == '-') this.appendNumberChar(this.read());
+			if (!this.isDigit(this.peekChar())) throw this.unexpected(this.read());
+			this.readDigits();
+		}
+		
+		char[] chars = this.numberChars;
+		int len = this.numberLength;
+		
+		// small integers are exact as a long, so skip the general parser
+		if (integer && len <= 16)
+		{
+			boolean negative = chars[0] == '-';
+			long value = 0;
+			for (int k = negative ? 1 : 0; k < len; k++)
+			{
+				value = value * 10 + (chars[k] - '0');
+			}
+			return negative ? (value == 0 ? -0.0 : -value) : value;
+		}
+		return NumberParser.parseDecimal(chars, 0, len);
+	}
+	
+	private void readDigits()
+	{
+		while (this.isDigit(this.peekChar()))
+		{
+			this.appendNumberChar(this.read());
+		}
+	}
+	
+	private void appendNumberChar(int c)
+	{
+		if (this.numberLength == this.numberChars.length)
+			this.numberChars = Arrays.copyOf(this.numberChars, this.numberLength << 1);
+		this.numberChars[this.numberLength++] = (char)c;
+	}
+	
+	private boolean isDigit(int c)
+	{
+		return c >= '0' && c <= '9';
+	}
+	
+	private int nextNonWhiteSpace()
+	{
+		while (true)
+		{
+			char[] buffer = this.buffer;
+			for (int p = this.pos, limit = this.limit; p < limit; p++)
+			{
+				char c = buffer[p];
+				if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+				{
+					this.pos = p + 1;
+					return c;
+				}
+			}
+			
+			this.pos = this.limit;
+			if (!this.fill()) return -1;
+		}
+	}
+	
+	private int read()
+	{
+		if (this.pos == this.limit && !this.fill()) return -1;
+		return this.buffer[this.pos++];
+	}
+	
+	private int peekChar()
+	{
+		if (this.pos == this.limit && !this.fill()) return -1;
+		return this.buffer[this.pos];
+	}
+	
+	/**
+	 * Reads more text into the buffer once everything in it is consumed
+	 * @return <code>false</code> if there is no more text
+	 */
+	private boolean fill()
+	{
+		if (this.in == null) return false;
+		
+		try
+		{
+			this.offset += this.limit;
+			this.pos = 0;
+			this.limit = 0;
+			
+			int n;
+			do
+			{
+				n = this.in.read(this.buffer, 0, this.buffer.length);
+			}
+			while (n == 0);
+			
+			if (n == -1) return false;
+			this.limit = n;
+			return true;
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private SyntaxException unexpected(int c)
+	{
+		if (c == -1) return this.syntaxError("Unexpected end of JSON input");
+		
+		// point at the char that was just read
+		this.pos--;
+		return this.syntaxError("Unexpected token " + (char)c + " in JSON");
+	}
+	
+	private SyntaxException syntaxError(String message)
+	{
+		return new SyntaxException(message + " at position " + (this.offset + this.pos));
+	}
+}
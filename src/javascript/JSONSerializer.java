@@ -0,0 +1,583 @@
+package javascript;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Writes values as JSON text straight to an output, for
+ * {@link JSON#stringify(Object)} and friends.
+ * <br/>
+ * Objects that aren't {@link JSArray}s or {@link JSPlainObject}s are
+ * written from their public instance fields, in the same order as
+ * {@link JSObject#keys(JSObject)}. The getters for a class are looked up
+ * once and kept for as long as the class is.
+ * @version 19th October, 2026
+ */
+final class JSONSerializer
+{
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+	
+	/**
+	 * The escape sequence for each ASCII char, or <code>null</code> if it
+	 * is written as is
+	 */
+	private static final String[] ESCAPES = new String[128];
+	
+	static
+	{
+		for (char c = 0; c < 0x20; c++)
+		{
+			ESCAPES[c] = JSONSerializer.unicodeEscape(c);
+		}
+		
+		ESCAPES['\b'] = "\\b";
+		ESCAPES['\t'] = "\\t";
+		ESCAPES['\n'] = "\\n";
+		ESCAPES['\f'] = "\\f";
+		ESCAPES['\r'] = "\\r";
+		ESCAPES['"'] = "\\\"";
+		ESCAPES['\\'] = "\\\\";
+	}
+	
+	private static final ClassValue<FieldWriter[]> FIELD_WRITERS = new ClassValue<FieldWriter[]>()
+	{
+		@Override
+		protected FieldWriter[] computeValue(Class<?> type)
+		{
+			return FieldWriter.forClass(type);
+		}
+	};
+	
+	/**
+	 * Reads one public field of a class, and knows its name already quoted
+	 */
+	private static final class FieldWriter
+	{
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		
+		final JSString name;
+		final char[] quotedName;
+		final MethodHandle getter;
+		
+		private FieldWriter(JSString name, MethodHandle getter)
+		{
+			this.name = name;
+			this.quotedName = JSONSerializer.quote(name.getValues());
+			this.getter = getter;
+		}
+		
+		static FieldWriter[] forClass(Class<?> type)
+		{
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			ArrayList<FieldWriter> writers = new ArrayList<>();
+			
+			for (Field field : type.getFields())
+			{
+				if (Modifier.isStatic(field.getModifiers())) continue;
+				
+				MethodHandle getter;
+				try
+				{
+					// public fields of classes that aren't public themselves need opening up first
+					if (!Modifier.isPublic(field.getDeclaringClass().getModifiers())) field.setAccessible(true);
+					getter = lookup.unreflectGetter(field).asType(GETTER_TYPE);
+				}
+				catch (IllegalAccessException | RuntimeException e)
+				{
+					continue;
+				}
+				
+				writers.add(new FieldWriter(new JSString(field.getName()), getter));
+			}
+			
+			writers.sort((a, b) -> a.name.compareTo(b.name));
+			return writers.toArray(new FieldWriter[writers.size()]);
+		}
+		
+		Object get(Object obj)
+		{
+			try
+			{
+				return (Object)this.getter.invokeExact(obj);
+			}
+			catch (RuntimeException | Error e)
+			{
+				throw e;
+			}
+			catch (Throwable e)
+			{
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+	
+	/**
+	 * Where the JSON text goes
+	 */
+	abstract static class Sink
+	{
+		abstract void write(char c) throws IOException;
+		
+		abstract void write(char[] values, int from, int to) throws IOException;
+		
+		abstract void write(String s) throws IOException;
+		
+		abstract void write(CharSequence s, int from, int to) throws IOException;
+		
+		static Sink of(CharArrayBuilder out)
+		{
+			return new Sink()
+			{
+				void write(char c) { out.append(c); }
+				
+				void write(char[] values, int from, int to) { out.append(values, from, to); }
+				
+				void write(String s) { out.append(s); }
+				
+				void write(CharSequence s, int from, int to) { out.append(s, from, to); }
+			};
+		}
+		
+		static Sink of(Writer out)
+		{
+			return new Sink()
+			{
+				void write(char c) throws IOException { out.write(c); }
+				
+				void write(char[] values, int from, int to) throws IOException { out.write(values, from, to - from); }
+				
+				void write(String s) throws IOException { out.write(s); }
+				
+				void write(CharSequence s, int from, int to) throws IOException
+				{
+					// Writer.append would copy the range into a new String first
+					if (s instanceof String) out.write((String)s, from, to - from);
+					else for (int i = from; i < to; i++) out.write(s.charAt(i));
+				}
+			};
+		}
+		
+		static Sink of(Appendable out)
+		{
+			if (out instanceof Writer) return Sink.of((Writer)out);
+			if (out instanceof StringBuilder)
+			{
+				StringBuilder sb = (StringBuilder)out;
+				return new Sink()
+				{
+					void write(char c) { sb.append(c); }
+					
+					void write(char[] values, int from, int to) { sb.append(values, from, to - from); }
+					
+					void write(String s) { sb.append(s); }
+					
+					void write(CharSequence s, int from, int to) { sb.append(s, from, to); }
+				};
+			}
+			
+			return new Sink()
+			{
+				void write(char c) throws IOException { out.append(c); }
+				
+				void write(char[] values, int from, int to) throws IOException { out.append(CharBuffer.wrap(values, from, to - from)); }
+				
+				void write(String s) throws IOException { out.append(s); }
+				
+				void write(CharSequence s, int from, int to) throws IOException { out.append(s, from, to); }
+			};
+		}
+	}
+	
+	private final Sink _out;
+	private final Function<StringifyInfo, Object> _replacer;
+	private final JSString[] _propertyList;
+	private final String _gap;
+	private final Set<Object> _stack = Collections.newSetFromMap(new IdentityHashMap<>());
+	private String _indent = "";
+	
+	/**
+	 * The scratch buffer numbers are formatted into before being written
+	 */
+	private final char[] _digits = new char[NumberToString.MAX_CHARS];
+	
+	JSONSerializer(Sink out, Function<StringifyInfo, Object> replacer, JSArray propertyList, Object space)
+	{
+		this._out = out;
+		this._replacer = replacer;
+		this._propertyList = propertyList == null ? null : JSONSerializer.toPropertyList(propertyList);
+		this._gap = JSONSerializer.toGap(space);
+	}
+	
+	private static JSString[] toPropertyList(JSArray propertyList)
+	{
+		ArrayList<JSString> keys = new ArrayList<>(propertyList.length());
+		for (int i = 0, length = propertyList.length(); i < length; i++)
+		{
+			Object item = propertyList.get(i);
+			if (!(item instanceof JSString || item instanceof CharSequence || item instanceof Number)) continue;
+			
+			JSString key = AbstractOps.toString(item);
+			if (!keys.contains(key)) keys.add(key);
+		}
+		return keys.toArray(new JSString[keys.size()]);
+	}
+	
+	private static String toGap(Object space)
+	{
+		if (space instanceof Number)
+		{
+			int count = (int)Math.min(10, Math.max(0, AbstractOps.toIntegerOrInfinity(space)));
+			return count == 0 ? null : "          ".substring(0, count);
+		}
+		else if (space instanceof JSString || space instanceof CharSequence)
+		{
+			String gap = space.toString();
+			if (gap.length() > 10) gap = gap.substring(0, 10);
+			return gap.isEmpty() ? null : gap;
+		}
+		return null;
+	}
+	
+	private static String unicodeEscape(char c)
+	{
+		return new String(new char[] {
+			'\\', 'u', HEX_DIGITS[c >>> 12], HEX_DIGITS[(c >>> 8) & 0xF], HEX_DIGITS[(c >>> 4) & 0xF], HEX_DIGITS[c & 0xF]
+		});
+	}
+	
+	/**
+	 * Writes <code>value</code> into the end of <code>digits</code>
+	 * @return Where the number starts in <code>digits</code>
+	 */
+	private static int formatInteger(long value, char[] digits)
+	{
+		int pos = digits.length;
+		
+		// work with the negative value, so that Long.MIN_VALUE works too
+		long n = value < 0 ? value : -value;
+		do
+		{
+			digits[--pos] = (char)('0' - n % 10);
+			n /= 10;
+		}
+		while (n != 0);
+		
+		if (value < 0) digits[--pos] = '-';
+		return pos;
+	}
+	
+	/**
+	 * Gets <code>values</code> as a quoted JSON string
+	 */
+	static char[] quote(char[] values)
+	{
+		CharArrayBuilder builder = new CharArrayBuilder(values.length + 2);
+		try
+		{
+			JSONSerializer.writeQuoted(Sink.of(builder), values, 0, values.length);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+		return builder.toJSString().getValues();
+	}
+	
+	/**
+	 * Writes <code>value</code> as a quoted JSON string, the same way as
+	 * {@link #writeQuoted(Sink, char[], int, int)} but reading the chars in
+	 * place rather than copying them out first
+	 */
+	private static void writeQuoted(Sink out, CharSequence values) throws IOException
+	{
+		out.write('"');
+		
+		int start = 0;
+		for (int i = 0, to = values.length(); i < to; i++)
+		{
+			char c = values.charAt(i);
+			String escape;
+			
+			if (c < 128)
+			{
+				escape = ESCAPES[c];
+				if (escape == null) continue;
+			}
+			else if (c >= '\uD800' && c <= '\uDFFF')
+			{
+				if (c <= '\uDBFF' && i + 1 < to && Character.isLowSurrogate(values.charAt(i + 1)))
+				{
+					i++;
+					continue;
+				}
+				escape = JSONSerializer.unicodeEscape(c);
+			}
+			else continue;
+			
+			out.write(values, start, i);
+			out.write(escape);
+			start = i + 1;
+		}
+		
+		out.write(values, start, values.length());
+		out.write('"');
+	}
+	
+	private static void writeQuoted(Sink out, char[] values, int from, int to) throws IOException
+	{
+		out.write('"');
+		
+		int start = from;
+		for (int i = from; i < to; i++)
+		{
+			char c = values[i];
+			String escape;
+			
+			if (c < 128)
+			{
+				escape = ESCAPES[c];
+				if (escape == null) continue;
+			}
+			else if (c >= '\uD800' && c <= '\uDFFF')
+			{
+				// a well-formed pair goes out as is, a lone surrogate is escaped
+				if (c <= '\uDBFF' && i + 1 < to && Character.isLowSurrogate(values[i + 1]))
+				{
+					i++;
+					continue;
+				}
+				escape = JSONSerializer.unicodeEscape(c);
+			}
+			else continue;
+			
+			out.write(values, start, i);
+			out.write(escape);
+			start = i + 1;
+		}
+		
+		out.write(values, start, to);
+		out.write('"');
+	}
+	
+	/**
+	 * Writes <code>value</code> as the whole JSON text
+	 * @return Whether anything was written, which isn't the case for values
+	 * like {@link Global.undefined} that have no JSON representation
+	 */
+	boolean write(Object value)
+	{
+		try
+		{
+			if (this._replacer != null)
+			{
+				JSString key = new JSString();
+				JSPlainObject wrapper = new JSPlainObject(1);
+				wrapper.set(key, value);
+				value = this._replacer.apply(new StringifyInfo(key, value, wrapper));
+			}
+			return this.writeValue(value);
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);
+		}
+	}
+	
+	private static boolean isSerializable(Object value)
+	{
+		return !(value instanceof JSUndefined);
+	}
+	
+	private Object replace(JSString key, Object value, Object holder)
+	{
+		return this._replacer == null ? value : this._replacer.apply(new StringifyInfo(key, value, holder));
+	}
+	
+	private boolean writeValue(Object value) throws IOException
+	{
+		if (value == null) this._out.write("null");
+		else if (value instanceof JSString)
+		{
+			char[] values = ((JSString)value).getValues();
+			JSONSerializer.writeQuoted(this._out, values, 0, values.length);
+		}
+		else if (value instanceof Boolean) this._out.write((Boolean)value ? "true" : "false");
+		else if (value instanceof Number)
+		{
+			char[] digits = this._digits;
+			if (Type.of(value) == Type.INTEGRAL)
+			{
+				int pos = JSONSerializer.formatInteger(((Number)value).longValue(), digits);
+				this._out.write(digits, pos, digits.length);
+			}
+			else
+			{
+				double d = ((Number)value).doubleValue();
+				if (Double.isNaN(d) || Double.isInfinite(d)) this._out.write("null");
+				else this._out.write(digits, 0, NumberToString.toChars(d, digits, 0, false));
+			}
+		}
+		else if (value instanceof JSBigInt) throw new IllegalArgumentException("Do not know how to serialize a BigInt");
+		else if (value instanceof CharSequence) JSONSerializer.writeQuoted(this._out, (CharSequence)value);
+		else if (value instanceof Character) JSONSerializer.writeQuoted(this._out, new char[] { (Character)value }, 0, 1);
+		else if (!JSONSerializer.isSerializable(value)) return false;
+		else
+		{
+			if (!this._stack.add(value))
+				throw new IllegalArgumentException("Converting circular structure to JSON");
+			
+			if (value instanceof JSArray) this.writeArray((JSArray)value);
+			else if (value instanceof JSPlainObject) this.writeObject((JSPlainObject)value);
+			else this.writeFields(value);
+			
+			this._stack.remove(value);
+		}
+		return true;
+	}
+	
+	private void writeArray(JSArray array) throws IOException
+	{
+		int length = array.length();
+		if (length == 0)
+		{
+			this._out.write("[]");
+			return;
+		}
+		
+		String stepback = this._indent;
+		if (this._gap != null) this._indent += this._gap;
+		
+		this._out.write('[');
+		for (int i = 0; i < length; i++)
+		{
+			if (i > 0) this._out.write(',');
+			this.writeNewLine();
+			
+			Object item = array.get(i);
+			if (this._replacer != null) item = this.replace(new JSString(Integer.toString(i)), item, array);
+			if (!this.writeValue(item)) this._out.write("null");
+		}
+		
+		this._indent = stepback;
+		this.writeNewLine();
+		this._out.write(']');
+	}
+	
+	private void writeObject(JSPlainObject obj) throws IOException
+	{
+		String stepback = this._indent;
+		if (this._gap != null) this._indent += this._gap;
+		
+		boolean empty = true;
+		this._out.write('{');
+		
+		if (this._propertyList == null)
+		{
+			for (Map.Entry<JSString, Object> property : obj.properties())
+			{
+				JSString key = property.getKey();
+				if (this.writeMember(empty, key, null, this.replace(key, property.getValue(), obj))) empty = false;
+			}
+		}
+		else
+		{
+			for (JSString key : this._propertyList)
+			{
+				if (!obj.has(key)) continue;
+				if (this.writeMember(empty, key, null, this.replace(key, obj.get(key), obj))) empty = false;
+			}
+		}
+		
+		this.endObject(stepback, empty);
+	}
+	
+	private void writeFields(Object obj) throws IOException
+	{
+		FieldWriter[] writers = FIELD_WRITERS.get(obj.getClass());
+		
+		String stepback = this._indent;
+		if (this._gap != null) this._indent += this._gap;
+		
+		boolean empty = true;
+		this._out.write('{');
+		
+		if (this._propertyList == null)
+		{
+			for (FieldWriter writer : writers)
+			{
+				Object value = this.replace(writer.name, writer.get(obj), obj);
+				if (this.writeMember(empty, writer.name, writer.quotedName, value)) empty = false;
+			}
+		}
+		else
+		{
+			for (JSString key : this._propertyList)
+			{
+				for (FieldWriter writer : writers)
+				{
+					if (!writer.name.equals(key)) continue;
+					
+					Object value = this.replace(writer.name, writer.get(obj), obj);
+					if (this.writeMember(empty, writer.name, writer.quotedName, value)) empty = false;
+					break;
+				}
+			}
+		}
+		
+		this.endObject(stepback, empty);
+	}
+	
+	/**
+	 * Writes one <code>"key": value</code> member of an object, unless
+	 * <code>value</code> has no JSON representation
+	 * @return Whether the member was written
+	 */
+	private boolean writeMember(boolean first, JSString key, char[] quotedKey, Object value) throws IOException
+	{
+		if (!JSONSerializer.isSerializable(value)) return false;
+		
+		if (!first) this._out.write(',');
+		this.writeNewLine();
+		
+		if (quotedKey != null) this._out.write(quotedKey, 0, quotedKey.length);
+		else
+		{
+			char[] values = key.getValues();
+			JSONSerializer.writeQuoted(this._out, values, 0, values.length);
+		}
+		
+		this._out.write(':');
+		if (this._gap != null) this._out.write(' ');
+		
+		this.writeValue(value);
+		return true;
+	}
+	
+	private void endObject(String stepback, boolean empty) throws IOException
+	{
+		this._indent = stepback;
+		if (!empty) this.writeNewLine();
+		this._out.write('}');
+	}
+	
+	private void writeNewLine() throws IOException
+	{
+		if (this._gap == null) return;
+		
+		this._out.write('\n');
+		this._out.write(this._indent);
+	}
+}
@@ -54,11 +54,13 @@ public class JSObject
 	public static JSArray keys(JSObject obj)
 	{
 		if (obj == null) throw new IllegalArgumentException("'null' has no keys");
+		if (obj instanceof JSPlainObject) return ((JSPlainObject)obj).keys();
+		
 		Class<?> clazz = obj.getClass();
 		JSArray fields = new JSArray((Object[])clazz.getFields());
 		fields = fields.filter((entry) -> !Modifier.isStatic(((Field)entry.item).getModifiers()));
 		
-		JSArray keys = fields.map((entry) -> ((Field)entry.item).getName());
+		JSArray keys = fields.map((entry) -> new JSString(((Field)entry.item).getName()));
 		
 		keys.sort();
 		
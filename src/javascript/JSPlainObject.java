@@ -0,0 +1,130 @@
+package javascript;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import javascript.exceptions.*;
+
+/**
+ * An object whose properties are added at runtime, like an object literal
+ * or an object from {@link JSON#parse(Object)}, rather than being the
+ * fields of a class.
+ * <br/>
+ * Properties are kept in the order they were added.
+ * @version 19th October, 2026
+ */
+public class JSPlainObject extends JSObject
+{
+	private final LinkedHashMap<JSString, Object> _properties;
+	
+	/**
+	 * Instantiates a new object with no properties
+	 */
+	public JSPlainObject()
+	{
+		this._properties = new LinkedHashMap<>();
+	}
+	
+	/**
+	 * Instantiates a new object with room for <code>size</code> properties
+	 * @param size The number of properties expected
+	 */
+	public JSPlainObject(int size)
+	{
+		this._properties = new LinkedHashMap<>(Math.max(16, (int)(size / 0.75f) + 1));
+	}
+	
+	private static JSString toKey(Object key)
+	{
+		return key instanceof JSString ? (JSString)key : new JSString(key);
+	}
+	
+	/**
+	 * Gets the number of properties on this object
+	 * @return The number of properties
+	 */
+	public int size()
+	{
+		return this._properties.size();
+	}
+	
+	/**
+	 * Gets the value of the property named by the string representation of <code>key</code>
+	 * @param key The property name
+	 * @return The value, or {@link Global.undefined} if there is no such property
+	 */
+	public Object get(Object key)
+	{
+		JSString name = JSPlainObject.toKey(key);
+		Object value = this._properties.get(name);
+		return value == null && !this._properties.containsKey(name) ? Global.undefined : value;
+	}
+	
+	/**
+	 * Sets the property named by the string representation of <code>key</code>
+	 * @param key The property name
+	 * @param value The value
+	 */
+	public void set(Object key, Object value)
+	{
+		JSString name = JSPlainObject.toKey(key);
+		if (JSObject.isFrozen(this))
+		{
+			throw new UpdatePropertyException(name.toString(), this, this._properties.containsKey(name)
+					? UpdatePropertyException.UpdateType.SET
+					: UpdatePropertyException.UpdateType.ADD);
+		}
+		
+		this._properties.put(name, value);
+	}
+	
+	/**
+	 * Returns whether this object has the property named by the string
+	 * representation of <code>key</code>
+	 * @param key The property name
+	 * @return <code>true</code> if this object has the property
+	 */
+	public boolean has(Object key)
+	{
+		return this._properties.containsKey(JSPlainObject.toKey(key));
+	}
+	
+	/**
+	 * Removes the property named by the string representation of <code>key</code>
+	 * @param key The property name
+	 * @return <code>true</code> if the property was removed or didn't exist
+	 */
+	public boolean delete(Object key)
+	{
+		JSString name = JSPlainObject.toKey(key);
+		if (JSObject.isFrozen(this))
+		{
+			if (!this._properties.containsKey(name)) return true;
+			throw new UpdatePropertyException(name.toString(), this, UpdatePropertyException.UpdateType.DELETE);
+		}
+		
+		this._properties.remove(name);
+		return true;
+	}
+	
+	/**
+	 * Gets the names of the properties of this object, in the order they were added
+	 * @return An array of the property names
+	 */
+	public JSArray keys()
+	{
+		return JSArray.adopt(this._properties.keySet().toArray(), this._properties.size());
+	}
+	
+	/**
+	 * Gets a read-only view of the properties of this object, in the order
+	 * they were added
+	 * @return The properties of this object
+	 */
+	public Set<Map.Entry<JSString, Object>> properties()
+	{
+		return Collections.unmodifiableMap(this._properties).entrySet();
+	}
+}
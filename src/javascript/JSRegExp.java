@@ -0,0 +1,726 @@
+package javascript;
+
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import javascript.interfaces.*;
+import javascript.exceptions.*;
+
+/**
+ * An <a href="https://tc39.es/ecma262/#sec-regexp-regular-expression-objects">ECMA-262 RegExp</a>
+ * implementation, supporting the <code>g</code>, <code>i</code>, <code>m</code>,
+ * <code>s</code>, <code>u</code> and <code>y</code> flags.
+ * <br/>
+ * Patterns are translated to <code>java.util.regex</code> once and kept in a
+ * shared LRU cache, so creating the same expression again is cheap. Strings
+ * are matched in place, without being converted to a Java String.
+ * @version 19th October, 2026
+ */
+public class JSRegExp extends JSObject implements Splitter<JSString>
+{
+	/**
+	 * The most compiled patterns kept in the cache
+	 */
+	static final int CACHE_SIZE = 256;
+	
+	private static final Map<String, Compiled> CACHE = new LinkedHashMap<String, Compiled>(16, 0.75F, true)
+	{
+		private static final long serialVersionUID = 1L;
+		
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Compiled> eldest)
+		{
+			return this.size() > CACHE_SIZE;
+		}
+	};
+	
+	private final JSString _source;
+	private final JSString _flags;
+	private final boolean _global;
+	private final boolean _ignoreCase;
+	private final boolean _multiline;
+	private final boolean _dotAll;
+	private final boolean _unicode;
+	private final boolean _sticky;
+	private final Compiled _compiled;
+	private int _lastIndex;
+	
+	/**
+	 * Creates a new RegExp from the string representation of <code>pattern</code>
+	 * with no flags, or a copy of <code>pattern</code> if it is a RegExp.
+	 * @param pattern The pattern
+	 * @throws SyntaxException if <code>pattern</code> is not a valid pattern
+	 */
+	public JSRegExp(Object pattern)
+	{
+		this(pattern, Global.undefined);
+	}
+	
+	/**
+	 * Creates a new RegExp from the string representation of <code>pattern</code>
+	 * and <code>flags</code>. If <code>pattern</code> is a RegExp, its source is used,
+	 * along with its flags if <code>flags</code> is <code>undefined</code>.
+	 * @param pattern The pattern
+	 * @param flags The flags
+	 * @throws SyntaxException if <code>pattern</code> is not a valid pattern, or
+	 * <code>flags</code> contains an unknown or repeated flag
+	 */
+	public JSRegExp(Object pattern, Object flags)
+	{
+		super();
+		
+		JSString P;
+		JSString F;
+		if (pattern instanceof JSRegExp)
+		{
+			JSRegExp other = (JSRegExp)pattern;
+			P = other._source;
+			F = flags instanceof JSUndefined ? other._flags : new JSString(flags);
+		}
+		else
+		{
+			P = pattern instanceof JSUndefined ? new JSString() : new JSString(pattern);
+			F = flags instanceof JSUndefined ? new JSString() : new JSString(flags);
+		}
+		
+		boolean global = false, ignoreCase = false, multiline = false;
+		boolean dotAll = false, unicode = false, sticky = false;
+		for (char c : F.getValues())
+		{
+			boolean seen;
+			switch (c)
+			{
+				case 'g': seen = global; global = true; break;
+				case 'i': seen = ignoreCase; ignoreCase = true; break;
+				case 'm': seen = multiline; multiline = true; break;
+				case 's': seen = dotAll; dotAll = true; break;
+				case 'u': seen = unicode; unicode = true; break;
+				case 'y': seen = sticky; sticky = true; break;
+				default:
+					throw new SyntaxException("Invalid flags supplied to RegExp constructor '" + F + "'");
+			}
+			if (seen) throw new SyntaxException("Invalid flags supplied to RegExp constructor '" + F + "'");
+		}
+		
+		this._source = P;
+		this._flags = F;
+		this._global = global;
+		this._ignoreCase = ignoreCase;
+		this._multiline = multiline;
+		this._dotAll = dotAll;
+		this._unicode = unicode;
+		this._sticky = sticky;
+		this._compiled = JSRegExp.lookup(P.toString(), ignoreCase, multiline, dotAll, unicode);
+	}
+	
+	public JSString source()
+	{
+		return this._source;
+	}
+	
+	public JSString flags()
+	{
+		return this._flags;
+	}
+	
+	public boolean global()
+	{
+		return this._global;
+	}
+	
+	public boolean ignoreCase()
+	{
+		return this._ignoreCase;
+	}
+	
+	public boolean multiline()
+	{
+		return this._multiline;
+	}
+	
+	public boolean dotAll()
+	{
+		return this._dotAll;
+	}
+	
+	public boolean unicode()
+	{
+		return this._unicode;
+	}
+	
+	public boolean sticky()
+	{
+		return this._sticky;
+	}
+	
+	public int lastIndex()
+	{
+		return this._lastIndex;
+	}
+	
+	public void setLastIndex(int lastIndex)
+	{
+		this._lastIndex = lastIndex;
+	}
+	
+	/**
+	 * Searches the string representation of <code>string</code>, starting at
+	 * <code>lastIndex</code> if this RegExp is global or sticky.
+	 * @param string The string to search
+	 * @return The match, or <code>null</code> if there is none
+	 */
+	public RegExpMatchArray exec(Object string)
+	{
+		JSString S = string instanceof JSString ? (JSString)string : new JSString(string);
+		return this.exec(S, this.matcher(S));
+	}
+	
+	/**
+	 * Returns whether this RegExp matches the string representation of
+	 * <code>string</code>, updating <code>lastIndex</code> like {@link #exec(Object)}.
+	 * @param string The string to search
+	 * @return Whether a match was found
+	 */
+	public boolean test(Object string)
+	{
+		return this.exec(string) != null;
+	}
+	
+	RegExpMatchArray exec(JSString S, Matcher m)
+	{
+		return this.exec(m, S.length()) ? this.result(S, m) : null;
+	}
+	
+	/**
+	 * Runs the matching part of exec, updating <code>lastIndex</code> and
+	 * leaving the match in <code>m</code> instead of creating a result
+	 * @return Whether a match was found
+	 */
+	boolean exec(Matcher m, int length)
+	{
+		boolean globalOrSticky = this._global || this._sticky;
+		int lastIndex = globalOrSticky ? Math.max(this._lastIndex, 0) : 0;
+		
+		if (lastIndex > length || !this.find(m, lastIndex, length))
+		{
+			if (globalOrSticky) this._lastIndex = 0;
+			return false;
+		}
+		
+		if (globalOrSticky) this._lastIndex = m.end();
+		return true;
+	}
+	
+	/**
+	 * Gets the name of each capture group by group number, or
+	 * <code>null</code> if this RegExp has no named groups
+	 */
+	String[] groupNames()
+	{
+		return this._compiled.names;
+	}
+	
+	/**
+	 * Creates a matcher over the chars of <code>S</code>
+	 */
+	Matcher matcher(JSString S)
+	{
+		Matcher m = this._compiled.pattern.matcher(CharBuffer.wrap(S.getValues()));
+		m.useTransparentBounds(true);
+		m.useAnchoringBounds(false);
+		return m;
+	}
+	
+	/**
+	 * Finds the next match at or after <code>from</code>, or only at
+	 * <code>from</code> if this RegExp is sticky, without touching
+	 * <code>lastIndex</code>.
+	 */
+	boolean find(Matcher m, int from, int length)
+	{
+		if (this._sticky)
+		{
+			m.region(from, length);
+			return m.lookingAt();
+		}
+		return m.find(from);
+	}
+	
+	RegExpMatchArray result(JSString S, Matcher m)
+	{
+		int groups = m.groupCount() + 1;
+		int[] offsets = new int[groups << 1];
+		for (int k = 0; k < groups; k++)
+		{
+			offsets[k << 1] = m.start(k);
+			offsets[(k << 1) + 1] = m.end(k);
+		}
+		return new RegExpMatchArray(S, offsets, this._compiled.names);
+	}
+	
+	/**
+	 * Returns the index after <code>index</code>, skipping whole surrogate
+	 * pairs when this RegExp is in unicode mode
+	 */
+	int advance(char[] values, int index)
+	{
+		if (this._unicode && index + 1 < values.length
+				&& Character.isHighSurrogate(values[index]) && Character.isLowSurrogate(values[index + 1]))
+			return index + 2;
+		return index + 1;
+	}
+	
+	public boolean canSplit(Object obj)
+	{
+		return obj instanceof JSString;
+	}
+	
+	/**
+	 * Splits <code>objToSplit</code> on every match of this RegExp, adding the
+	 * captured substrings in between the pieces. <code>lastIndex</code> is not
+	 * used or changed.
+	 * @param objToSplit The string to split
+	 * @param limit The maximum number of items to return
+	 * @return The pieces of <code>objToSplit</code>
+	 */
+	@Override
+	public JSArray split(JSString objToSplit, int limit)
+	{
+		if (limit == 0) return new JSArray();
+		
+		char[] values = objToSplit.getValues();
+		int size = values.length;
+		Matcher m = this._compiled.pattern.matcher(CharBuffer.wrap(values));
+		m.useTransparentBounds(true);
+		m.useAnchoringBounds(false);
+		
+		if (size == 0)
+			return m.lookingAt() ? new JSArray() : new JSArray(objToSplit);
+		
+		Object[] pieces = new Object[16];
+		int lengthA = 0;
+		int p = 0;
+		int q = p;
+		
+		while (q < size)
+		{
+			if (!m.find(q)) break;
+			
+			int start = m.start();
+			if (start >= size) break;
+			
+			int e = Math.min(m.end(), size);
+			if (e == p)
+			{
+				q = this.advance(values, start);
+				continue;
+			}
+			
+			int groups = m.groupCount();
+			if (lengthA + groups + 1 >= pieces.length)
+				pieces = Arrays.copyOf(pieces, Math.max(pieces.length << 1, lengthA + groups + 2));
+			
+			pieces[lengthA] = JSString.fromRange(values, p, start);
+			lengthA++;
+			if (lengthA == limit) return JSArray.adopt(pieces, lengthA);
+			p = e;
+			
+			for (int k = 1; k <= groups; k++)
+			{
+				int groupStart = m.start(k);
+				pieces[lengthA] = groupStart == -1 ? Global.undefined : JSString.fromRange(values, groupStart, m.end(k));
+				lengthA++;
+				if (lengthA == limit) return JSArray.adopt(pieces, lengthA);
+			}
+			
+			q = p;
+		}
+		
+		if (lengthA == pieces.length) pieces = Arrays.copyOf(pieces, lengthA + 1);
+		pieces[lengthA] = p == 0 ? objToSplit : JSString.fromRange(values, p, size);
+		lengthA++;
+		return JSArray.adopt(pieces, lengthA);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "/" + this._source + "/" + this._flags;
+	}
+	
+	/**
+	 * Finds the matches of a global RegExp one at a time, for
+	 * {@link JSString#matchAll(Object)}
+	 */
+	static final class MatchIterator implements Iterator<RegExpMatchArray>
+	{
+		private final JSRegExp regexp;
+		private final JSString string;
+		private final Matcher matcher;
+		private RegExpMatchArray pending;
+		private boolean done;
+		
+		MatchIterator(JSRegExp regexp, JSString string)
+		{
+			this.regexp = regexp;
+			this.string = string;
+			this.matcher = regexp.matcher(string);
+		}
+		
+		public boolean hasNext()
+		{
+			if (this.pending == null && !this.done)
+			{
+				JSRegExp rx = this.regexp;
+				this.pending = rx.exec(this.string, this.matcher);
+				if (this.pending == null) this.done = true;
+				else if (this.pending.end(0) == this.pending.index)
+					rx._lastIndex = rx.advance(this.string.getValues(), rx._lastIndex);
+			}
+			return this.pending != null;
+		}
+		
+		public RegExpMatchArray next()
+		{
+			if (!this.hasNext())
+				throw new NoSuchElementException("No more matches exist in the string");
+			
+			RegExpMatchArray result = this.pending;
+			this.pending = null;
+			return result;
+		}
+	}
+	
+	/**
+	 * A pattern translated to <code>java.util.regex</code>, with the names of
+	 * its capture groups
+	 */
+	static final class Compiled
+	{
+		final Pattern pattern;
+		final String[] names;
+		
+		Compiled(Pattern pattern, String[] names)
+		{
+			this.pattern = pattern;
+			this.names = names;
+		}
+	}
+	
+	static Compiled lookup(String source, boolean ignoreCase, boolean multiline, boolean dotAll, boolean unicode)
+	{
+		StringBuilder key = new StringBuilder(source.length() + 5);
+		if (ignoreCase) key.append('i');
+		if (multiline) key.append('m');
+		if (dotAll) key.append('s');
+		if (unicode) key.append('u');
+		key.append('/').append(source);
+		String k = key.toString();
+		
+		Compiled compiled;
+		synchronized (CACHE)
+		{
+			compiled = CACHE.get(k);
+		}
+		
+		if (compiled == null)
+		{
+			compiled = JSRegExp.compile(source, ignoreCase, multiline, dotAll, unicode);
+			synchronized (CACHE)
+			{
+				CACHE.put(k, compiled);
+			}
+		}
+		
+		return compiled;
+	}
+	
+	private static final String WHITE_SPACE = "\\t\\n\\x0B\\f\\r \\u00A0\\u1680\\u2000-\\u200A\\u2028\\u2029\\u202F\\u205F\\u3000\\uFEFF";
+	private static final String LINE_TERMINATOR = "\\n\\r\\u2028\\u2029";
+	private static final String WORD = "[A-Za-z0-9_]";
+	
+	/**
+	 * Translates an ECMAScript pattern to a <code>java.util.regex</code> one.
+	 * <br/>
+	 * Constructs that mean something else to Java are rewritten: <code>.</code>,
+	 * <code>^</code>, <code>$</code>, <code>\s</code> and <code>\b</code> use the
+	 * ECMAScript definitions of white space, line terminators and word chars,
+	 * named groups become numbered groups, and chars Java treats specially
+	 * inside classes are escaped.
+	 */
+	static Compiled compile(String source, boolean ignoreCase, boolean multiline, boolean dotAll, boolean unicode)
+	{
+		ArrayList<String> names = JSRegExp.groupNames(source);
+		
+		int n = source.length();
+		StringBuilder out = new StringBuilder(n + 16);
+		boolean inClass = false;
+		
+		for (int i = 0; i < n; i++)
+		{
+			char c = source.charAt(i);
+			
+			if (c == '\\')
+			{
+				if (i + 1 == n) throw new SyntaxException("Invalid regular expression: /" + source + "/: \\ at end of pattern");
+				
+				i++;
+				char d = source.charAt(i);
+				switch (d)
+				{
+					case 'd': case 'D': case 'w': case 'W':
+					case 't': case 'n': case 'r': case 'f':
+						out.append('\\').append(d);
+						break;
+					case 'v':
+						out.append("\\x0B");
+						break;
+					case 's':
+						out.append(inClass ? WHITE_SPACE : "[" + WHITE_SPACE + "]");
+						break;
+					case 'S':
+						out.append("[^" + WHITE_SPACE + "]");
+						break;
+					case 'b':
+						if (inClass) out.append("\\x08");
+						else out.append("(?:(?<=" + WORD + ")(?!" + WORD + ")|(?<!" + WORD + ")(?=" + WORD + "))");
+						break;
+					case 'B':
+						if (inClass) out.append('B');
+						else out.append("(?:(?<=" + WORD + ")(?=" + WORD + ")|(?<!" + WORD + ")(?!" + WORD + "))");
+						break;
+					case '0':
+						if (i + 1 < n && Character.isDigit(source.charAt(i + 1))) out.append("\\0");
+						else out.append("\\x00");
+						break;
+					case 'c':
+						if (i + 1 < n && JSRegExp.isAsciiLetter(source.charAt(i + 1)))
+						{
+							i++;
+							out.append("\\c").append(source.charAt(i));
+						}
+						else out.append("\\\\c");
+						break;
+					case 'x':
+						if (i + 2 < n && JSRegExp.isHex(source, i + 1, i + 3))
+						{
+							out.append("\\x").append(source, i + 1, i + 3);
+							i += 2;
+						}
+						else out.append('x');
+						break;
+					case 'u':
+						if (unicode && i + 1 < n && source.charAt(i + 1) == '{')
+						{
+							int close = source.indexOf('}', i + 2);
+							if (close == -1 || close == i + 2 || !JSRegExp.isHex(source, i + 2, close))
+								throw new SyntaxException("Invalid regular expression: /" + source + "/: Invalid Unicode escape");
+							out.append("\\x{").append(source, i + 2, close).append('}');
+							i = close;
+						}
+						else if (i + 4 < n && JSRegExp.isHex(source, i + 1, i + 5))
+						{
+							out.append("\\u").append(source, i + 1, i + 5);
+							i += 4;
+						}
+						else out.append('u');
+						break;
+					case 'p': case 'P':
+						if (unicode) out.append('\\').append(d);
+						else out.append(d);
+						break;
+					case 'k':
+					{
+						int close = i + 1 < n && source.charAt(i + 1) == '<' ? source.indexOf('>', i + 2) : -1;
+						int group = close == -1 ? -1 : names.indexOf(source.substring(i + 2, close));
+						if (group > 0)
+						{
+							out.append("(?:\\").append(group).append(')');
+							i = close;
+						}
+						else if (names.size() > 1 && JSRegExp.hasNames(names))
+							throw new SyntaxException("Invalid regular expression: /" + source + "/: Invalid named reference");
+						else out.append('k');
+						break;
+					}
+					default:
+						if (d >= '1' && d <= '9' && inClass)
+						{
+							// a legacy octal escape, backreferences can't appear in classes
+							if (d <= '7') out.append("\\0").append(d);
+							else out.append(d);
+						}
+						else if (d >= '1' && d <= '9')
+						{
+							int end = i + 1;
+							while (end < n && Character.isDigit(source.charAt(end))) end++;
+							out.append("(?:\\").append(source, i, end).append(')');
+							i = end - 1;
+						}
+						else if (Character.isLetterOrDigit(d)) out.append(d);
+						else out.append('\\').append(d);
+				}
+			}
+			else if (inClass)
+			{
+				if (c == ']') inClass = false;
+				else if (c == '[' || c == '&') out.append('\\');
+				out.append(c);
+			}
+			else
+			{
+				switch (c)
+				{
+					case '[':
+						if (source.startsWith("[]", i))
+						{
+							out.append("(?!)");
+							i++;
+						}
+						else if (source.startsWith("[^]", i))
+						{
+							out.append("[\\s\\S]");
+							i += 2;
+						}
+						else
+						{
+							inClass = true;
+							out.append('[');
+							if (i + 1 < n && source.charAt(i + 1) == '^')
+							{
+								out.append('^');
+								i++;
+							}
+						}
+						break;
+					case ']':
+						out.append("\\]");
+						break;
+					case '.':
+						out.append(dotAll ? "[\\s\\S]" : "[^" + LINE_TERMINATOR + "]");
+						break;
+					case '^':
+						out.append(multiline ? "(?:^|(?<=[" + LINE_TERMINATOR + "]))" : "^");
+						break;
+					case '$':
+						out.append(multiline ? "(?=[" + LINE_TERMINATOR + "]|\\z)" : "\\z");
+						break;
+					case '(':
+						if (source.startsWith("(?<", i) && !source.startsWith("(?<=", i) && !source.startsWith("(?<!", i))
+						{
+							// named groups were numbered up front
+							out.append('(');
+							i = source.indexOf('>', i);
+						}
+						else out.append('(');
+						break;
+					case '{':
+						if (JSRegExp.isQuantifier(source, i)) out.append('{');
+						else out.append("\\{");
+						break;
+					default:
+						out.append(c);
+				}
+			}
+		}
+		
+		if (inClass) throw new SyntaxException("Invalid regular expression: /" + source + "/: Unterminated character class");
+		
+		int flags = ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0;
+		try
+		{
+			Pattern pattern = Pattern.compile(out.toString(), flags);
+			return new Compiled(pattern, JSRegExp.hasNames(names) ? names.toArray(new String[0]) : null);
+		}
+		catch (PatternSyntaxException e)
+		{
+			throw new SyntaxException("Invalid regular expression: /" + source + "/: " + e.getDescription(), e);
+		}
+	}
+	
+	/**
+	 * Numbers the capture groups of <code>source</code>, returning the name
+	 * of each one by group number, or <code>null</code> for unnamed groups
+	 */
+	private static ArrayList<String> groupNames(String source)
+	{
+		ArrayList<String> names = new ArrayList<String>();
+		names.add(null);
+		
+		boolean inClass = false;
+		for (int i = 0, n = source.length(); i < n; i++)
+		{
+			char c = source.charAt(i);
+			if (c == '\\') i++;
+			else if (inClass) inClass = c != ']';
+			else if (c == '[') inClass = true;
+			else if (c == '(')
+			{
+				if (i + 1 < n && source.charAt(i + 1) != '?') names.add(null);
+				else if (source.startsWith("(?<", i) && !source.startsWith("(?<=", i) && !source.startsWith("(?<!", i))
+				{
+					int close = source.indexOf('>', i + 3);
+					if (close == -1 || close == i + 3)
+						throw new SyntaxException("Invalid regular expression: /" + source + "/: Invalid capture group name");
+					
+					String name = source.substring(i + 3, close);
+					if (names.contains(name))
+						throw new SyntaxException("Invalid regular expression: /" + source + "/: Duplicate capture group name");
+					names.add(name);
+				}
+			}
+		}
+		
+		return names;
+	}
+	
+	private static boolean hasNames(ArrayList<String> names)
+	{
+		for (int k = 1, len = names.size(); k < len; k++)
+		{
+			if (names.get(k) != null) return true;
+		}
+		return false;
+	}
+	
+	private static boolean isQuantifier(String source, int i)
+	{
+		int n = source.length();
+		int k = i + 1;
+		int digits = 0;
+		while (k < n && Character.isDigit(source.charAt(k)))
+		{
+			k++;
+			digits++;
+		}
+		if (digits == 0) return false;
+		if (k < n && source.charAt(k) == ',')
+		{
+			k++;
+			while (k < n && Character.isDigit(source.charAt(k))) k++;
+		}
+		return k < n && source.charAt(k) == '}';
+	}
+	
+	private static boolean isHex(String source, int from, int to)
+	{
+		for (int k = from; k < to; k++)
+		{
+			if (Character.digit(source.charAt(k), 16) == -1) return false;
+		}
+		return true;
+	}
+	
+	private static boolean isAsciiLetter(char c)
+	{
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+	}
+}
@@ -1,14 +1,68 @@
 package javascript;
 
+import java.nio.CharBuffer;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.text.Normalizer;
 
 import javascript.interfaces.*;
 import javascript.annotations.*;
 
-public class JSString extends JSObject implements IString<JSString>
+public class JSString extends JSObject implements IString<JSString>, Comparable<JSString>
 {
-	private char[] _values;
+	private static final char[] EMPTY_VALUES = new char[0];
+	
+	/**
+	 * The shared single-char strings for every char up to <code>0xFF</code>
+	 */
+	private static final JSString[] LATIN1 = new JSString[256];
+	
+	static
+	{
+		for (int c = 0; c < 256; c++)
+		{
+			LATIN1[c] = new JSString(new char[] { (char)c });
+		}
+	}
+	
+	private final char[] _values;
+	
+	/**
+	 * The cached hash code, or <code>0</code> if it hasn't been computed yet
+	 */
+	private int _hash;
+	
+	/**
+	 * Whether this string is the atom for its chars in the intern table
+	 */
+	private boolean _interned;
+	
+	/**
+	 * The cached Java String with the same chars, or <code>null</code> if it
+	 * hasn't been needed yet
+	 */
+	private String _string;
+	
+	/**
+	 * A bit for each normalization form this string is known to already be in
+	 */
+	private byte _normalizedForms;
+	
+	/**
+	 * What this string normalizes to in each form it isn't already in, or
+	 * <code>null</code> until it is first normalized to one of those
+	 */
+	private JSString[] _normalizations;
 	
 	public int length()
 	{
@@ -17,13 +71,23 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public JSString()
 	{
-		this._values = new char[0];
+		this._values = EMPTY_VALUES;
+	}
+	
+	private JSString(char[] values)
+	{
+		this._values = values;
 	}
 	
 	public JSString(char value)
 	{
-		this._values = new char[1];
-		this._values[0] = value;
+		if (value < 256)
+			this._values = LATIN1[value]._values;
+		else
+		{
+			this._values = new char[1];
+			this._values[0] = value;
+		}
 	}
 	
 	public JSString(boolean value)
@@ -53,12 +117,12 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public JSString(float value)
 	{
-		this(String.valueOf(value));
+		this(NumberToString.toChars(value));
 	}
 	
 	public JSString(double value)
 	{
-		this(String.valueOf(value));
+		this(NumberToString.toChars(value));
 	}
 	
 	public JSString(Character value)
@@ -105,12 +169,12 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public JSString(Float value)
 	{
-		this(value == null ? null : String.valueOf(value));
+		this(value == null ? new char[] { 'n', 'u', 'l', 'l' } : NumberToString.toChars(value));
 	}
 	
 	public JSString(Double value)
 	{
-		this(value == null ? null : String.valueOf(value));
+		this(value == null ? new char[] { 'n', 'u', 'l', 'l' } : NumberToString.toChars(value));
 	}
 	
 	public JSString(String value)
@@ -125,13 +189,31 @@ public class JSString extends JSObject implements IString<JSString>
 		}
 		else
 		{
-			int size = value.length();
-			
-			this._values = new char[size];
-			for (int k = 0; k < size; k++)
-			{
-				this._values[k] = value.charAt(k);
-			}
+			this._values = value.toCharArray();
+			this._string = value;
+		}
+	}
+	
+	/**
+	 * Creates a JSString with the same chars as <code>value</code>, sharing
+	 * them since neither string can change them.
+	 * @param value The string to copy
+	 */
+	public JSString(JSString value)
+	{
+		if (value == null)
+		{
+			this._values = new char[4];
+			this._values[0] = 'n';
+			this._values[1] = 'u';
+			this._values[2] = 'l';
+			this._values[3] = 'l';
+		}
+		else
+		{
+			this._values = value._values;
+			this._hash = value._hash;
+			this._string = value._string;
 		}
 	}
 	
@@ -162,36 +244,234 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public JSString(Object value)
 	{
-		this(value == null ? null : value.toString());
+		this(AbstractOps.toString(value));
 	}
 	
 	public JSString charAt(int index)
 	{
 		int size = this.length();
-		if (index < 0 || index >= size) new JSString();
-		return new JSString(this._values[index]);
+		if (index < 0 || index >= size) return new JSString();
+		return JSString.forChar(this._values[index]);
+	}
+	
+	/**
+	 * Creates a string from a sequence of UTF-16 char codes, keeping only
+	 * the low 16 bits of each one. A single char up to <code>0xFF</code>
+	 * gives a shared string.
+	 * @param codes The char codes
+	 * @return The string of those chars
+	 */
+	public static JSString fromCharCode(int ...codes)
+	{
+		int len = codes.length;
+		if (len == 1) return JSString.forChar((char)codes[0]);
+		
+		char[] values = new char[len];
+		for (int k = 0; k < len; k++)
+		{
+			values[k] = (char)codes[k];
+		}
+		return new JSString(values);
+	}
+	
+	/**
+	 * Gets a string of the single char <code>c</code>, which is shared if
+	 * <code>c</code> is up to <code>0xFF</code>
+	 */
+	static JSString forChar(char c)
+	{
+		return c < 256 ? LATIN1[c] : new JSString(new char[] { c });
 	}
 	
 	public Integer charCodeAt(int pos)
 	{
 		int size = this.length();
 		if (pos < 0 || pos >= size) return null;
-		return Character.getNumericValue(this._values[pos]);
+		return (int)this._values[pos];
 	}
 	
+	/**
+	 * @deprecated Use {@link #codePointAt(int)}, which this calls
+	 */
+	@Deprecated
 	public Integer charPointAt(int pos)
+	{
+		return this.codePointAt(pos);
+	}
+	
+	public Integer codePointAt(int pos)
 	{
 		int size = this.length();
 		if (pos < 0 || pos >= size) return null;
 		return Character.codePointAt(this._values, pos);
 	}
 	
+	/**
+	 * Creates a string from a sequence of code points.
+	 * @param codePoints The code points
+	 * @return The string of those code points, with each one above
+	 * <code>0xFFFF</code> as a surrogate pair
+	 * @throws IllegalArgumentException if any code point is not from
+	 * <code>0</code> to <code>0x10FFFF</code>
+	 */
+	public static JSString fromCodePoint(int ...codePoints)
+	{
+		int len = 0;
+		for (int codePoint : codePoints)
+		{
+			if (!Character.isValidCodePoint(codePoint))
+				throw new IllegalArgumentException("Invalid code point " + codePoint);
+			len += Character.charCount(codePoint);
+		}
+		
+		char[] values = new char[len];
+		for (int k = 0, j = 0; j < len; k++)
+		{
+			j += Character.toChars(codePoints[k], values, j);
+		}
+		return new JSString(values);
+	}
+	
+	/**
+	 * Returns whether this string has no lone surrogates, which means it
+	 * can be encoded as UTF-8 or UTF-16 without losing anything.
+	 * @return <code>true</code> if every surrogate in this string is part of a pair
+	 */
+	public boolean isWellFormed()
+	{
+		return JSString.indexOfLoneSurrogate(this._values, 0) == -1;
+	}
+	
+	/**
+	 * Returns this string with every lone surrogate replaced by
+	 * <code>U+FFFD</code>, or this string itself if it has none.
+	 * @return A well formed version of this string
+	 */
+	public JSString toWellFormed()
+	{
+		char[] values = this._values;
+		int k = JSString.indexOfLoneSurrogate(values, 0);
+		if (k == -1) return this;
+		
+		char[] newChars = Arrays.copyOf(values, values.length);
+		while (k != -1)
+		{
+			newChars[k] = '\uFFFD';
+			k = JSString.indexOfLoneSurrogate(values, k + 1);
+		}
+		return new JSString(newChars);
+	}
+	
+	/**
+	 * Returns the index of the first surrogate at or after <code>from</code>
+	 * that isn't part of a pair, or <code>-1</code>. Everything that isn't a
+	 * surrogate is skipped over by a single scan.
+	 */
+	static int indexOfLoneSurrogate(char[] values, int from)
+	{
+		int len = values.length;
+		int k = CharScan.indexOfSurrogate(values, from, len);
+		while (k != -1)
+		{
+			if (!Character.isHighSurrogate(values[k]) || k + 1 == len || !Character.isLowSurrogate(values[k + 1]))
+				return k;
+			k = CharScan.indexOfSurrogate(values, k + 2, len);
+		}
+		return -1;
+	}
+	
+	/**
+	 * Returns an iterator over the code points of this string, which
+	 * gives each surrogate pair as a single string, like a
+	 * <code>for...of</code> loop.
+	 * @return An iterator over the code points of this string
+	 */
+	@Override
+	public Iterator<JSString> iterator()
+	{
+		return new CodePointIterator(this._values);
+	}
+	
+	/**
+	 * Gets the code points of this string as numbers, with each
+	 * surrogate pair as a single code point.
+	 * @return A stream of the code points of this string
+	 */
+	public IntStream codePoints()
+	{
+		char[] values = this._values;
+		PrimitiveIterator.OfInt iterator = new PrimitiveIterator.OfInt()
+		{
+			private int index = 0;
+			
+			@Override
+			public boolean hasNext()
+			{
+				return this.index < values.length;
+			}
+			
+			@Override
+			public int nextInt()
+			{
+				int k = this.index;
+				if (k >= values.length) throw new NoSuchElementException();
+				
+				char c = values[k];
+				if (c < 0x80)
+				{
+					this.index = k + 1;
+					return c;
+				}
+				
+				int codePoint = Character.codePointAt(values, k);
+				this.index = k + Character.charCount(codePoint);
+				return codePoint;
+			}
+		};
+		return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false);
+	}
+	
+	private static final class CodePointIterator implements Iterator<JSString>
+	{
+		private final char[] values;
+		private int index;
+		
+		CodePointIterator(char[] values)
+		{
+			this.values = values;
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			return this.index < this.values.length;
+		}
+		
+		@Override
+		public JSString next()
+		{
+			char[] values = this.values;
+			int k = this.index;
+			if (k >= values.length) throw new NoSuchElementException("No such character exists in the string");
+			
+			char c = values[k];
+			if (c < 0x80 || !Character.isHighSurrogate(c) || k + 1 == values.length || !Character.isLowSurrogate(values[k + 1]))
+			{
+				this.index = k + 1;
+				return JSString.forChar(c);
+			}
+			
+			this.index = k + 2;
+			return JSString.fromRange(values, k, k + 2);
+		}
+	}
+	
 	public JSString concat(Object ...args)
 	{
 		JSString R = this;
 		for (int k = 0, len = args.length; k < len; k++)
 		{
-			JSString nextString = new JSString(args[k]);
+			JSString nextString = AbstractOps.toString(args[k]);
 			R = JSString.add(R, nextString);
 		}
 		return R;
@@ -199,7 +479,7 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public boolean endsWith(Object searchString)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int end = len;
 		
@@ -215,14 +495,13 @@ public class JSString extends JSObject implements IString<JSString>
 			substringChars[j] = this._values[k];
 			j++;
 		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
-		return Utils.sameValueNonNumeric(substring, searchStr);
+		JSString substring = new JSString(substringChars);
+		return AbstractOps.sameValueNonNumeric(substring, searchStr);
 	}
 	
 	public boolean endsWith(Object searchString, int endPosition)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int end = Math.min(Math.max(endPosition, 0), len);
 		
@@ -238,118 +517,70 @@ public class JSString extends JSObject implements IString<JSString>
 			substringChars[j] = this._values[k];
 			j++;
 		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
-		return Utils.sameValueNonNumeric(substring, searchStr);
+		JSString substring = new JSString(substringChars);
+		return AbstractOps.sameValueNonNumeric(substring, searchStr);
 	}
 	
 	public boolean includes(Object searchString)
 	{
-		JSString searchStr = new JSString(searchString);
-		int len = this.length();
-		int start = 0;
-		int searchLen = searchStr.length();
-		
-		if (searchLen == 0 && start < len) return true;
-		
-		int j = 0;
-		for (int k = start; k < len; k++)
-		{
-			if (this._values[k] == searchStr._values[j])
-			{
-				j++;
-				if (j == searchLen) return true;
-			}
-			else
-			{
-				j = 0;
-			}
-		}
-		
-		return false;
+		return this.indexOf(searchString, 0) != -1;
 	}
 	
 	public boolean includes(Object searchString, int position)
 	{
-		JSString searchStr = new JSString(searchString);
-		int len = this.length();
-		int start = Math.min(Math.max(position, 0), len);
-		int searchLen = searchStr.length();
-		
-		if (searchLen == 0 && start < len) return true;
-
-		int j = 0;
-		for (int k = start; k < len; k++)
-		{
-			if (this._values[k] == searchStr._values[j])
-			{
-				j++;
-				if (j == searchLen) return true;
-			}
-			else
-			{
-				j = 0;
-			}
-		}
-		
-		return false;
+		return this.indexOf(searchString, position) != -1;
 	}
 	
 	public int indexOf(Object searchString)
 	{
-		JSString searchStr = new JSString(searchString);
-		int len = this.length();
-		int start = 0;
-		int searchLen = searchStr.length();
-		
-		if (searchLen == 0 && start < len) return start;
-
-		int j = 0;
-		for (int k = start; k < len; k++)
-		{
-			if (this._values[k] == searchStr._values[j])
-			{
-				j++;
-				if (j == searchLen) return k - j + 1;
-			}
-			else
-			{
-				j = 0;
-			}
-		}
-		
-		return -1;
+		return this.indexOf(searchString, 0);
 	}
 	
 	public int indexOf(Object searchString, int position)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int start = Math.min(Math.max(position, 0), len);
 		int searchLen = searchStr.length();
 		
-		if (searchLen == 0 && start < len) return start;
-
-		int j = 0;
-		for (int k = start; k < len; k++)
-		{
-			if (this._values[k] == searchStr._values[j])
-			{
-				j++;
-				if (j == searchLen) return k - j + 1;
-			}
-			else
-			{
-				j = 0;
-			}
-		}
+		if (searchLen == 0) return start;
+		else if (searchLen == 1) return JSString.indexOf(this._values, searchStr._values[0], start, len);
+		else return JSString.indexOf(this._values, searchStr._values, start, len);
+	}
+	
+	/**
+	 * Returns the same result as {@link #indexOf(Object)}, searching
+	 * chunks of this string on the common ForkJoinPool.
+	 * @param searchString The searchString
+	 * @return The index at with the string representation of
+	 * <code>searchString</code> occurs, or <code>-1</code>.
+	 */
+	public int parallelIndexOf(Object searchString)
+	{
+		return this.parallelIndexOf(searchString, 0);
+	}
+	
+	/**
+	 * Returns the same result as {@link #indexOf(Object, int)}, searching
+	 * chunks of this string on the common ForkJoinPool.
+	 * @param searchString The searchString
+	 * @param position The position to begin the search at
+	 * @return The index at with the string representation of
+	 * <code>searchString</code> occurs, or <code>-1</code>.
+	 */
+	public int parallelIndexOf(Object searchString, int position)
+	{
+		JSString searchStr = AbstractOps.toString(searchString);
+		int len = this.length();
+		int start = Math.min(Math.max(position, 0), len);
 		
-		return -1;
+		if (searchStr.length() == 0) return start;
+		return ParallelSearch.indexOf(this._values, searchStr._values, start);
 	}
 	
 	public int lastIndexOf(Object searchString)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int start = 0;
 		int searchLen = searchStr.length();
@@ -375,7 +606,7 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public int lastIndexOf(Object searchString, int position)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int start = Math.min(Math.max(position, 0), len);
 		int searchLen = searchStr.length();
@@ -401,25 +632,95 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public int localeCompare(Object that)
 	{
-		JSString That = new JSString(that);
-		
-		return this.toString().compareTo(That.toString());
+		return this.localeCompare(that, Global.undefined);
+	}
+	
+	/**
+	 * Compares this string to the string representation of <code>that</code>
+	 * by the rules of <code>locales</code>.
+	 * @param that The object to compare to
+	 * @param locales A <code>Locale</code>, a BCP 47 language tag, or
+	 * {@link Global.undefined} for the default locale
+	 * @return A negative number, zero, or a positive number if this string
+	 * sorts before, the same as, or after <code>that</code>
+	 */
+	public int localeCompare(Object that, Object locales)
+	{
+		return new JSCollator(locales).compare(this, that);
 	}
 	
-	// public RegexpMatchArray match(Regexp regexp);
+	/**
+	 * Matches this string against <code>regexp</code>, creating a RegExp from
+	 * <code>regexp</code> if it isn't one.
+	 * @param regexp The RegExp, or the pattern to create one from
+	 * @return The result of {@link JSRegExp#exec(Object)} if <code>regexp</code>
+	 * is not global, otherwise an array of every matched substring. Either way
+	 * <code>null</code> is returned if nothing matches.
+	 */
+	public ArrayLike match(Object regexp)
+	{
+		JSRegExp rx = regexp instanceof JSRegExp ? (JSRegExp)regexp : new JSRegExp(regexp);
+		if (!rx.global()) return rx.exec(this);
+		
+		char[] values = this._values;
+		int len = values.length;
+		Matcher m = rx.matcher(this);
+		
+		Object[] matches = new Object[8];
+		int count = 0;
+		int from = 0;
+		
+		while (from <= len && rx.find(m, from, len))
+		{
+			int start = m.start();
+			int end = m.end();
+			
+			if (count == matches.length) matches = Arrays.copyOf(matches, count << 1);
+			matches[count] = JSString.fromRange(values, start, end);
+			count++;
+			
+			from = end == start ? rx.advance(values, end) : end;
+		}
+		
+		rx.setLastIndex(0);
+		return count == 0 ? null : JSArray.adopt(matches, count);
+	}
 	
-	// public Iterator<JSString> matchAll(Regexp regexp);
+	/**
+	 * Returns an iterator that finds every match of <code>regexp</code> in this
+	 * string lazily. A global copy of <code>regexp</code> is used, so its own
+	 * <code>lastIndex</code> is not changed.
+	 * @param regexp The global RegExp, or the pattern to create one from
+	 * @return An iterator over every match in this string
+	 * @throws IllegalArgumentException if <code>regexp</code> is a RegExp
+	 * without the <code>g</code> flag
+	 */
+	public Iterator<RegExpMatchArray> matchAll(Object regexp)
+	{
+		JSRegExp rx;
+		if (regexp instanceof JSRegExp)
+		{
+			JSRegExp original = (JSRegExp)regexp;
+			if (!original.global())
+				throw new IllegalArgumentException("matchAll must be called with a global RegExp");
+			
+			rx = new JSRegExp(original);
+			rx.setLastIndex(original.lastIndex());
+		}
+		else
+			rx = new JSRegExp(regexp, "g");
+		
+		return new JSRegExp.MatchIterator(rx, this);
+	}
 	
 	public JSString normalize()
 	{
-		String S = this.toString();
-		return new JSString(Normalizer.normalize(S, Normalizer.Form.NFC));
+		return this.normalize(Normalizer.Form.NFC);
 	}
 	
 	public JSString normalize(String form)
 	{
 		form = form == null ? "NFC" : form;
-		String S = this.toString();
 		
 		Normalizer.Form f;
 		if (form.contentEquals("NFC")) f = Normalizer.Form.NFC;
@@ -429,13 +730,12 @@ public class JSString extends JSObject implements IString<JSString>
 		else
 			throw new IllegalArgumentException("Normalization form must be 'NFC', 'NFD', 'NFKC', or 'NFKD'");
 		
-		return new JSString(Normalizer.normalize(S, f));
+		return this.normalize(f);
 	}
 	
 	public JSString normalize(JSString form)
 	{
 		form = form == null ? new JSString("NFC") : form;
-		String S = this.toString();
 		
 		Normalizer.Form f;
 		if (form.contentEquals("NFC")) f = Normalizer.Form.NFC;
@@ -445,15 +745,62 @@ public class JSString extends JSObject implements IString<JSString>
 		else
 			throw new IllegalArgumentException("Normalization form must be 'NFC', 'NFD', 'NFKC', or 'NFKD'");
 		
-		return new JSString(Normalizer.normalize(S, f));
+		return this.normalize(f);
 	}
 	
-	public JSString padEnd(int maxLength)
+	/**
+	 * Normalizes this string to <code>form</code>, returning this string
+	 * if it is already in that form. Both answers are remembered, so each
+	 * form is only worked out once per string.
+	 */
+	private JSString normalize(Normalizer.Form form)
 	{
-		return JSString.stringPad(this, maxLength, Global.undefined, 1);
+		int bit = 1 << form.ordinal();
+		if ((this._normalizedForms & bit) != 0) return this;
+		
+		JSString[] normalizations = this._normalizations;
+		if (normalizations != null && normalizations[form.ordinal()] != null) return normalizations[form.ordinal()];
+		
+		if (JSString.isNormalizedQuick(this._values, form) || Normalizer.isNormalized(this.asCharSequence(), form))
+		{
+			this._normalizedForms |= bit;
+			return this;
+		}
+		
+		JSString result = new JSString(Normalizer.normalize(this.asCharSequence(), form));
+		result._normalizedForms |= bit;
+		
+		if (normalizations == null)
+		{
+			normalizations = new JSString[Normalizer.Form.values().length];
+			this._normalizations = normalizations;
+		}
+		normalizations[form.ordinal()] = result;
+		return result;
 	}
 	
-	public JSString padEnd(int maxLength, Object fillString)
+	/**
+	 * Returns <code>true</code> if <code>values</code> is in <code>form</code>
+	 * just by the range of its chars. ASCII is in every form, and nothing
+	 * below <code>U+0300</code> changes under NFC. <code>false</code> means
+	 * the full check is needed.
+	 */
+	private static boolean isNormalizedQuick(char[] values, Normalizer.Form form)
+	{
+		int limit = form == Normalizer.Form.NFC ? 0x300 : 0x80;
+		for (char c : values)
+		{
+			if (c >= limit) return false;
+		}
+		return true;
+	}
+	
+	public JSString padEnd(int maxLength)
+	{
+		return JSString.stringPad(this, maxLength, Global.undefined, 1);
+	}
+	
+	public JSString padEnd(int maxLength, Object fillString)
 	{
 		return JSString.stringPad(this, maxLength, fillString, 1);
 	}
@@ -470,11 +817,11 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	static JSString stringPad(Object O, int maxLength, Object fillString, int placement)
 	{
-		JSString S = new JSString(O);
+		JSString S = AbstractOps.toString(O);
 		int stringLength = S.length();
 		if (maxLength <= stringLength) return S;
 		
-		String filler = fillString instanceof JSUndefined ? " " : new JSString(fillString).toString();
+		String filler = fillString instanceof JSUndefined ? " " : AbstractOps.toString(fillString).toString();
 		int fillerLength = filler.length();
 		if (fillerLength == 0) return S;
 		
@@ -515,17 +862,341 @@ public class JSString extends JSObject implements IString<JSString>
 		}
 	}
 
-	// public JSString replace(Object searchValue, Object replacer);
+	/**
+	 * Replaces the first occurrence of the string representation of
+	 * <code>searchValue</code> with the string representation of
+	 * <code>replaceValue</code>. <code>$$</code>, <code>$&amp;</code>,
+	 * <code>$`</code> and <code>$'</code> are substituted. If
+	 * <code>searchValue</code> is a RegExp, this is the same as
+	 * {@link #replace(JSRegExp, Object)}.
+	 * @param searchValue The string to search for
+	 * @param replaceValue The replacement
+	 * @return The replaced string, or this string if nothing matched
+	 */
+	public JSString replace(Object searchValue, Object replaceValue)
+	{
+		if (searchValue instanceof JSRegExp) return this.replace((JSRegExp)searchValue, replaceValue);
+		
+		JSString replaceStr = AbstractOps.toString(replaceValue);
+		return this.replaceLiteral(searchValue, replaceStr._values, null, false);
+	}
 	
-	// public JSString replace(Object searchValue, Function<ReplaceInfo, Object> replacer);
+	/**
+	 * Replaces the first occurrence of the string representation of
+	 * <code>searchValue</code> with the string representation of what
+	 * <code>replacer</code> returns for it. If <code>searchValue</code> is a
+	 * RegExp, this is the same as {@link #replace(JSRegExp, Function)}.
+	 * @param searchValue The string to search for
+	 * @param replacer The function returning the replacement; if <code>null</code>, each match is replaced with the string <code>"null"</code>
+	 * @return The replaced string, or this string if nothing matched
+	 */
+	public JSString replace(Object searchValue, Function<ReplaceInfo, Object> replacer)
+	{
+		if (searchValue instanceof JSRegExp) return this.replace((JSRegExp)searchValue, replacer);
+		
+		if (replacer == null) return this.replace(searchValue, (Object)null);
+		return this.replaceLiteral(searchValue, null, replacer, false);
+	}
+	
+	/**
+	 * Replaces every occurrence of the string representation of
+	 * <code>searchValue</code>, like {@link #replace(Object, Object)}. If
+	 * <code>searchValue</code> is a RegExp, this is the same as
+	 * {@link #replaceAll(JSRegExp, Object)}.
+	 * @param searchValue The string to search for
+	 * @param replaceValue The replacement
+	 * @return The replaced string, or this string if nothing matched
+	 */
+	public JSString replaceAll(Object searchValue, Object replaceValue)
+	{
+		if (searchValue instanceof JSRegExp) return this.replaceAll((JSRegExp)searchValue, replaceValue);
+		
+		JSString replaceStr = AbstractOps.toString(replaceValue);
+		return this.replaceLiteral(searchValue, replaceStr._values, null, true);
+	}
+	
+	/**
+	 * Replaces every occurrence of the string representation of
+	 * <code>searchValue</code>, like {@link #replace(Object, Function)}. If
+	 * <code>searchValue</code> is a RegExp, this is the same as
+	 * {@link #replaceAll(JSRegExp, Function)}.
+	 * @param searchValue The string to search for
+	 * @param replacer The function returning each replacement; if <code>null</code>, each match is replaced with the string <code>"null"</code>
+	 * @return The replaced string, or this string if nothing matched
+	 */
+	public JSString replaceAll(Object searchValue, Function<ReplaceInfo, Object> replacer)
+	{
+		if (searchValue instanceof JSRegExp) return this.replaceAll((JSRegExp)searchValue, replacer);
+		
+		if (replacer == null) return this.replaceAll(searchValue, (Object)null);
+		return this.replaceLiteral(searchValue, null, replacer, true);
+	}
+	
+	private JSString replaceLiteral(Object searchValue, char[] replacement, Function<ReplaceInfo, Object> replacer, boolean all)
+	{
+		JSString searchStr = AbstractOps.toString(searchValue);
+		char[] values = this._values;
+		int len = values.length;
+		int r = searchStr.length();
+		
+		int position = this.indexOf(searchStr, 0);
+		if (position == -1) return this;
+		
+		long capacity = len - r + (replacement == null ? 16 : replacement.length);
+		if (all && replacement != null)
+		{
+			// count the matches first, so that the result is allocated once
+			// unless substitutions like $& make it longer
+			long count = 1;
+			if (r == 0) count = len + 1;
+			else for (int p = this.indexOf(searchStr, position + r); p != -1; p = this.indexOf(searchStr, p + r)) count++;
+			capacity = len + count * (replacement.length - r);
+		}
+		
+		CharArrayBuilder result = new CharArrayBuilder((int)Math.min(capacity, Integer.MAX_VALUE - 8));
+		JSArray noCaptures = replacer == null ? null : new JSArray();
+		int nextSourcePosition = 0;
+		
+		while (position != -1)
+		{
+			int end = position + r;
+			result.append(values, nextSourcePosition, position);
+			
+			if (replacer == null)
+				JSString.appendSubstitution(result, replacement, values, position, end, null, null);
+			else
+			{
+				Object replaceValue = replacer.apply(new ReplaceInfo(searchStr, noCaptures, position, this, null));
+				result.append(AbstractOps.toString(replaceValue));
+			}
+			
+			nextSourcePosition = end;
+			if (!all || (r == 0 && end == len)) break;
+			position = this.indexOf(searchStr, r == 0 ? end + 1 : end);
+		}
+		
+		result.append(values, nextSourcePosition, len);
+		return result.toJSString();
+	}
+	
+	/**
+	 * Replaces the first match of <code>searchValue</code>, or every match if
+	 * it is global, with the string representation of <code>replaceValue</code>.
+	 * <code>$$</code>, <code>$&amp;</code>, <code>$`</code>, <code>$'</code>,
+	 * <code>$n</code> and <code>$&lt;name&gt;</code> are substituted.
+	 * @param searchValue The RegExp to search for
+	 * @param replaceValue The replacement
+	 * @return The replaced string, or this string if nothing matched
+	 */
+	public JSString replace(JSRegExp searchValue, Object replaceValue)
+	{
+		JSString replaceStr = AbstractOps.toString(replaceValue);
+		return this.replaceRegExp(searchValue, replaceStr._values, null);
+	}
 	
-	// public JSString replace(Regexp searchValue, Object replacer);
+	/**
+	 * Replaces the first match of <code>searchValue</code>, or every match if
+	 * it is global, with the string representation of what <code>replacer</code>
+	 * returns for that match.
+	 * @param searchValue The RegExp to search for
+	 * @param replacer The function returning each replacement; if <code>null</code>, each match is replaced with the string <code>"null"</code>
+	 * @return The replaced string, or this string if nothing matched
+	 */
+	public JSString replace(JSRegExp searchValue, Function<ReplaceInfo, Object> replacer)
+	{
+		if (replacer == null) return this.replace(searchValue, (Object)null);
+		return this.replaceRegExp(searchValue, null, replacer);
+	}
 	
-	// public JSString replace(Regexp searchValue, Function<ReplaceInfo, Object> replacer);
+	/**
+	 * Replaces every match of the global RegExp <code>searchValue</code>, like
+	 * {@link #replace(JSRegExp, Object)}.
+	 * @param searchValue The global RegExp to search for
+	 * @param replaceValue The replacement
+	 * @return The replaced string, or this string if nothing matched
+	 * @throws IllegalArgumentException if <code>searchValue</code> is not global
+	 */
+	public JSString replaceAll(JSRegExp searchValue, Object replaceValue)
+	{
+		if (!searchValue.global())
+			throw new IllegalArgumentException("replaceAll must be called with a global RegExp");
+		return this.replace(searchValue, replaceValue);
+	}
 	
-	// replaceAll
+	/**
+	 * Replaces every match of the global RegExp <code>searchValue</code>, like
+	 * {@link #replace(JSRegExp, Function)}.
+	 * @param searchValue The global RegExp to search for
+	 * @param replacer The function returning each replacement; if <code>null</code>, each match is replaced with the string <code>"null"</code>
+	 * @return The replaced string, or this string if nothing matched
+	 * @throws IllegalArgumentException if <code>searchValue</code> is not global
+	 */
+	public JSString replaceAll(JSRegExp searchValue, Function<ReplaceInfo, Object> replacer)
+	{
+		if (!searchValue.global())
+			throw new IllegalArgumentException("replaceAll must be called with a global RegExp");
+		return this.replace(searchValue, replacer);
+	}
 	
-	// search
+	private JSString replaceRegExp(JSRegExp rx, char[] replacement, Function<ReplaceInfo, Object> replacer)
+	{
+		char[] values = this._values;
+		int len = values.length;
+		boolean global = rx.global();
+		Matcher m = rx.matcher(this);
+		String[] names = rx.groupNames();
+		
+		CharArrayBuilder result = null;
+		int nextSourcePosition = 0;
+		int from = 0;
+		
+		if (global) rx.setLastIndex(0);
+		
+		while (global ? from <= len && rx.find(m, from, len) : rx.exec(m, len))
+		{
+			int position = m.start();
+			int end = m.end();
+			
+			if (result == null) result = new CharArrayBuilder(len + (replacement == null ? 16 : replacement.length));
+			result.append(values, nextSourcePosition, position);
+			
+			if (replacer == null)
+				JSString.appendSubstitution(result, replacement, values, position, end, m, names);
+			else
+			{
+				int groups = m.groupCount();
+				Object[] captures = new Object[groups];
+				for (int k = 0; k < groups; k++)
+				{
+					int groupStart = m.start(k + 1);
+					captures[k] = groupStart == -1 ? Global.undefined : JSString.fromRange(values, groupStart, m.end(k + 1));
+				}
+				
+				ReplaceInfo info = new ReplaceInfo(JSString.fromRange(values, position, end),
+						JSArray.adopt(captures, groups), position, this, names == null ? null : rx.result(this, m));
+				Object replaceValue = replacer.apply(info);
+				result.append(AbstractOps.toString(replaceValue));
+			}
+			
+			nextSourcePosition = end;
+			if (!global) break;
+			from = end == position ? rx.advance(values, end) : end;
+		}
+		
+		if (global) rx.setLastIndex(0);
+		if (result == null) return this;
+		
+		result.append(values, nextSourcePosition, len);
+		return result.toJSString();
+	}
+	
+	/**
+	 * Appends <code>replacement</code> to <code>result</code>, substituting
+	 * <code>$$</code>, <code>$&amp;</code>, <code>$`</code>, <code>$'</code>,
+	 * <code>$n</code> and <code>$&lt;name&gt;</code> the way
+	 * <a href="https://tc39.es/ecma262/#sec-getsubstitution">GetSubstitution</a> does.
+	 * @param result The buffer to append to
+	 * @param replacement The replacement template
+	 * @param str The chars of the string that was searched
+	 * @param position The index the match starts at
+	 * @param end The exclusive index the match ends at
+	 * @param captures The matcher holding the capture groups, or <code>null</code> if there are none
+	 * @param names The name of each capture group, or <code>null</code> if there are no named groups
+	 */
+	static void appendSubstitution(CharArrayBuilder result, char[] replacement, char[] str, int position, int end,
+			Matcher captures, String[] names)
+	{
+		int r = replacement.length;
+		int groups = captures == null ? 0 : captures.groupCount();
+		int from = 0;
+		
+		for (int k = 0; k < r - 1; k++)
+		{
+			if (replacement[k] != '$') continue;
+			
+			char c = replacement[k + 1];
+			if (c == '$')
+			{
+				result.append(replacement, from, k + 1);
+				k++;
+				from = k + 1;
+			}
+			else if (c == '&')
+			{
+				result.append(replacement, from, k).append(str, position, end);
+				k++;
+				from = k + 1;
+			}
+			else if (c == '`')
+			{
+				result.append(replacement, from, k).append(str, 0, position);
+				k++;
+				from = k + 1;
+			}
+			else if (c == '\'')
+			{
+				result.append(replacement, from, k).append(str, Math.min(end, str.length), str.length);
+				k++;
+				from = k + 1;
+			}
+			else if (c >= '0' && c <= '9')
+			{
+				int group = c - '0';
+				int consumed = 2;
+				if (k + 2 < r && replacement[k + 2] >= '0' && replacement[k + 2] <= '9')
+				{
+					int twoDigits = group * 10 + replacement[k + 2] - '0';
+					if (twoDigits >= 1 && twoDigits <= groups)
+					{
+						group = twoDigits;
+						consumed = 3;
+					}
+				}
+				if (group < 1 || group > groups) continue;
+				
+				result.append(replacement, from, k);
+				int groupStart = captures.start(group);
+				if (groupStart != -1) result.append(str, groupStart, captures.end(group));
+				k += consumed - 1;
+				from = k + 1;
+			}
+			else if (c == '<' && names != null)
+			{
+				int close = k + 2;
+				while (close < r && replacement[close] != '>') close++;
+				if (close == r) continue;
+				
+				result.append(replacement, from, k);
+				String name = new String(replacement, k + 2, close - k - 2);
+				for (int group = 1; group < names.length; group++)
+				{
+					if (!name.equals(names[group])) continue;
+					
+					int groupStart = captures.start(group);
+					if (groupStart != -1) result.append(str, groupStart, captures.end(group));
+					break;
+				}
+				k = close;
+				from = k + 1;
+			}
+		}
+		
+		result.append(replacement, from, r);
+	}
+	
+	/**
+	 * Returns the index of the first match of <code>regexp</code> in this
+	 * string, creating a RegExp from <code>regexp</code> if it isn't one. The
+	 * <code>lastIndex</code> of <code>regexp</code> is not used or changed.
+	 * @param regexp The RegExp, or the pattern to create one from
+	 * @return The index of the first match, or <code>-1</code> if nothing matches
+	 */
+	public int search(Object regexp)
+	{
+		JSRegExp rx = regexp instanceof JSRegExp ? (JSRegExp)regexp : new JSRegExp(regexp);
+		Matcher m = rx.matcher(this);
+		return rx.find(m, 0, this.length()) ? m.start() : -1;
+	}
 	
 	public JSString slice()
 	{
@@ -545,8 +1216,7 @@ public class JSString extends JSObject implements IString<JSString>
 			j++;
 		}
 		
-		JSString result = new JSString();
-		result._values = resultChars;
+		JSString result = new JSString(resultChars);
 		
 		return result;
 	}
@@ -569,8 +1239,7 @@ public class JSString extends JSObject implements IString<JSString>
 			j++;
 		}
 		
-		JSString result = new JSString();
-		result._values = resultChars;
+		JSString result = new JSString(resultChars);
 		
 		return result;
 	}
@@ -593,8 +1262,7 @@ public class JSString extends JSObject implements IString<JSString>
 			j++;
 		}
 		
-		JSString result = new JSString();
-		result._values = resultChars;
+		JSString result = new JSString(resultChars);
 		
 		return result;
 	}
@@ -605,13 +1273,19 @@ public class JSString extends JSObject implements IString<JSString>
 		return new JSArray(this);
 	}
 	
+	@ArrayResult(type = JSString.class)
+	public JSArray split(Object seperator)
+	{
+		return this.split(seperator, Integer.MAX_VALUE);
+	}
+	
 	// up to implementor implementing the splitter interface
 	// to validate types in .canSplit
 	@SuppressWarnings("unchecked")
 	@ArrayResult(type = JSString.class)
-	public JSArray split(Object seperator)
+	public JSArray split(Object seperator, int limit)
 	{
-		int lim = Integer.MAX_VALUE;
+		int lim = Math.abs(limit);
 		
 		if (seperator instanceof Splitter<?>)
 		{
@@ -622,161 +1296,278 @@ public class JSString extends JSObject implements IString<JSString>
 			}
 		}
 		
-		JSArray A = new JSArray();
-		int lengthA = 0;
-		
-		JSString R = new JSString(seperator);
+		JSString R = AbstractOps.toString(seperator);
 		
-		int s = this.length();
+		return JSString.splitValues(this, R._values, lim);
+	}
+	
+	/**
+	 * Returns the same pieces as {@link #split(Object)}, finding the
+	 * separators in chunks of this string on the common ForkJoinPool and
+	 * copying the pieces out in parallel.
+	 * <br/>
+	 * {@link Splitter}s, empty separators, small strings and separators whose
+	 * occurrences can overlap each other are split sequentially.
+	 * @param seperator The separator, or a {@link Splitter}
+	 * @return The pieces of this string
+	 */
+	@ArrayResult(type = JSString.class)
+	public JSArray parallelSplit(Object seperator)
+	{
+		if (seperator instanceof Splitter<?>) return this.split(seperator);
 		
-		if (s == 0)
-		{
-			if (R.length() != 0)
-				A.set(0, this);
-			return A;
-		}
+		JSString R = AbstractOps.toString(seperator);
 		
-		int p = 0;
-		int q = p;
+		return ParallelSearch.split(this, R._values);
+	}
+	
+	/**
+	 * Returns an iterator that finds the pieces of this string lazily, one
+	 * separator at a time, instead of collecting them into an array first.
+	 * @param seperator The separator, or a {@link Splitter}
+	 * @return An iterator over the pieces of this string
+	 */
+	public Iterator<JSString> splitIterator(Object seperator)
+	{
+		return this.splitIterator(seperator, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Returns an iterator that finds the pieces of this string lazily, one
+	 * separator at a time, instead of collecting them into an array first.
+	 * @param seperator The separator, or a {@link Splitter}
+	 * @param limit The maximum number of pieces to produce
+	 * @return An iterator over the pieces of this string
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public Iterator<JSString> splitIterator(Object seperator, int limit)
+	{
+		int lim = Math.abs(limit);
 		
-		while (q != s)
+		if (seperator instanceof Splitter<?>)
 		{
-			Object e = JSString.splitMatch(this, q, R);
-			if (e.getClass() == boolean.class && !((boolean)e)) q++;
-			else
+			Splitter<?> splitter = (Splitter<?>)seperator;
+			if (splitter.canSplit(this))
 			{
-				int eInt = (int)e;
-				if (eInt == p) q++;
-				else
-				{
-					char[] substringChars = new char[q - p];
-					int j = 0;
-					for (int k = p; k < q; k++)
-					{
-						substringChars[j] = this._values[k];
-					}
-					JSString T = new JSString();
-					T._values = substringChars;
-					
-					A.set(lengthA, T);
-					
-					lengthA++;
-					if (lengthA == lim) return A;
-					p = eInt;
-					q = p;
-				}
+				return (Iterator)((Splitter<JSString>)splitter).splitIterator(this, lim);
 			}
 		}
 		
-		char[] substringChars = new char[s - p];
-		int j = 0;
-		for (int k = p; k < s; k++)
-		{
-			substringChars[j] = this._values[k];
-		}
-		
-		JSString T = new JSString();
-		T._values = substringChars;
+		JSString R = AbstractOps.toString(seperator);
 		
-		A.set(lengthA, T);
-		return A;
+		return new SplitIterator(this, R._values, lim);
 	}
 	
-	// up to implementor implementing the splitter interface
-	// to validate types in .canSplit
-	@SuppressWarnings("unchecked")
-	@ArrayResult(type = JSString.class)
-	public JSArray split(Object seperator, int limit)
+	/**
+	 * Returns a sequential stream over the pieces of this string, backed
+	 * by {@link #splitIterator(Object)}.
+	 * @param seperator The separator, or a {@link Splitter}
+	 * @return A stream of the pieces of this string
+	 */
+	public Stream<JSString> splitStream(Object seperator)
 	{
-		int lim = Math.abs(limit);
+		return this.splitStream(seperator, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * Returns a sequential stream over the pieces of this string, backed
+	 * by {@link #splitIterator(Object, int)}.
+	 * @param seperator The separator, or a {@link Splitter}
+	 * @param limit The maximum number of pieces to produce
+	 * @return A stream of the pieces of this string
+	 */
+	public Stream<JSString> splitStream(Object seperator, int limit)
+	{
+		Iterator<JSString> iterator = this.splitIterator(seperator, limit);
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE), false);
+	}
+	
+	/**
+	 * Produces the same pieces as {@link JSString#splitValues}, finding
+	 * the next separator only when the next piece is asked for.
+	 */
+	private static final class SplitIterator implements Iterator<JSString>
+	{
+		private final JSString string;
+		private final char[] separator;
+		private final int limit;
+		private int position;
+		private int count;
+		private boolean finished;
 		
-		if (seperator instanceof Splitter<?>)
+		SplitIterator(JSString string, char[] separator, int limit)
 		{
-			Splitter<?> splitter = (Splitter<?>)seperator;
-			if (splitter.canSplit(this))
-			{
-				return ((Splitter<JSString>)splitter).split(this, lim);
-			}
+			this.string = string;
+			this.separator = separator;
+			this.limit = limit;
+			this.finished = separator.length == 0 && string.length() == 0;
 		}
 		
-		JSArray A = new JSArray();
-		int lengthA = 0;
+		public boolean hasNext()
+		{
+			return !this.finished && this.count < this.limit;
+		}
 		
-		JSString R = new JSString(seperator);
+		public JSString next()
+		{
+			if (!this.hasNext())
+				throw new NoSuchElementException("No more pieces exist in the string");
+			
+			char[] values = this.string._values;
+			int s = values.length;
+			int r = this.separator.length;
+			int p = this.position;
+			this.count++;
+			
+			if (r == 0)
+			{
+				this.position = p + 1;
+				this.finished = this.position == s;
+				return JSString.forChar(values[p]);
+			}
+			
+			int q = r == 1
+				? JSString.indexOf(values, this.separator[0], p, s)
+				: JSString.indexOf(values, this.separator, p, s);
+			
+			if (q == -1)
+			{
+				this.finished = true;
+				return p == 0 ? this.string : JSString.fromRange(values, p, s);
+			}
+			
+			this.position = q + r;
+			return JSString.fromRange(values, p, q);
+		}
+	}
+	
+	/**
+	 * Splits <code>S</code> on every occurrence of <code>R</code>, comparing
+	 * raw chars and copying each piece out of <code>S</code> in bulk.
+	 * @param S The string to split
+	 * @param R The chars of the separator
+	 * @param lim The maximum number of pieces to return
+	 * @return The pieces of <code>S</code>
+	 */
+	static JSArray splitValues(JSString S, char[] R, int lim)
+	{
+		if (lim == 0) return new JSArray();
 		
-		int s = this.length();
+		char[] values = S._values;
+		int s = values.length;
+		int r = R.length;
 		
-		if (s == 0)
+		if (r == 0)
 		{
-			if (R.length() != 0)
-				A.set(0, this);
-			return A;
+			int count = Math.min(s, lim);
+			Object[] pieces = new Object[count];
+			for (int k = 0; k < count; k++)
+			{
+				pieces[k] = JSString.forChar(values[k]);
+			}
+			return JSArray.adopt(pieces, count);
 		}
 		
+		Object[] pieces = new Object[16];
+		int lengthA = 0;
 		int p = 0;
-		int q = p;
 		
-		while (q != s)
+		if (r == 1)
 		{
-			Object e = JSString.splitMatch(this, q, R);
-			if (e.getClass() == boolean.class && !((boolean)e)) q++;
-			else
+			char c = R[0];
+			for (int q = 0; q < s; q++)
 			{
-				int eInt = (int)e;
-				if (eInt == p) q++;
-				else
-				{
-					char[] substringChars = new char[q - p];
-					int j = 0;
-					for (int k = p; k < q; k++)
-					{
-						substringChars[j] = this._values[k];
-					}
-					JSString T = new JSString();
-					T._values = substringChars;
-					
-					A.set(lengthA, T);
-					
-					lengthA++;
-					if (lengthA == lim) return A;
-					p = eInt;
-					q = p;
-				}
+				if (values[q] != c) continue;
+				
+				if (lengthA == pieces.length) pieces = Arrays.copyOf(pieces, lengthA << 1);
+				pieces[lengthA] = JSString.fromRange(values, p, q);
+				lengthA++;
+				if (lengthA == lim) return JSArray.adopt(pieces, lengthA);
+				p = q + 1;
 			}
 		}
-		
-		char[] substringChars = new char[s - p];
-		int j = 0;
-		for (int k = p; k < s; k++)
+		else
 		{
-			substringChars[j] = this._values[k];
+			int q = JSString.indexOf(values, R, 0, s);
+			while (q != -1)
+			{
+				if (lengthA == pieces.length) pieces = Arrays.copyOf(pieces, lengthA << 1);
+				pieces[lengthA] = JSString.fromRange(values, p, q);
+				lengthA++;
+				if (lengthA == lim) return JSArray.adopt(pieces, lengthA);
+				p = q + r;
+				q = JSString.indexOf(values, R, p, s);
+			}
 		}
 		
-		JSString T = new JSString();
-		T._values = substringChars;
-		
-		A.set(lengthA, T);
-		return A;
+		if (lengthA == pieces.length) pieces = Arrays.copyOf(pieces, lengthA + 1);
+		pieces[lengthA] = p == 0 ? S : JSString.fromRange(values, p, s);
+		lengthA++;
+		return JSArray.adopt(pieces, lengthA);
 	}
 	
-	static Object splitMatch(JSString S, int q, JSString R)
+	/**
+	 * Returns the first index in <code>[from, to)</code> at which
+	 * <code>c</code> occurs inside <code>S</code>, or <code>-1</code>.
+	 */
+	static int indexOf(char[] S, char c, int from, int to)
 	{
-		int r = R.length();
-		int s = S.length();
-		
-		if (q + r > s) return false;
+		return CharScan.indexOf(S, c, from, to);
+	}
+	
+	/**
+	 * Returns the first index in <code>[from, to)</code> at which all of
+	 * <code>R</code> occurs inside <code>S</code>, or <code>-1</code>.
+	 * <code>R</code> must not be empty.
+	 */
+	static int indexOf(char[] S, char[] R, int from, int to)
+	{
+		int r = R.length;
+		char first = R[0];
+		int max = to - r;
 		
-		for (int i = 0; i < r; i++)
+		int q = from;
+		while (q <= max)
 		{
-			if (!S.charAt(q + i).contentEquals(R.charAt(i))) return false;
+			q = CharScan.indexOf(S, first, q, max + 1);
+			if (q == -1) return -1;
+			if (CharScan.mismatch(S, q + 1, R, 1, r - 1) == -1) return q;
+			q++;
 		}
 		
-		return q + r;
+		return -1;
+	}
+	
+	/**
+	 * Creates a JSString that takes ownership of <code>values</code> without
+	 * copying it
+	 * @param values The chars, which must not be modified afterwards
+	 * @return A JSString backed by <code>values</code>
+	 */
+	static JSString adopt(char[] values)
+	{
+		return new JSString(values);
+	}
+	
+	/**
+	 * Gets a JSString of the chars of <code>values</code> in
+	 * <code>[from, to)</code>. Single Latin-1 chars, and short strings when
+	 * the {@link SmallStringCache} is on, give shared instances.
+	 */
+	static JSString fromRange(char[] values, int from, int to)
+	{
+		int len = to - from;
+		if (len == 1 && values[from] < 256) return LATIN1[values[from]];
+		if (SmallStringCache.ENABLED && len > 1 && len <= SmallStringCache.MAX_LENGTH)
+			return SmallStringCache.get(values, from, to);
+		
+		return new JSString(Arrays.copyOfRange(values, from, to));
 	}
 	
 	public boolean startsWith(Object searchString)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int start = 0;
 		int searchLength = searchStr.length();
@@ -791,15 +1582,14 @@ public class JSString extends JSObject implements IString<JSString>
 			substringChars[j] = this._values[k];
 			j++;
 		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
+		JSString substring = new JSString(substringChars);
 		
-		return Utils.sameValueNonNumeric(substring, searchStr);
+		return AbstractOps.sameValueNonNumeric(substring, searchStr);
 	}
 	
 	public boolean startsWith(Object searchString, int position)
 	{
-		JSString searchStr = new JSString(searchString);
+		JSString searchStr = AbstractOps.toString(searchString);
 		int len = this.length();
 		int start = Math.min(Math.max(position, 0), len);
 		int searchLength = searchStr.length();
@@ -814,10 +1604,9 @@ public class JSString extends JSObject implements IString<JSString>
 			substringChars[j] = this._values[k];
 			j++;
 		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
+		JSString substring = new JSString(substringChars);
 		
-		return Utils.sameValueNonNumeric(substring, searchStr);
+		return AbstractOps.sameValueNonNumeric(substring, searchStr);
 	}
 	
 	public JSString substring()
@@ -833,8 +1622,7 @@ public class JSString extends JSObject implements IString<JSString>
 			substringChars[j] = this._values[k];
 			j++;
 		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
+		JSString substring = new JSString(substringChars);
 		
 		return substring;
 	}
@@ -846,16 +1634,7 @@ public class JSString extends JSObject implements IString<JSString>
 		int from = Math.min(Math.max(start, 0), len);
 		int to = len;
 		
-		char[] substringChars = new char[to - from];
-		for (int k = from, j = 0; k < to; k++)
-		{
-			substringChars[j] = this._values[k];
-			j++;
-		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
-		
-		return substring;
+		return JSString.fromRange(this._values, from, to);
 	}
 	
 	public JSString substring(int start, int end)
@@ -868,16 +1647,7 @@ public class JSString extends JSObject implements IString<JSString>
 		int from = Math.min(finalStart, finalEnd);
 		int to = Math.max(finalStart, finalEnd);
 		
-		char[] substringChars = new char[to - from];
-		for (int k = from, j = 0; k < to; k++)
-		{
-			substringChars[j] = this._values[k];
-			j++;
-		}
-		JSString substring = new JSString();
-		substring._values = substringChars;
-		
-		return substring;
+		return JSString.fromRange(this._values, from, to);
 	}
 	
 	public JSString toLowerCase()
@@ -885,15 +1655,30 @@ public class JSString extends JSObject implements IString<JSString>
 		int len = this.length();
 		char[] newChars = new char[len];
 		
-		for (int k = 0; k < len; k++)
-		{
-			newChars[k] = Character.toLowerCase(this._values[k]);
-		}
+		int k = CharScan.toLowerCaseAscii(this._values, newChars, 0, len);
+		if (k == len) return new JSString(newChars);
 		
-		JSString result = new JSString();
-		result._values = newChars;
+		// a final sigma depends on the chars before it, so it needs the whole string
+		if (CharScan.indexOf(this._values, '\u03A3', k, len) != -1) k = 0;
 		
-		return result;
+		return JSString.withMappedCase(newChars, k, new String(this._values, k, len - k).toLowerCase(Locale.ROOT));
+	}
+	
+	/**
+	 * Returns a JSString of the first <code>k</code> chars of
+	 * <code>newChars</code>, followed by <code>mapped</code>.
+	 * <br/>
+	 * Full case mapping can change how many chars there are, for example
+	 * <code>"\u00DF"</code> upper cases to <code>"SS"</code>, so
+	 * <code>newChars</code> is only reused when the length stays the same.
+	 */
+	private static JSString withMappedCase(char[] newChars, int k, String mapped)
+	{
+		int mappedLength = mapped.length();
+		if (k + mappedLength != newChars.length) newChars = Arrays.copyOf(newChars, k + mappedLength);
+		
+		mapped.getChars(0, mappedLength, newChars, k);
+		return new JSString(newChars);
 	}
 	
 	/**
@@ -911,69 +1696,351 @@ public class JSString extends JSObject implements IString<JSString>
 		int len = this.length();
 		char[] newChars = new char[len];
 		
-		for (int k = 0; k < len; k++)
-		{
-			newChars[k] = Character.toUpperCase(this._values[k]);
-		}
+		int k = CharScan.toUpperCaseAscii(this._values, newChars, 0, len);
+		if (k == len) return new JSString(newChars);
 		
-		JSString result = new JSString();
-		result._values = newChars;
-		
-		return result;
+		return JSString.withMappedCase(newChars, k, new String(this._values, k, len - k).toUpperCase(Locale.ROOT));
 	}
 	
+	/**
+	 * Removes the white space and line terminators from both ends of this string
+	 * @return The trimmed string, or this string if there was nothing to trim
+	 */
 	public JSString trim()
 	{
-		int start = 0;
-		int len = this.length();
-		int end = len;
+		char[] values = this._values;
+		int len = values.length;
+		int start = JSString.skipWhiteSpace(values, 0, len);
+		int end = JSString.skipWhiteSpaceBackwards(values, start, len);
 		
-		for (; start < len; start++)
+		return start == 0 && end == len ? this : JSString.fromRange(values, start, end);
+	}
+	
+	/**
+	 * Removes the white space and line terminators from the start of this string
+	 * @return The trimmed string, or this string if there was nothing to trim
+	 */
+	public JSString trimStart()
+	{
+		int len = this._values.length;
+		int start = JSString.skipWhiteSpace(this._values, 0, len);
+		
+		return start == 0 ? this : JSString.fromRange(this._values, start, len);
+	}
+	
+	/**
+	 * Removes the white space and line terminators from the end of this string
+	 * @return The trimmed string, or this string if there was nothing to trim
+	 */
+	public JSString trimEnd()
+	{
+		int len = this._values.length;
+		int end = JSString.skipWhiteSpaceBackwards(this._values, 0, len);
+		
+		return end == len ? this : JSString.fromRange(this._values, 0, end);
+	}
+	
+	/**
+	 * Every ECMAScript WhiteSpace and LineTerminator char, as one bit per char
+	 */
+	private static final long[] WHITE_SPACE = new long[1 << 10];
+	
+	static
+	{
+		char[] whiteSpace = {
+			'\t', '\n', 0x0B, '\f', '\r', ' ', 0x00A0, 0x1680,
+			0x2000, 0x2001, 0x2002, 0x2003, 0x2004, 0x2005, 0x2006, 0x2007, 0x2008, 0x2009, 0x200A,
+			0x2028, 0x2029, 0x202F, 0x205F, 0x3000, 0xFEFF
+		};
+		for (char c : whiteSpace)
 		{
-			if (this._values[start] != ' ')
-				break;
+			WHITE_SPACE[c >>> 6] |= 1L << c;
 		}
-		
-		for (; end > 0; end--)
+	}
+	
+	/**
+	 * Returns whether <code>c</code> is an ECMAScript WhiteSpace or LineTerminator
+	 */
+	static boolean isWhiteSpace(char c)
+	{
+		// printable ASCII is the most common, and never white space
+		if (c > ' ' && c < 0x7F) return false;
+		return (WHITE_SPACE[c >>> 6] & (1L << c)) != 0;
+	}
+	
+	/**
+	 * Returns the first index in <code>[from, to)</code> that isn't white
+	 * space, or <code>to</code>
+	 */
+	private static int skipWhiteSpace(char[] values, int from, int to)
+	{
+		while (from < to && JSString.isWhiteSpace(values[from])) from++;
+		return from;
+	}
+	
+	/**
+	 * Returns the index after the last char in <code>[from, to)</code> that
+	 * isn't white space, or <code>from</code>
+	 */
+	private static int skipWhiteSpaceBackwards(char[] values, int from, int to)
+	{
+		while (to > from && JSString.isWhiteSpace(values[to - 1])) to--;
+		return to;
+	}
+	
+	@Override
+	public String valueOf()
+	{
+		String string = this._string;
+		if (string == null)
 		{
-			if (this._values[end - 1] != ' ')
-				break;
+			string = new String(this._values);
+			this._string = string;
 		}
-		
-		return this.substring(start, end);
+		return string;
 	}
 	
-	public JSString trimStart()
+	/**
+	 * Copies the chars of this string into a new array
+	 * @return A new array holding the chars of this string
+	 */
+	public char[] toCharArray()
 	{
-		for (int k = 0, len = this.length(); k < len; k++)
+		return Arrays.copyOf(this._values, this._values.length);
+	}
+	
+	/**
+	 * Copies the chars from <code>srcBegin</code> up to <code>srcEnd</code>
+	 * into <code>dst</code>, starting at <code>dstBegin</code>.
+	 * @param srcBegin The index of the first char to copy
+	 * @param srcEnd The index after the last char to copy
+	 * @param dst The array to copy into
+	 * @param dstBegin The index in <code>dst</code> to copy the first char to
+	 * @throws IndexOutOfBoundsException if any of the indices are out of range
+	 */
+	public void getChars(int srcBegin, int srcEnd, char[] dst, int dstBegin)
+	{
+		if (srcBegin < 0 || srcBegin > srcEnd || srcEnd > this._values.length)
+			throw new IndexOutOfBoundsException("begin " + srcBegin + ", end " + srcEnd + ", length " + this._values.length);
+		System.arraycopy(this._values, srcBegin, dst, dstBegin, srcEnd - srcBegin);
+	}
+	
+	/**
+	 * Gets a read-only <code>CharSequence</code> view of the chars of this
+	 * string, so it can be handed to an <code>Appendable</code>, a
+	 * <code>Pattern</code> or a <code>Writer</code> without being converted.
+	 * <br/>
+	 * JSString can't be a <code>CharSequence</code> itself, because its
+	 * {@link #charAt(int)} returns a JSString rather than a char.
+	 * @return This string as a <code>CharSequence</code>
+	 */
+	public CharSequence asCharSequence()
+	{
+		return new Chars(this, 0, this._values.length);
+	}
+	
+	/**
+	 * Creates a JSString with the same chars as <code>chars</code>, copying
+	 * them in bulk.
+	 * @param chars The chars
+	 * @return A JSString with the same chars as <code>chars</code>
+	 */
+	public static JSString wrap(CharSequence chars)
+	{
+		if (chars == null) return new JSString((String)null);
+		else if (chars instanceof String) return new JSString((String)chars);
+		else if (chars instanceof Chars)
 		{
-			if (this._values[k] != ' ')
-				return this.substring(k);
+			Chars view = (Chars)chars;
+			return view.from == 0 && view.to == view.string.length()
+					? view.string
+					: JSString.fromRange(view.string._values, view.from, view.to);
 		}
 		
-		return new JSString();
+		int len = chars.length();
+		char[] values = new char[len];
+		if (chars instanceof StringBuilder) ((StringBuilder)chars).getChars(0, len, values, 0);
+		else if (chars instanceof StringBuffer) ((StringBuffer)chars).getChars(0, len, values, 0);
+		else if (chars instanceof CharBuffer) ((CharBuffer)chars).duplicate().get(values);
+		else
+		{
+			for (int k = 0; k < len; k++)
+			{
+				values[k] = chars.charAt(k);
+			}
+		}
+		return new JSString(values);
 	}
 	
-	public JSString trimEnd()
+	/**
+	 * Creates a JSString from a copy of <code>chars</code>
+	 * @param chars The chars
+	 * @return A JSString with the same chars as <code>chars</code>
+	 */
+	public static JSString copyOf(char[] chars)
+	{
+		return JSString.copyOf(chars, 0, chars.length);
+	}
+	
+	/**
+	 * Creates a JSString from a copy of the chars of <code>chars</code> from
+	 * <code>from</code> up to <code>to</code>
+	 * @param chars The chars
+	 * @param from The index of the first char to copy
+	 * @param to The index after the last char to copy
+	 * @return A JSString with the chars in that range
+	 * @throws IndexOutOfBoundsException if <code>from</code> or <code>to</code> is out of range
+	 */
+	public static JSString copyOf(char[] chars, int from, int to)
+	{
+		if (from < 0 || from > to || to > chars.length)
+			throw new IndexOutOfBoundsException("from " + from + ", to " + to + ", length " + chars.length);
+		return JSString.fromRange(chars, from, to);
+	}
+	
+	/**
+	 * A <code>CharSequence</code> view of a range of a JSString's chars
+	 */
+	private static final class Chars implements CharSequence
 	{
-		for (int k = this.length(); k > 0; k--)
+		private final JSString string;
+		private final int from;
+		private final int to;
+		
+		Chars(JSString string, int from, int to)
+		{
+			this.string = string;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		public int length()
+		{
+			return this.to - this.from;
+		}
+		
+		@Override
+		public char charAt(int index)
+		{
+			if (index < 0 || index >= this.to - this.from)
+				throw new IndexOutOfBoundsException("index " + index + ", length " + (this.to - this.from));
+			return this.string._values[this.from + index];
+		}
+		
+		@Override
+		public CharSequence subSequence(int start, int end)
 		{
-			if (this._values[k - 1] != ' ')
-				return this.substring(0, k);
+			if (start < 0 || start > end || end > this.to - this.from)
+				throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + (this.to - this.from));
+			return new Chars(this.string, this.from + start, this.from + end);
 		}
 		
-		return new JSString();
+		@Override
+		public String toString()
+		{
+			if (this.from == 0 && this.to == this.string._values.length) return this.string.valueOf();
+			return new String(this.string._values, this.from, this.to - this.from);
+		}
+	}
+	
+	/**
+	 * Gets the chars backing this string, which must not be modified
+	 * @return The chars backing this string
+	 */
+	char[] getValues()
+	{
+		return this._values;
 	}
 	
+	/**
+	 * Returns whether <code>obj</code> is a JSString with the same chars as this one
+	 * @param obj The object to compare to
+	 * @return <code>true</code> if <code>obj</code> is an equal JSString
+	 */
 	@Override
-	public String valueOf()
+	public boolean equals(Object obj)
 	{
-		StringBuilder sb = new StringBuilder();
-		for (int index = 0, len = this.length(); index < len; index++)
+		if (obj == this) return true;
+		if (!(obj instanceof JSString)) return false;
+		
+		JSString that = (JSString)obj;
+		if (this._interned && that._interned) return false;
+		if (this._values.length != that._values.length) return false;
+		
+		// two computed hashes that differ can't be for the same chars
+		int hash = this._hash;
+		int thatHash = that._hash;
+		if (hash != 0 && thatHash != 0 && hash != thatHash) return false;
+		
+		return CharScan.mismatch(this._values, 0, that._values, 0, this._values.length) == -1;
+	}
+	
+	/**
+	 * Returns a hash code for this string, computed the same way as
+	 * {@link String#hashCode()} so it matches the hash of <code>toString()</code>.
+	 * The hash is only computed once.
+	 * @return A hash code for this string
+	 */
+	@Override
+	public int hashCode()
+	{
+		int hash = this._hash;
+		if (hash == 0)
 		{
-			sb.append(this._values[index]);
+			char[] values = this._values;
+			for (int k = 0, len = values.length; k < len; k++)
+			{
+				hash = 31 * hash + values[k];
+			}
+			this._hash = hash;
 		}
-		return sb.toString();
+		return hash;
+	}
+	
+	/**
+	 * Returns the canonical JSString with the same chars as this one, from a
+	 * table of interned strings. If there isn't one yet, this string becomes it.
+	 * <br/>
+	 * Two interned strings are equal only if they are the same object, and
+	 * the table only holds its strings weakly, so ones that are no longer used
+	 * are garbage collected.
+	 * @return The interned string with the same chars as this one
+	 */
+	public JSString intern()
+	{
+		if (this._interned) return this;
+		
+		JSString atom = AtomTable.intern(this);
+		if (atom == this) this._interned = true;
+		return atom;
+	}
+	
+	/**
+	 * Gets how well {@link #intern()} has been doing so far
+	 * @return A snapshot of the intern table's statistics
+	 */
+	public static InternStats internStats()
+	{
+		return AtomTable.stats();
+	}
+	
+	/**
+	 * Compares this string to <code>that</code> by the values of their chars,
+	 * the way the <code>&lt;</code> operator does.
+	 * @param that The string to compare to
+	 * @return A negative number, zero, or a positive number if this string is
+	 * less than, equal to, or greater than <code>that</code>
+	 */
+	@Override
+	public int compareTo(JSString that)
+	{
+		char[] a = this._values;
+		char[] b = that._values;
+		if (a == b) return 0;
+		
+		int i = CharScan.mismatch(a, 0, b, 0, Math.min(a.length, b.length));
+		return i == -1 ? a.length - b.length : a[i] - b[i];
 	}
 	
 	// because no operator overloading, will make static
@@ -981,17 +2048,7 @@ public class JSString extends JSObject implements IString<JSString>
 	
 	public boolean contentEquals(JSString string)
 	{
-		if (string == null) return false;
-		int stringSize = string.length();
-		int size = this.length();
-		
-		if (stringSize != size) return false;
-		
-		for (int k = 0; k < size; k++)
-		{
-			if (this._values[k] != string._values[k]) return false;
-		}
-		return true;
+		return this.equals(string);
 	}
 	
 	public boolean contentEquals(String string)
@@ -1014,13 +2071,9 @@ public class JSString extends JSObject implements IString<JSString>
 		int aSize = a.length();
 		int bSize = b.length();
 		char[] resultChars = Arrays.copyOf(a._values, aSize + bSize);
-		for (int k = 0; k < bSize; k++)
-		{
-			resultChars[k + aSize] = b._values[k];
-		}
+		System.arraycopy(b._values, 0, resultChars, aSize, bSize);
 		
-		JSString result = new JSString();
-		result._values = resultChars;
+		JSString result = new JSString(resultChars);
 		
 		return result;
 	}
@@ -0,0 +1,419 @@
+package javascript;
+
+import java.math.BigInteger;
+
+/**
+ * Parses numbers straight out of char buffers, for
+ * {@link Global#parseFloat(Object)}, {@link Global#parseInt(Object, int)},
+ * {@link JSNumber#toNumber(Object)} and {@link JSONReader}.
+ * <br/>
+ * Decimals are converted with Clinger's exact fast path when the digits
+ * and the power of ten are both small enough to be exact doubles, and
+ * otherwise with the Eisel-Lemire algorithm, which gets the correctly
+ * rounded double from a 128 bit product for all but a handful of inputs.
+ * Only those, and numbers with very many digits, fall back to
+ * <code>Double.parseDouble</code>. Nothing is allocated otherwise.
+ * @version 19th October, 2026
+ */
+final class NumberParser
+{
+	private NumberParser() {}
+	
+	private static final int MIN_EXP10 = -348;
+	private static final int MAX_EXP10 = 347;
+	
+	/**
+	 * The most decimal digits that always fit in a long, read as unsigned
+	 */
+	private static final int MAX_MANTISSA_DIGITS = 19;
+	
+	/**
+	 * The powers of ten that are exact as doubles
+	 */
+	private static final double[] EXACT_POWERS_OF_TEN = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+		1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+	
+	/**
+	 * For each power of ten from {@link #MIN_EXP10} to {@link #MAX_EXP10},
+	 * the high then low 64 bits of its mantissa to 128 bits, rounded down,
+	 * with the top bit set
+	 */
+	private static final long[] POWERS_OF_TEN = new long[(MAX_EXP10 - MIN_EXP10 + 1) << 1];
+	
+	static
+	{
+		BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		for (int q = MIN_EXP10; q <= MAX_EXP10; q++)
+		{
+			BigInteger pow = BigInteger.TEN.pow(Math.abs(q));
+			BigInteger mantissa;
+			if (q >= 0)
+			{
+				int shift = pow.bitLength() - 128;
+				mantissa = shift > 0 ? pow.shiftRight(shift) : pow.shiftLeft(-shift);
+			}
+			else mantissa = BigInteger.ONE.shiftLeft(127 + pow.bitLength()).divide(pow);
+			
+			POWERS_OF_TEN[(q - MIN_EXP10) << 1] = mantissa.shiftRight(64).longValue();
+			POWERS_OF_TEN[(q - MIN_EXP10) << 1 | 1] = mantissa.and(mask).longValue();
+		}
+	}
+	
+	/**
+	 * Gets the value of <code>c</code> as a digit in any radix up to 36, or
+	 * 36 if it isn't one
+	 */
+	static int digit(char c)
+	{
+		if (c >= '0' && c <= '9') return c - '0';
+		else if (c >= 'a' && c <= 'z') return c - 'a' + 10;
+		else if (c >= 'A' && c <= 'Z') return c - 'A' + 10;
+		else return 36;
+	}
+	
+	private static boolean isDecimalDigit(char c)
+	{
+		return c >= '0' && c <= '9';
+	}
+	
+	/**
+	 * Finds the end of the longest
+	 * <a href="https://tc39.es/ecma262/#prod-StrUnsignedDecimalLiteral">StrUnsignedDecimalLiteral</a>,
+	 * without <code>Infinity</code>, that starts at <code>from</code>
+	 * @return The index after the literal, or <code>from</code> if there is none
+	 */
+	static int scanDecimal(char[] s, int from, int to)
+	{
+		int i = from;
+		while (i < to && NumberParser.isDecimalDigit(s[i])) i++;
+		boolean hasDigits = i > from;
+		
+		if (i < to && s[i] == '.')
+		{
+			int fractionStart = i + 1;
+			int j = fractionStart;
+			while (j < to && NumberParser.isDecimalDigit(s[j])) j++;
+			
+			if (!hasDigits && j == fractionStart) return from;
+			hasDigits = true;
+			i = j;
+		}
+		if (!hasDigits) return from;
+		
+		if (i < to && (s[i] == 'e' || s[i] == 'E'))
+		{
+			int j = i + 1;
+			if (j < to && (s[j] == '+' || s[j] == '-')) j++;
+			
+			int exponentStart = j;
+			while (j < to && NumberParser.isDecimalDigit(s[j])) j++;
+			if (j > exponentStart) i = j;
+		}
+		return i;
+	}
+	
+	/**
+	 * Gets whether the chars in <code>[from, to)</code> are <code>Infinity</code>
+	 */
+	static boolean isInfinity(char[] s, int from, int to)
+	{
+		if (to - from < 8) return false;
+		return s[from] == 'I' && s[from + 1] == 'n' && s[from + 2] == 'f' && s[from + 3] == 'i'
+			&& s[from + 4] == 'n' && s[from + 5] == 'i' && s[from + 6] == 't' && s[from + 7] == 'y';
+	}
+	
+	/**
+	 * Converts the decimal literal in <code>[from, to)</code>, which must be
+	 * an optional sign and then a whole literal as {@link #scanDecimal(char[], int, int)}
+	 * finds, to the nearest double
+	 */
+	static double parseDecimal(char[] s, int from, int to)
+	{
+		int i = from;
+		boolean negative = false;
+		if (s[i] == '-' || s[i] == '+')
+		{
+			negative = s[i] == '-';
+			i++;
+		}
+		
+		long mantissa = 0;
+		int digits = 0;
+		int exp10 = 0;
+		boolean truncated = false;
+		
+		for (; i < to && NumberParser.isDecimalDigit(s[i]); i++)
+		{
+			int d = s[i] - '0';
+			if (digits < MAX_MANTISSA_DIGITS)
+			{
+				mantissa = mantissa * 10 + d;
+				if (mantissa != 0) digits++;
+			}
+			else
+			{
+				exp10++;
+				if (d != 0) truncated = true;
+			}
+		}
+		
+		if (i < to && s[i] == '.')
+		{
+			for (i++; i < to && NumberParser.isDecimalDigit(s[i]); i++)
+			{
+				int d = s[i] - '0';
+				if (digits < MAX_MANTISSA_DIGITS)
+				{
+					mantissa = mantissa * 10 + d;
+					if (mantissa != 0) digits++;
+					exp10--;
+				}
+				else if (d != 0) truncated = true;
+			}
+		}
+		
+		if (i < to && (s[i] == 'e' || s[i] == 'E'))
+		{
+			i++;
+			boolean negativeExponent = false;
+			if (s[i] == '+' || s[i] == '-')
+			{
+				negativeExponent = s[i] == '-';
+				i++;
+			}
+			
+			// anything this big is past the range of doubles either way
+			int exponent = 0;
+			for (; i < to; i++)
+			{
+				if (exponent < 100_000) exponent = exponent * 10 + (s[i] - '0');
+			}
+			exp10 += negativeExponent ? -exponent : exponent;
+		}
+		
+		double value = NumberParser.toDouble(mantissa, exp10, truncated);
+		if (value != value) return Double.parseDouble(new String(s, from, to - from));
+		return negative ? -value : value;
+	}
+	
+	/**
+	 * Gets the double nearest <code>mantissa 10^exp10</code>
+	 * @param truncated Whether digits after <code>mantissa</code> were left
+	 * out, so the exact value is a little more than it
+	 * @return The positive double, or <code>NaN</code> if it couldn't be
+	 * worked out quickly
+	 */
+	private static double toDouble(long mantissa, int exp10, boolean truncated)
+	{
+		if (mantissa == 0) return 0;
+		
+		// Clinger's fast path, where both factors and the result are exact
+		if (!truncated && (mantissa >>> 53) == 0 && exp10 >= -22 && exp10 <= 22)
+		{
+			return exp10 < 0 ? mantissa / EXACT_POWERS_OF_TEN[-exp10] : mantissa * EXACT_POWERS_OF_TEN[exp10];
+		}
+		
+		if (exp10 < -342) return 0;
+		if (exp10 > 308) return Double.POSITIVE_INFINITY;
+		
+		double value = NumberParser.eiselLemire(mantissa, exp10);
+		// the dropped digits only matter if they could round the other way
+		if (truncated && value == value && NumberParser.eiselLemire(mantissa + 1, exp10) != value) return Double.NaN;
+		return value;
+	}
+	
+	private static long unsignedMultiplyHigh(long x, long y)
+	{
+		long x1 = x >>> 32;
+		long x2 = x & 0xFFFFFFFFL;
+		long y1 = y >>> 32;
+		long y2 = y & 0xFFFFFFFFL;
+		
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = (t & 0xFFFFFFFFL) + x2 * y1;
+		
+		return x1 * y1 + (t >>> 32) + (z1 >>> 32);
+	}
+	
+	private static boolean unsignedLess(long a, long b)
+	{
+		return (a + Long.MIN_VALUE) < (b + Long.MIN_VALUE);
+	}
+	
+	/**
+	 * The Eisel-Lemire algorithm, as in Go's <code>strconv</code>
+	 * @return The nearest positive double to the nonzero
+	 * <code>mantissa 10^exp10</code>, or <code>NaN</code> if it can't be
+	 * told apart from its neighbour this way
+	 */
+	private static double eiselLemire(long mantissa, int exp10)
+	{
+		int clz = Long.numberOfLeadingZeros(mantissa);
+		long man = mantissa << clz;
+		long retExp2 = ((217706L * exp10) >> 16) + 64 + 1023 - clz;
+		
+		long powHi = POWERS_OF_TEN[(exp10 - MIN_EXP10) << 1];
+		long powLo = POWERS_OF_TEN[(exp10 - MIN_EXP10) << 1 | 1];
+		
+		long xHi = NumberParser.unsignedMultiplyHigh(man, powHi);
+		long xLo = man * powHi;
+		
+		// widen the approximation when the low bits are too close to call
+		if ((xHi & 0x1FF) == 0x1FF && NumberParser.unsignedLess(xLo + man, man))
+		{
+			long yHi = NumberParser.unsignedMultiplyHigh(man, powLo);
+			long yLo = man * powLo;
+			long mergedHi = xHi;
+			long mergedLo = xLo + yHi;
+			if (NumberParser.unsignedLess(mergedLo, xLo)) mergedHi++;
+			if ((mergedHi & 0x1FF) == 0x1FF && mergedLo + 1 == 0 && NumberParser.unsignedLess(yLo + man, man)) return Double.NaN;
+			
+			xHi = mergedHi;
+			xLo = mergedLo;
+		}
+		
+		long msb = xHi >>> 63;
+		long retMantissa = xHi >>> (msb + 9);
+		retExp2 -= 1 ^ msb;
+		
+		// exactly halfway between two doubles
+		if (xLo == 0 && (xHi & 0x1FF) == 0 && (retMantissa & 3) == 1) return Double.NaN;
+		
+		retMantissa += retMantissa & 1;
+		retMantissa >>>= 1;
+		if ((retMantissa >>> 53) > 0)
+		{
+			retMantissa >>>= 1;
+			retExp2++;
+		}
+		
+		// subnormals and infinities are left to the slow path
+		if (retExp2 <= 0 || retExp2 >= 0x7FF) return Double.NaN;
+		
+		return Double.longBitsToDouble(retExp2 << 52 | retMantissa & ((1L << 52) - 1));
+	}
+	
+	/**
+	 * Converts the digits in <code>[from, to)</code>, which must all be
+	 * valid in <code>radix</code>, to a double
+	 */
+	static double parseInteger(char[] s, int from, int to, int radix)
+	{
+		if (radix == 10) return NumberParser.parseDecimal(s, from, to);
+		
+		long value = 0;
+		long limit = Long.MAX_VALUE / radix;
+		for (int i = from; i < to; i++)
+		{
+			if (value > limit) return new BigInteger(new String(s, from, to - from), radix).doubleValue();
+			value = value * radix + NumberParser.digit(s[i]);
+			if (value < 0) return new BigInteger(new String(s, from, to - from), radix).doubleValue();
+		}
+		return value;
+	}
+	
+	private static int skipWhiteSpace(char[] s, int from, int to)
+	{
+		while (from < to && JSString.isWhiteSpace(s[from])) from++;
+		return from;
+	}
+	
+	/**
+	 * <a href="https://tc39.es/ecma262/#sec-stringtonumber">StringToNumber</a>
+	 */
+	static double toNumber(char[] s)
+	{
+		int from = NumberParser.skipWhiteSpace(s, 0, s.length);
+		int to = s.length;
+		while (to > from && JSString.isWhiteSpace(s[to - 1])) to--;
+		
+		if (from == to) return 0;
+		
+		// 0x, 0o and 0b integers, which can't have a sign
+		if (to - from > 2 && s[from] == '0')
+		{
+			char prefix = s[from + 1];
+			int radix = prefix == 'x' || prefix == 'X' ? 16
+				: prefix == 'o' || prefix == 'O' ? 8
+				: prefix == 'b' || prefix == 'B' ? 2 : 0;
+			
+			if (radix != 0)
+			{
+				for (int i = from + 2; i < to; i++)
+				{
+					if (NumberParser.digit(s[i]) >= radix) return Double.NaN;
+				}
+				return NumberParser.parseInteger(s, from + 2, to, radix);
+			}
+		}
+		
+		int start = from;
+		if (s[start] == '+' || s[start] == '-') start++;
+		
+		if (NumberParser.isInfinity(s, start, to) && to - start == 8)
+			return s[from] == '-' ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		
+		if (start == to || NumberParser.scanDecimal(s, start, to) != to) return Double.NaN;
+		return NumberParser.parseDecimal(s, from, to);
+	}
+	
+	/**
+	 * <a href="https://tc39.es/ecma262/#sec-parsefloat-string">parseFloat</a>
+	 */
+	static double parseFloat(char[] s)
+	{
+		int from = NumberParser.skipWhiteSpace(s, 0, s.length);
+		int to = s.length;
+		
+		int start = from;
+		if (start < to && (s[start] == '+' || s[start] == '-')) start++;
+		
+		if (NumberParser.isInfinity(s, start, to))
+			return start > from && s[from] == '-' ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+		
+		int end = NumberParser.scanDecimal(s, start, to);
+		if (end == start) return Double.NaN;
+		return NumberParser.parseDecimal(s, from, end);
+	}
+	
+	/**
+	 * <a href="https://tc39.es/ecma262/#sec-parseint-string-radix">parseInt</a>,
+	 * where a radix of 0 means 10, or 16 for strings starting with <code>0x</code>
+	 */
+	static double parseInt(char[] s, int radix)
+	{
+		int from = NumberParser.skipWhiteSpace(s, 0, s.length);
+		int to = s.length;
+		
+		boolean negative = false;
+		if (from < to && (s[from] == '+' || s[from] == '-'))
+		{
+			negative = s[from] == '-';
+			from++;
+		}
+		
+		boolean stripPrefix = true;
+		if (radix != 0)
+		{
+			if (radix < 2 || radix > 36) return Double.NaN;
+			if (radix != 16) stripPrefix = false;
+		}
+		else radix = 10;
+		
+		if (stripPrefix && to - from >= 2 && s[from] == '0' && (s[from + 1] == 'x' || s[from + 1] == 'X'))
+		{
+			from += 2;
+			radix = 16;
+		}
+		
+		int end = from;
+		while (end < to && NumberParser.digit(s[end]) < radix) end++;
+		if (end == from) return Double.NaN;
+		
+		double value = NumberParser.parseInteger(s, from, end, radix);
+		return negative ? -value : value;
+	}
+}
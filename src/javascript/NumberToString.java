@@ -0,0 +1,478 @@
+package javascript;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Formats numbers the way
+ * <a href="https://tc39.es/ecma262/#sec-numeric-types-number-tostring">Number::toString</a>
+ * does, such as <code>1</code> rather than <code>1.0</code> and
+ * <code>1e+21</code> rather than <code>1.0E21</code>, with the fewest
+ * digits that still read back as the same double.
+ * <br/>
+ * The digits come from Raffaello Giulietti's Schubfach algorithm, the one
+ * behind <code>Double.toString</code> since Java 19, and are written
+ * straight into a char buffer.
+ * @version 19th October, 2026
+ */
+final class NumberToString
+{
+	private NumberToString() {}
+	
+	/**
+	 * The most chars any number takes, as in <code>-0.0000012345678901234567</code>
+	 */
+	static final int MAX_CHARS = 25;
+	
+	private static final int P = 53;
+	private static final int Q_MIN = -1074;
+	private static final long C_MIN = 1L << (P - 1);
+	private static final long C_TINY = 3;
+	private static final int K_MIN = -324;
+	private static final int K_MAX = 292;
+	private static final long MASK_63 = (1L << 63) - 1;
+	
+	/**
+	 * The integers above this aren't all exactly representable, so they need
+	 * the shortest digits rather than all of them
+	 */
+	private static final double EXACT_INTEGER_LIMIT = 0x1.0p53;
+	
+	/**
+	 * For each <code>k</code> from {@link #K_MIN} to {@link #K_MAX}, the high
+	 * and low 63 bits of <code>g = floor(10^-k 2^-r) + 1</code>, where
+	 * <code>r</code> makes <code>2^125 &lt;= g &lt; 2^126</code>
+	 */
+	private static final long[] G = new long[(K_MAX - K_MIN + 1) << 1];
+	
+	static
+	{
+		BigInteger mask = BigInteger.ONE.shiftLeft(63).subtract(BigInteger.ONE);
+		for (int k = K_MIN; k <= K_MAX; k++)
+		{
+			int e = -k;
+			int r = NumberToString.flog2pow10(e) - 125;
+			BigInteger pow = BigInteger.TEN.pow(Math.abs(e));
+			
+			BigInteger beta;
+			if (e >= 0) beta = r <= 0 ? pow.shiftLeft(-r) : pow.shiftRight(r);
+			else beta = BigInteger.ONE.shiftLeft(-r).divide(pow);
+			
+			BigInteger g = beta.add(BigInteger.ONE);
+			G[(k - K_MIN) << 1] = g.shiftRight(63).longValue();
+			G[(k - K_MIN) << 1 | 1] = g.and(mask).longValue();
+		}
+	}
+	
+	private static int flog10pow2(int e)
+	{
+		return (int)(e * 661_971_961_083L >> 41);
+	}
+	
+	private static int flog10threeQuartersPow2(int e)
+	{
+		return (int)(e * 661_971_961_083L + -274_743_187_321L >> 41);
+	}
+	
+	private static int flog2pow10(int e)
+	{
+		return (int)(e * 913_124_641_741L >> 38);
+	}
+	
+	/**
+	 * The high 64 bits of the 128 bit product of <code>x</code> and
+	 * <code>y</code>, since <code>Math.multiplyHigh</code> needs Java 9
+	 */
+	private static long multiplyHigh(long x, long y)
+	{
+		long x1 = x >> 32;
+		long x2 = x & 0xFFFFFFFFL;
+		long y1 = y >> 32;
+		long y2 = y & 0xFFFFFFFFL;
+		
+		long z2 = x2 * y2;
+		long t = x1 * y2 + (z2 >>> 32);
+		long z1 = t & 0xFFFFFFFFL;
+		long z0 = t >> 32;
+		z1 += x2 * y1;
+		
+		return x1 * y1 + z0 + (z1 >> 32);
+	}
+	
+	/**
+	 * Rounds <code>g cp / 2^127</code> to odd
+	 */
+	private static long rop(long g1, long g0, long cp)
+	{
+		long x1 = NumberToString.multiplyHigh(g0, cp);
+		long y0 = g1 * cp;
+		long y1 = NumberToString.multiplyHigh(g1, cp);
+		long z = (y0 >>> 1) + x1;
+		long vbp = y1 + (z >>> 63);
+		return vbp | (z & MASK_63) + MASK_63 >>> 63;
+	}
+	
+	static String toString(double v)
+	{
+		char[] buffer = new char[MAX_CHARS];
+		return new String(buffer, 0, NumberToString.toChars(v, buffer, 0, false));
+	}
+	
+	static char[] toChars(double v)
+	{
+		return NumberToString.toChars(v, false);
+	}
+	
+	/**
+	 * Writes <code>v</code> into a new array of exactly the length it takes
+	 * @param exponential Whether to always use exponential notation, as
+	 * <code>toExponential()</code> with no digit count does
+	 */
+	private static char[] toChars(double v, boolean exponential)
+	{
+		if (v != v) return new char[] { 'N', 'a', 'N' };
+		else if (v == 0) return exponential ? new char[] { '0', 'e', '+', '0' } : new char[] { '0' };
+		else if (Double.isInfinite(v)) return (v > 0 ? "Infinity" : "-Infinity").toCharArray();
+		
+		int sign = v < 0 ? 1 : 0;
+		double a = Math.abs(v);
+		long f = NumberToString.significand(a);
+		int e = NumberToString.exponent(a);
+		while (f % 10 == 0)
+		{
+			f /= 10;
+			e++;
+		}
+		int k = NumberToString.digitCount(f);
+		
+		char[] chars = new char[sign + NumberToString.length(k, e + k, exponential)];
+		if (sign != 0) chars[0] = '-';
+		NumberToString.toChars(f, k, e + k, chars, sign, exponential);
+		return chars;
+	}
+	
+	/**
+	 * Writes <code>v</code> into <code>buffer</code> from <code>pos</code>,
+	 * which must leave room for {@link #MAX_CHARS} chars
+	 * @param exponential Whether to always use exponential notation, as
+	 * <code>toExponential()</code> with no digit count does
+	 * @return The position after the last char written
+	 */
+	static int toChars(double v, char[] buffer, int pos, boolean exponential)
+	{
+		if (v != v) return NumberToString.write("NaN", buffer, pos);
+		
+		if (v < 0)
+		{
+			buffer[pos++] = '-';
+			v = -v;
+		}
+		
+		if (v == 0) return exponential ? NumberToString.write("0e+0", buffer, pos) : NumberToString.write("0", buffer, pos);
+		else if (v == Double.POSITIVE_INFINITY) return NumberToString.write("Infinity", buffer, pos);
+		
+		long f = NumberToString.significand(v);
+		int e = NumberToString.exponent(v);
+		while (f % 10 == 0)
+		{
+			f /= 10;
+			e++;
+		}
+		int k = NumberToString.digitCount(f);
+		return NumberToString.toChars(f, k, e + k, buffer, pos, exponential);
+	}
+	
+	private static int write(String s, char[] buffer, int pos)
+	{
+		s.getChars(0, s.length(), buffer, pos);
+		return pos + s.length();
+	}
+	
+	/**
+	 * Gets the digits <code>f</code> of the shortest decimal
+	 * <code>f 10^e</code> that reads back as the positive finite <code>v</code>,
+	 * where <code>e</code> is {@link #exponent(double)}
+	 */
+	private static long significand(double v)
+	{
+		if (v < EXACT_INTEGER_LIMIT && v == (long)v) return (long)v;
+		
+		long bits = Double.doubleToRawLongBits(v);
+		long t = bits & (C_MIN - 1);
+		int bq = (int)(bits >>> (P - 1));
+		
+		if (bq != 0) return NumberToString.toDecimal(bq - 1075, C_MIN | t);
+		
+		// the two smallest subnormals are too small for the algorithm, and
+		// unlike Java, JavaScript writes them with a single digit
+		if (t < C_TINY) return t == 1 ? 5 : 1;
+		return NumberToString.toDecimal(Q_MIN, t);
+	}
+	
+	/**
+	 * Gets the exponent <code>e</code> that goes with {@link #significand(double)}
+	 */
+	private static int exponent(double v)
+	{
+		if (v < EXACT_INTEGER_LIMIT && v == (long)v) return 0;
+		
+		long bits = Double.doubleToRawLongBits(v);
+		long t = bits & (C_MIN - 1);
+		int bq = (int)(bits >>> (P - 1));
+		
+		if (bq != 0) return NumberToString.exponent(bq - 1075, C_MIN | t);
+		if (t < C_TINY) return t == 1 ? -324 : -323;
+		return NumberToString.exponent(Q_MIN, t);
+	}
+	
+	/**
+	 * Gets the exponent <code>k</code> of the decimal that
+	 * {@link #toDecimal(int, long)} finds for <code>c 2^q</code>
+	 */
+	private static int exponent(int q, long c)
+	{
+		if (c != C_MIN | q == Q_MIN) return NumberToString.flog10pow2(q);
+		else return NumberToString.flog10threeQuartersPow2(q);
+	}
+	
+	/**
+	 * Finds the digits <code>f</code> of the shortest decimal
+	 * <code>f 10^k</code> that rounds to <code>c 2^q</code>, picking the
+	 * closest one if there are several, where <code>k</code> is
+	 * {@link #exponent(int, long)}
+	 */
+	private static long toDecimal(int q, long c)
+	{
+		int out = (int)c & 0x1;
+		long cb = c << 2;
+		long cbr = cb + 2;
+		long cbl = c != C_MIN | q == Q_MIN ? cb - 2 : cb - 1;
+		int k = NumberToString.exponent(q, c);
+		int h = q + NumberToString.flog2pow10(-k) + 2;
+		
+		long g1 = G[(k - K_MIN) << 1];
+		long g0 = G[(k - K_MIN) << 1 | 1];
+		
+		long vb = NumberToString.rop(g1, g0, cb << h);
+		long vbl = NumberToString.rop(g1, g0, cbl << h);
+		long vbr = NumberToString.rop(g1, g0, cbr << h);
+		
+		long s = vb >> 2;
+		if (s >= 100)
+		{
+			// try one digit fewer first
+			long sp10 = 10 * NumberToString.multiplyHigh(s, 115_292_150_460_684_698L << 4);
+			long tp10 = sp10 + 10;
+			boolean upin = vbl + out <= sp10 << 2;
+			boolean wpin = (tp10 << 2) + out <= vbr;
+			if (upin != wpin) return upin ? sp10 : tp10;
+		}
+		
+		long t = s + 1;
+		boolean uin = vbl + out <= s << 2;
+		boolean win = (t << 2) + out <= vbr;
+		if (uin != win) return uin ? s : t;
+		
+		long cmp = vb - (s + t << 1);
+		return cmp < 0 || cmp == 0 && (s & 0x1) == 0 ? s : t;
+	}
+	
+	private static int digitCount(long f)
+	{
+		int k = 0;
+		for (long rest = f; rest != 0; rest /= 10)
+		{
+			k++;
+		}
+		return k;
+	}
+	
+	/**
+	 * Writes the <code>k</code> digits of <code>f</code> as the value
+	 * <code>0.d1d2...dk 10^n</code>, the way Number::toString lays it out.
+	 * The digits go straight into <code>buffer</code> and are moved into
+	 * place there, so nothing else is allocated.
+	 */
+	private static int toChars(long f, int k, int n, char[] buffer, int pos, boolean exponential)
+	{
+		for (int i = pos + k - 1; i >= pos; i--)
+		{
+			buffer[i] = (char)('0' + f % 10);
+			f /= 10;
+		}
+		return NumberToString.layout(buffer, pos, k, n, buffer, pos, exponential);
+	}
+	
+	/**
+	 * Gets the number of chars {@link #layout} writes for <code>k</code>
+	 * digits with the decimal point at <code>n</code>
+	 */
+	private static int length(int k, int n, boolean exponential)
+	{
+		if (!exponential && k <= n && n <= 21) return n;
+		else if (!exponential && 0 < n && n <= 21) return k + 1;
+		else if (!exponential && -6 < n && n <= 0) return 2 - n + k;
+		
+		int exponent = Math.abs(n - 1);
+		return (k > 1 ? k + 1 : k) + 2 + (exponent >= 100 ? 3 : exponent >= 10 ? 2 : 1);
+	}
+	
+	/**
+	 * Lays out the value <code>0.d1d2...dk 10^n</code>, where the digits
+	 * start at <code>from</code> in <code>digits</code>. They may already be
+	 * at <code>pos</code> in <code>buffer</code>, since each case moves them
+	 * before writing over them.
+	 */
+	private static int layout(char[] digits, int from, int k, int n, char[] buffer, int pos, boolean exponential)
+	{
+		if (!exponential && k <= n && n <= 21)
+		{
+			System.arraycopy(digits, from, buffer, pos, k);
+			pos += k;
+			for (int i = k; i < n; i++)
+			{
+				buffer[pos++] = '0';
+			}
+		}
+		else if (!exponential && 0 < n && n <= 21)
+		{
+			System.arraycopy(digits, from + n, buffer, pos + n + 1, k - n);
+			System.arraycopy(digits, from, buffer, pos, n);
+			buffer[pos + n] = '.';
+			pos += k + 1;
+		}
+		else if (!exponential && -6 < n && n <= 0)
+		{
+			System.arraycopy(digits, from, buffer, pos + 2 - n, k);
+			buffer[pos++] = '0';
+			buffer[pos++] = '.';
+			for (int i = n; i < 0; i++)
+			{
+				buffer[pos++] = '0';
+			}
+			pos += k;
+		}
+		else
+		{
+			if (k > 1)
+			{
+				System.arraycopy(digits, from + 1, buffer, pos + 2, k - 1);
+				buffer[pos + 1] = '.';
+			}
+			buffer[pos] = digits[from];
+			pos += k > 1 ? k + 1 : 1;
+			
+			int exponent = n - 1;
+			buffer[pos++] = 'e';
+			buffer[pos++] = exponent < 0 ? '-' : '+';
+			exponent = Math.abs(exponent);
+			if (exponent >= 100) buffer[pos++] = (char)('0' + exponent / 100);
+			if (exponent >= 10) buffer[pos++] = (char)('0' + exponent / 10 % 10);
+			buffer[pos++] = (char)('0' + exponent % 10);
+		}
+		return pos;
+	}
+	
+	/**
+	 * Rounds the magnitude of <code>x</code> to <code>precision</code>
+	 * significant digits, with halves rounded up
+	 */
+	private static BigDecimal round(double x, int precision)
+	{
+		return new BigDecimal(Math.abs(x)).round(new MathContext(precision, RoundingMode.HALF_UP));
+	}
+	
+	/**
+	 * Gets the digits of <code>rounded</code>, padded with zeros to <code>precision</code>
+	 */
+	private static char[] digitsOf(BigDecimal rounded, int precision)
+	{
+		String unscaled = rounded.unscaledValue().toString();
+		char[] digits = Arrays.copyOf(unscaled.toCharArray(), precision);
+		Arrays.fill(digits, unscaled.length(), precision, '0');
+		return digits;
+	}
+	
+	/**
+	 * Gets the decimal exponent of the first digit of <code>rounded</code>
+	 */
+	private static int exponentOf(BigDecimal rounded)
+	{
+		return rounded.unscaledValue().toString().length() - 1 - rounded.scale();
+	}
+	
+	static JSString toFixed(double x, int fractionDigits)
+	{
+		if (x != x || Double.isInfinite(x) || Math.abs(x) >= 1e21) return JSString.adopt(NumberToString.toChars(x));
+		
+		String digits = new BigDecimal(Math.abs(x)).setScale(fractionDigits, RoundingMode.HALF_UP).toPlainString();
+		return new JSString(x < 0 ? "-" + digits : digits);
+	}
+	
+	static JSString toExponential(double x)
+	{
+		if (x != x || Double.isInfinite(x)) return JSString.adopt(NumberToString.toChars(x));
+		
+		return JSString.adopt(NumberToString.toChars(x, true));
+	}
+	
+	static JSString toExponential(double x, int fractionDigits)
+	{
+		if (x != x || Double.isInfinite(x)) return JSString.adopt(NumberToString.toChars(x));
+		
+		int precision = fractionDigits + 1;
+		BigDecimal rounded = NumberToString.round(x, precision);
+		char[] digits = NumberToString.digitsOf(rounded, precision);
+		int exponent = NumberToString.exponentOf(rounded);
+		
+		char[] buffer = new char[precision + 8];
+		int pos = 0;
+		if (x < 0) buffer[pos++] = '-';
+		pos = NumberToString.layout(digits, 0, precision, exponent + 1, buffer, pos, true);
+		return JSString.adopt(Arrays.copyOf(buffer, pos));
+	}
+	
+	static JSString toPrecision(double x, int precision)
+	{
+		if (x != x || Double.isInfinite(x)) return JSString.adopt(NumberToString.toChars(x));
+		
+		BigDecimal rounded = NumberToString.round(x, precision);
+		char[] digits = NumberToString.digitsOf(rounded, precision);
+		int exponent = NumberToString.exponentOf(rounded);
+		
+		char[] buffer = new char[precision + 16];
+		int pos = 0;
+		if (x < 0) buffer[pos++] = '-';
+		
+		if (exponent < -6 || exponent >= precision)
+		{
+			pos = NumberToString.layout(digits, 0, precision, exponent + 1, buffer, pos, true);
+		}
+		else if (exponent >= 0)
+		{
+			System.arraycopy(digits, 0, buffer, pos, exponent + 1);
+			pos += exponent + 1;
+			if (exponent + 1 < precision)
+			{
+				buffer[pos++] = '.';
+				System.arraycopy(digits, exponent + 1, buffer, pos, precision - exponent - 1);
+				pos += precision - exponent - 1;
+			}
+		}
+		else
+		{
+			buffer[pos++] = '0';
+			buffer[pos++] = '.';
+			for (int i = exponent + 1; i < 0; i++)
+			{
+				buffer[pos++] = '0';
+			}
+			System.arraycopy(digits, 0, buffer, pos, precision);
+			pos += precision;
+		}
+		return JSString.adopt(Arrays.copyOf(buffer, pos));
+	}
+}
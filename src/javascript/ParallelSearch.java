@@ -0,0 +1,199 @@
+package javascript;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Searches and splits the chars of very large strings in chunks on the
+ * common ForkJoinPool, stitching the chunk results back together in order
+ * so they are the same as the sequential results.
+ * @version 19th October, 2026
+ */
+final class ParallelSearch
+{
+	private ParallelSearch() {}
+	
+	/**
+	 * Strings with fewer chars than this are always handled sequentially
+	 */
+	static final int THRESHOLD = 1 << 18;
+	
+	/**
+	 * The fewest chars a single chunk covers
+	 */
+	static final int MIN_CHUNK_SIZE = 1 << 16;
+	
+	private static int chunkCount(int length)
+	{
+		int parallelism = ForkJoinPool.getCommonPoolParallelism();
+		return Math.max(1, Math.min(parallelism * 4, length / MIN_CHUNK_SIZE));
+	}
+	
+	private static boolean isParallel(int length)
+	{
+		return length >= THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1;
+	}
+	
+	/**
+	 * Returns the first index at or after <code>from</code> at which
+	 * <code>R</code> occurs inside <code>S</code>, or <code>-1</code>.
+	 * <code>R</code> must not be empty.
+	 */
+	static int indexOf(char[] S, char[] R, int from)
+	{
+		int s = S.length;
+		int r = R.length;
+		int span = s - from;
+		
+		if (!isParallel(span))
+			return r == 1 ? JSString.indexOf(S, R[0], from, s) : JSString.indexOf(S, R, from, s);
+		
+		int chunks = chunkCount(span);
+		int chunkSize = (span + chunks - 1) / chunks;
+		AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+		
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+		for (int i = 0; i < chunks; i++)
+		{
+			int chunkStart = from + i * chunkSize;
+			int chunkEnd = Math.min(chunkStart + chunkSize, s);
+			
+			tasks[i] = ForkJoinTask.adapt(() ->
+			{
+				// an earlier chunk already has a match, so this one can't win
+				if (found.get() < chunkStart) return;
+				
+				int q = r == 1
+					? JSString.indexOf(S, R[0], chunkStart, chunkEnd)
+					: JSString.indexOf(S, R, chunkStart, Math.min(chunkEnd + r - 1, s));
+				if (q != -1) found.accumulateAndGet(q, Math::min);
+			});
+		}
+		ForkJoinTask.invokeAll(tasks);
+		
+		int result = found.get();
+		return result == Integer.MAX_VALUE ? -1 : result;
+	}
+	
+	/**
+	 * Splits <code>S</code> on every occurrence of <code>R</code>, the same
+	 * way as {@link JSString#splitValues(JSString, char[], int)} with no limit.
+	 * <br/>
+	 * Chunks are aligned on separator boundaries by only splitting in
+	 * parallel when no two occurrences of <code>R</code> can overlap. Then every
+	 * occurrence belongs to the chunk it starts in, and the pieces are just
+	 * the chars between consecutive occurrences.
+	 */
+	static JSArray split(JSString S, char[] R)
+	{
+		char[] values = S.getValues();
+		int s = values.length;
+		int r = R.length;
+		
+		if (r == 0 || !isParallel(s) || ParallelSearch.hasBorder(R))
+			return JSString.splitValues(S, R, Integer.MAX_VALUE);
+		
+		int chunks = chunkCount(s);
+		int chunkSize = (s + chunks - 1) / chunks;
+		int[][] occurrences = new int[chunks][];
+		int[] counts = new int[chunks];
+		
+		// find where every occurrence starts
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[chunks];
+		for (int i = 0; i < chunks; i++)
+		{
+			int chunk = i;
+			int chunkStart = i * chunkSize;
+			int chunkEnd = Math.min(chunkStart + chunkSize, s);
+			
+			tasks[i] = ForkJoinTask.adapt(() ->
+			{
+				int[] found = new int[16];
+				int count = 0;
+				int to = Math.min(chunkEnd + r - 1, s);
+				
+				int q = r == 1 ? JSString.indexOf(values, R[0], chunkStart, to) : JSString.indexOf(values, R, chunkStart, to);
+				while (q != -1)
+				{
+					if (count == found.length) found = Arrays.copyOf(found, count << 1);
+					found[count] = q;
+					count++;
+					
+					q = r == 1 ? JSString.indexOf(values, R[0], q + 1, to) : JSString.indexOf(values, R, q + r, to);
+				}
+				
+				occurrences[chunk] = found;
+				counts[chunk] = count;
+			});
+		}
+		ForkJoinTask.invokeAll(tasks);
+		
+		// work out where each chunk's pieces go, and where its first piece starts
+		int[] offsets = new int[chunks];
+		int[] pieceStarts = new int[chunks];
+		int total = 0;
+		int pieceStart = 0;
+		for (int i = 0; i < chunks; i++)
+		{
+			offsets[i] = total;
+			pieceStarts[i] = pieceStart;
+			
+			int count = counts[i];
+			if (count > 0)
+			{
+				total += count;
+				pieceStart = occurrences[i][count - 1] + r;
+			}
+		}
+		
+		if (total == 0) return new JSArray(S);
+		
+		Object[] pieces = new Object[total + 1];
+		
+		// copy the pieces out
+		for (int i = 0; i < chunks; i++)
+		{
+			int chunk = i;
+			
+			tasks[i] = ForkJoinTask.adapt(() ->
+			{
+				int[] found = occurrences[chunk];
+				int offset = offsets[chunk];
+				int p = pieceStarts[chunk];
+				
+				for (int j = 0, count = counts[chunk]; j < count; j++)
+				{
+					int q = found[j];
+					pieces[offset + j] = JSString.fromRange(values, p, q);
+					p = q + r;
+				}
+			});
+		}
+		ForkJoinTask.invokeAll(tasks);
+		
+		pieces[total] = JSString.fromRange(values, pieceStart, s);
+		return JSArray.adopt(pieces, total + 1);
+	}
+	
+	/**
+	 * Returns whether some proper prefix of <code>R</code> is also a suffix
+	 * of it, which is exactly when two occurrences of <code>R</code> can overlap.
+	 */
+	static boolean hasBorder(char[] R)
+	{
+		int r = R.length;
+		int[] failure = new int[r];
+		int k = 0;
+		
+		for (int i = 1; i < r; i++)
+		{
+			while (k > 0 && R[i] != R[k]) k = failure[k - 1];
+			if (R[i] == R[k]) k++;
+			failure[i] = k;
+		}
+		
+		return r > 0 && failure[r - 1] > 0;
+	}
+}
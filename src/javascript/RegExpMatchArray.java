@@ -0,0 +1,144 @@
+package javascript;
+
+import javascript.interfaces.*;
+
+/**
+ * The result of matching a {@link JSRegExp} against a string. Only the
+ * offsets of the match and its capture groups are kept, each substring is
+ * created when it is asked for.
+ * @version 19th October, 2026
+ */
+public class RegExpMatchArray extends JSObject implements ArrayLike
+{
+	/**
+	 * The index in {@link #input} the match starts at
+	 */
+	public final int index;
+	
+	/**
+	 * The string that was matched against
+	 */
+	public final JSString input;
+	
+	/**
+	 * The start and end of the match, then of every capture group.
+	 * Groups that did not participate in the match are <code>-1</code>.
+	 */
+	private final int[] _offsets;
+	
+	/**
+	 * The name of each group, by group number
+	 */
+	private final String[] _names;
+	
+	RegExpMatchArray(JSString input, int[] offsets, String[] names)
+	{
+		this.index = offsets[0];
+		this.input = input;
+		this._offsets = offsets;
+		this._names = names;
+	}
+	
+	/**
+	 * Gets the number of items in this result, which is one more than
+	 * the number of capture groups
+	 * @return The number of items in this result
+	 */
+	public int length()
+	{
+		return this._offsets.length >> 1;
+	}
+	
+	/**
+	 * Gets the matched substring at <code>index</code> 0, or the substring
+	 * captured by group <code>index</code>.
+	 * @param index The group number
+	 * @return The captured substring, or {@link Global.undefined} if the
+	 * group does not exist or did not participate in the match
+	 */
+	public Object get(int index)
+	{
+		if (index < 0 || index >= this.length()) return Global.undefined;
+		int start = this._offsets[index << 1];
+		if (start == -1) return Global.undefined;
+		return JSString.fromRange(this.input.getValues(), start, this._offsets[(index << 1) + 1]);
+	}
+	
+	/**
+	 * Gets the substring captured by the group named <code>name</code>.
+	 * @param name The group name
+	 * @return The captured substring, or {@link Global.undefined} if there
+	 * is no such group or it did not participate in the match
+	 */
+	public Object group(String name)
+	{
+		int group = this.groupIndex(name);
+		return group == -1 ? Global.undefined : this.get(group);
+	}
+	
+	/**
+	 * Gets the index the group <code>group</code> starts at
+	 * @param group The group number
+	 * @return The start index, or <code>-1</code> if the group did not
+	 * participate in the match
+	 */
+	public int start(int group)
+	{
+		if (group < 0 || group >= this.length()) return -1;
+		return this._offsets[group << 1];
+	}
+	
+	/**
+	 * Gets the exclusive index the group <code>group</code> ends at
+	 * @param group The group number
+	 * @return The end index, or <code>-1</code> if the group did not
+	 * participate in the match
+	 */
+	public int end(int group)
+	{
+		if (group < 0 || group >= this.length()) return -1;
+		return this._offsets[(group << 1) + 1];
+	}
+	
+	int groupIndex(String name)
+	{
+		if (name == null || this._names == null) return -1;
+		for (int k = 1, len = this._names.length; k < len; k++)
+		{
+			if (name.equals(this._names[k])) return k;
+		}
+		return -1;
+	}
+	
+	int[] getOffsets()
+	{
+		return this._offsets;
+	}
+	
+	String[] getNames()
+	{
+		return this._names;
+	}
+	
+	public JSArray slice(int start, int end)
+	{
+		int len = this.length();
+		int k = start < 0 ? Math.max(len + start, 0) : Math.min(start, len);
+		int fin = end < 0 ? Math.max(len + end, 0) : Math.min(end, len);
+		
+		int count = Math.max(fin - k, 0);
+		Object[] items = new Object[count];
+		for (int j = 0; j < count; j++)
+		{
+			items[j] = this.get(k + j);
+		}
+		
+		return JSArray.adopt(items, count);
+	}
+	
+	@Override
+	public String toString()
+	{
+		return this.slice(0, this.length()).toString();
+	}
+}
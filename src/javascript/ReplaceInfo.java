@@ -0,0 +1,52 @@
+package javascript;
+
+/**
+ * The information passed to a replacer function by
+ * {@link JSString#replace(JSRegExp, java.util.function.Function)} and friends
+ * @version 19th October, 2026
+ */
+public class ReplaceInfo
+{
+	/**
+	 * The matched substring
+	 */
+	public final JSString match;
+	
+	/**
+	 * The substrings captured by each capture group, with
+	 * {@link Global.undefined} for groups that did not participate
+	 */
+	public final JSArray captures;
+	
+	/**
+	 * The index in {@link #string} the match starts at
+	 */
+	public final int position;
+	
+	/**
+	 * The string being searched
+	 */
+	public final JSString string;
+	
+	private final RegExpMatchArray result;
+	
+	ReplaceInfo(JSString match, JSArray captures, int position, JSString string, RegExpMatchArray result)
+	{
+		this.match = match;
+		this.captures = captures;
+		this.position = position;
+		this.string = string;
+		this.result = result;
+	}
+	
+	/**
+	 * Gets the substring captured by the group named <code>name</code>.
+	 * @param name The group name
+	 * @return The captured substring, or {@link Global.undefined} if there
+	 * is no such group or it did not participate in the match
+	 */
+	public Object group(String name)
+	{
+		return this.result == null ? Global.undefined : this.result.group(name);
+	}
+}
@@ -0,0 +1,71 @@
+package javascript;
+
+/**
+ * The plain loop versions of the {@link CharScan} kernels, which work on
+ * every Java version.
+ * @version 19th October, 2026
+ */
+final class ScalarCharScan
+{
+	private ScalarCharScan() {}
+	
+	static int indexOf(char[] a, char c, int from, int to)
+	{
+		for (int k = from; k < to; k++)
+		{
+			if (a[k] == c) return k;
+		}
+		return -1;
+	}
+	
+	static int indexOfSurrogate(char[] a, int from, int to)
+	{
+		for (int k = from; k < to; k++)
+		{
+			// chars below 0xD800 wrap around to large values
+			if ((char)(a[k] - 0xD800) < 0x800) return k;
+		}
+		return -1;
+	}
+	
+	static int mismatch(char[] a, int aFrom, char[] b, int bFrom, int length)
+	{
+		int k = 0;
+		
+		// compare 4 chars per step, then find the one that differs
+		for (int max = length - 3; k < max; k += 4)
+		{
+			if (a[aFrom + k] != b[bFrom + k] || a[aFrom + k + 1] != b[bFrom + k + 1]
+					|| a[aFrom + k + 2] != b[bFrom + k + 2] || a[aFrom + k + 3] != b[bFrom + k + 3])
+				break;
+		}
+		
+		for (; k < length; k++)
+		{
+			if (a[aFrom + k] != b[bFrom + k]) return k;
+		}
+		return -1;
+	}
+	
+	static int toLowerCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		for (int k = from; k < to; k++)
+		{
+			char c = src[k];
+			if (c >= 0x80) return k;
+			dst[k] = c >= 'A' && c <= 'Z' ? (char)(c + 32) : c;
+		}
+		return to;
+	}
+	
+	static int toUpperCaseAscii(char[] src, char[] dst, int from, int to)
+	{
+		for (int k = from; k < to; k++)
+		{
+			char c = src[k];
+			if (c >= 0x80) return k;
+			dst[k] = c >= 'a' && c <= 'z' ? (char)(c - 32) : c;
+		}
+		return to;
+	}
+}
@@ -0,0 +1,58 @@
+package javascript;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An optional cache of short strings, so the pieces that come up over
+ * and over when splitting, like field names and small numbers, can share
+ * one JSString.
+ * <br/>
+ * It is off unless the <code>javascript.smallStringCache</code> system
+ * property is <code>true</code>. Each string goes in a single slot picked
+ * by its hash, and replaces whatever was there, so the cache never grows
+ * and needs no locking.
+ * @version 19th October, 2026
+ */
+final class SmallStringCache
+{
+	private SmallStringCache() {}
+	
+	static final boolean ENABLED = Boolean.getBoolean("javascript.smallStringCache");
+	
+	/**
+	 * The longest string that is cached
+	 */
+	static final int MAX_LENGTH = 8;
+	
+	private static final int SIZE = 1 << 12;
+	
+	private static final AtomicReferenceArray<JSString> slots = new AtomicReferenceArray<>(ENABLED ? SIZE : 0);
+	
+	/**
+	 * Gets a JSString with the chars of <code>values</code> in
+	 * <code>[from, to)</code>, reusing the cached one if it has the same
+	 * chars. <code>to - from</code> must be at most {@link #MAX_LENGTH}.
+	 */
+	static JSString get(char[] values, int from, int to)
+	{
+		int hash = 0;
+		for (int k = from; k < to; k++)
+		{
+			hash = 31 * hash + values[k];
+		}
+		
+		int slot = (hash ^ (hash >>> 16)) & (SIZE - 1);
+		JSString cached = slots.get(slot);
+		if (cached != null)
+		{
+			char[] cachedValues = cached.getValues();
+			if (cachedValues.length == to - from && CharScan.mismatch(cachedValues, 0, values, from, to - from) == -1)
+				return cached;
+		}
+		
+		JSString string = JSString.adopt(Arrays.copyOfRange(values, from, to));
+		slots.set(slot, string);
+		return string;
+	}
+}
@@ -0,0 +1,223 @@
+package javascript;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Reads one value in the {@link Snapshot} format, through a direct buffer
+ * @version 19th October, 2026
+ */
+final class SnapshotReader
+{
+	/**
+	 * The most items an array or object reserves room for before any of
+	 * them are read, so a corrupt length can't reserve much up front
+	 */
+	private static final int MAX_PRESIZE = 1 << 16;
+	
+	private final FileChannel _channel;
+	private final ByteBuffer _buffer = ByteBuffer.allocateDirect(SnapshotWriter.BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	
+	private JSString[] _strings;
+	private final ArrayList<Object> _objects = new ArrayList<>();
+	
+	SnapshotReader(FileChannel channel)
+	{
+		this._channel = channel;
+		this._buffer.limit(0);
+	}
+	
+	Object read() throws IOException
+	{
+		this.ensure(Snapshot.MAGIC.length + 2);
+		for (byte b : Snapshot.MAGIC)
+		{
+			if (this._buffer.get() != b) throw new StreamCorruptedException("Not a snapshot");
+		}
+		
+		int version = this._buffer.get() & 0xFF;
+		if (version > Snapshot.VERSION) throw new StreamCorruptedException("Unsupported snapshot version " + version);
+		this._buffer.get();
+		
+		int count = this.readVarInt();
+		this.checkCount(count, 1, "String table");
+		this._strings = new JSString[count];
+		for (int i = 0; i < count; i++)
+		{
+			this._strings[i] = this.readString();
+		}
+		
+		return this.readValue();
+	}
+	
+	/**
+	 * Makes sure at least <code>count</code> bytes, which must be no more
+	 * than the buffer holds, are ready to read
+	 */
+	private void ensure(int count) throws IOException
+	{
+		if (this._buffer.remaining() >= count) return;
+		
+		this._buffer.compact();
+		while (this._buffer.position() < count)
+		{
+			if (this._channel.read(this._buffer) == -1)
+			{
+				this._buffer.flip();
+				throw new EOFException("Snapshot ends early");
+			}
+		}
+		this._buffer.flip();
+	}
+	
+	/**
+	 * Checks that <code>count</code> things of at least <code>bytesEach</code>
+	 * bytes each can still fit in the rest of the snapshot, so that a corrupt
+	 * length fails here rather than in an allocation
+	 */
+	private void checkCount(long count, int bytesEach, String what) throws IOException
+	{
+		long remaining = this._channel.size() - this._channel.position() + this._buffer.remaining();
+		if (count < 0 || count > remaining / bytesEach)
+			throw new StreamCorruptedException(what + " is longer than the rest of the snapshot: " + count);
+	}
+	
+	private byte readByte() throws IOException
+	{
+		this.ensure(1);
+		return this._buffer.get();
+	}
+	
+	private long readVarLong() throws IOException
+	{
+		long value = 0;
+		for (int shift = 0; shift < 64; shift += 7)
+		{
+			byte b = this.readByte();
+			value |= (long)(b & 0x7F) << shift;
+			if (b >= 0) return value;
+		}
+		throw new StreamCorruptedException("Malformed varint");
+	}
+	
+	private int readVarInt() throws IOException
+	{
+		long value = this.readVarLong();
+		if (value < 0 || value > Integer.MAX_VALUE) throw new StreamCorruptedException("Count out of range: " + value);
+		return (int)value;
+	}
+	
+	private static long unzigzag(long value)
+	{
+		return (value >>> 1) ^ -(value & 1);
+	}
+	
+	private JSString readString() throws IOException
+	{
+		long header = this.readVarLong();
+		boolean latin1 = (header & 1) == 0;
+		long length = header >>> 1;
+		if (length > Integer.MAX_VALUE) throw new StreamCorruptedException("String too long: " + length);
+		this.checkCount(length, latin1 ? 1 : 2, "String");
+		
+		char[] values = new char[(int)length];
+		int i = 0;
+		while (i < values.length)
+		{
+			this.ensure(latin1 ? 1 : 2);
+			
+			if (latin1)
+			{
+				int end = Math.min(values.length, i + this._buffer.remaining());
+				for (; i < end; i++)
+				{
+					values[i] = (char)(this._buffer.get() & 0xFF);
+				}
+			}
+			else
+			{
+				int count = Math.min(values.length - i, this._buffer.remaining() >> 1);
+				this._buffer.asCharBuffer().get(values, i, count);
+				this._buffer.position(this._buffer.position() + (count << 1));
+				i += count;
+			}
+		}
+		
+		return values.length == 1 ? JSString.forChar(values[0]) : JSString.adopt(values);
+	}
+	
+	private JSString readStringReference() throws IOException
+	{
+		int id = this.readVarInt();
+		if (id >= this._strings.length) throw new StreamCorruptedException("No string " + id);
+		return this._strings[id];
+	}
+	
+	private Object readValue() throws IOException
+	{
+		byte tag = this.readByte();
+		switch (tag)
+		{
+			case Snapshot.TAG_NULL: return null;
+			case Snapshot.TAG_UNDEFINED: return Global.undefined;
+			case Snapshot.TAG_FALSE: return false;
+			case Snapshot.TAG_TRUE: return true;
+			case Snapshot.TAG_INT: return (int)SnapshotReader.unzigzag(this.readVarLong());
+			case Snapshot.TAG_LONG: return SnapshotReader.unzigzag(this.readVarLong());
+			case Snapshot.TAG_INTEGRAL_DOUBLE: return (double)SnapshotReader.unzigzag(this.readVarLong());
+			case Snapshot.TAG_DOUBLE:
+				this.ensure(8);
+				return this._buffer.getDouble();
+			case Snapshot.TAG_STRING: return this.readStringReference();
+			case Snapshot.TAG_ARRAY: return this.readArray();
+			case Snapshot.TAG_OBJECT: return this.readObject();
+			case Snapshot.TAG_REFERENCE:
+				int id = this.readVarInt();
+				if (id >= this._objects.size()) throw new StreamCorruptedException("No array or object " + id);
+				return this._objects.get(id);
+			default:
+				throw new StreamCorruptedException("Unknown tag " + tag);
+		}
+	}
+	
+	private JSArray readArray() throws IOException
+	{
+		int length = this.readVarInt();
+		this.checkCount(length, 1, "Array");
+		
+		// registered before its items are read, so items can refer back to it
+		JSArray array = new JSArray();
+		this._objects.add(array);
+		
+		Object[] items = new Object[Math.min(length, MAX_PRESIZE)];
+		for (int i = 0; i < length; i++)
+		{
+			if (i == items.length) items = Arrays.copyOf(items, (int)Math.min(length, (long)i << 1));
+			items[i] = this.readValue();
+		}
+		array.setValues(items, length);
+		return array;
+	}
+	
+	private JSPlainObject readObject() throws IOException
+	{
+		int size = this.readVarInt();
+		this.checkCount(size, 2, "Object");
+		
+		JSPlainObject obj = new JSPlainObject(Math.min(size, MAX_PRESIZE));
+		this._objects.add(obj);
+		
+		for (int i = 0; i < size; i++)
+		{
+			JSString key = this.readStringReference();
+			obj.set(key, this.readValue());
+		}
+		return obj;
+	}
+}
@@ -0,0 +1,239 @@
+package javascript;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Writes one value in the {@link Snapshot} format, through a direct buffer.
+ * <br/>
+ * The value is walked twice: once to gather every string into the
+ * dictionary, which is written first, and once to write the value itself.
+ * @version 19th October, 2026
+ */
+final class SnapshotWriter
+{
+	static final int BUFFER_SIZE = 1 << 18;
+	
+	private final FileChannel _channel;
+	private final ByteBuffer _buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+	
+	private final HashMap<JSString, Integer> _stringIds = new HashMap<>();
+	private final ArrayList<JSString> _strings = new ArrayList<>();
+	private final IdentityHashMap<Object, Integer> _objectIds = new IdentityHashMap<>();
+	
+	SnapshotWriter(FileChannel channel)
+	{
+		this._channel = channel;
+	}
+	
+	void write(Object value) throws IOException
+	{
+		this.collectStrings(value, new IdentityHashMap<>());
+		
+		this._buffer.put(Snapshot.MAGIC).put((byte)Snapshot.VERSION).put((byte)0);
+		
+		this.writeVarInt(this._strings.size());
+		for (JSString string : this._strings)
+		{
+			this.writeString(string.getValues());
+		}
+		
+		this.writeValue(value);
+		this.flush();
+	}
+	
+	private void addString(JSString string)
+	{
+		if (this._stringIds.putIfAbsent(string, this._strings.size()) == null)
+			this._strings.add(string);
+	}
+	
+	private void collectStrings(Object value, IdentityHashMap<Object, Boolean> visited)
+	{
+		if (value instanceof JSString || value instanceof CharSequence || value instanceof Character)
+		{
+			this.addString(AbstractOps.toString(value));
+		}
+		else if (value instanceof JSArray)
+		{
+			if (visited.put(value, Boolean.TRUE) != null) return;
+			
+			JSArray array = (JSArray)value;
+			for (int i = 0, length = array.length(); i < length; i++)
+			{
+				this.collectStrings(array.get(i), visited);
+			}
+		}
+		else if (value instanceof JSPlainObject)
+		{
+			if (visited.put(value, Boolean.TRUE) != null) return;
+			
+			for (Map.Entry<JSString, Object> property : ((JSPlainObject)value).properties())
+			{
+				this.addString(property.getKey());
+				this.collectStrings(property.getValue(), visited);
+			}
+		}
+	}
+	
+	private void flush() throws IOException
+	{
+		this._buffer.flip();
+		while (this._buffer.hasRemaining())
+		{
+			this._channel.write(this._buffer);
+		}
+		this._buffer.clear();
+	}
+	
+	private void ensure(int count) throws IOException
+	{
+		if (this._buffer.remaining() < count) this.flush();
+	}
+	
+	private void writeTag(byte tag) throws IOException
+	{
+		this.ensure(1);
+		this._buffer.put(tag);
+	}
+	
+	private void writeVarInt(int value) throws IOException
+	{
+		this.writeVarLong(value & 0xFFFFFFFFL);
+	}
+	
+	private void writeVarLong(long value) throws IOException
+	{
+		this.ensure(10);
+		while ((value & ~0x7FL) != 0)
+		{
+			this._buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		this._buffer.put((byte)value);
+	}
+	
+	private static long zigzag(long value)
+	{
+		return (value << 1) ^ (value >> 63);
+	}
+	
+	private static boolean isLatin1(char[] values)
+	{
+		for (char c : values)
+		{
+			if (c > 0xFF) return false;
+		}
+		return true;
+	}
+	
+	private void writeString(char[] values) throws IOException
+	{
+		boolean latin1 = SnapshotWriter.isLatin1(values);
+		this.writeVarLong(((long)values.length << 1) | (latin1 ? 0 : 1));
+		
+		int i = 0;
+		while (i < values.length)
+		{
+			if (!this._buffer.hasRemaining() || (!latin1 && this._buffer.remaining() < 2)) this.flush();
+			
+			if (latin1)
+			{
+				int end = Math.min(values.length, i + this._buffer.remaining());
+				for (; i < end; i++)
+				{
+					this._buffer.put((byte)values[i]);
+				}
+			}
+			else
+			{
+				int count = Math.min(values.length - i, this._buffer.remaining() >> 1);
+				this._buffer.asCharBuffer().put(values, i, count);
+				this._buffer.position(this._buffer.position() + (count << 1));
+				i += count;
+			}
+		}
+	}
+	
+	private void writeValue(Object value) throws IOException
+	{
+		if (value == null) this.writeTag(Snapshot.TAG_NULL);
+		else if (value instanceof JSUndefined) this.writeTag(Snapshot.TAG_UNDEFINED);
+		else if (value instanceof Boolean) this.writeTag((Boolean)value ? Snapshot.TAG_TRUE : Snapshot.TAG_FALSE);
+		else if (value instanceof Integer || value instanceof Short || value instanceof Byte)
+		{
+			this.writeTag(Snapshot.TAG_INT);
+			this.writeVarLong(SnapshotWriter.zigzag(((Number)value).intValue()));
+		}
+		else if (value instanceof Long)
+		{
+			this.writeTag(Snapshot.TAG_LONG);
+			this.writeVarLong(SnapshotWriter.zigzag((Long)value));
+		}
+		else if (value instanceof Double || value instanceof Float)
+		{
+			double d = ((Number)value).doubleValue();
+			long l = (long)d;
+			if (l == d && Math.abs(l) < (1L << 53) && (l != 0 || Double.doubleToRawLongBits(d) == 0))
+			{
+				this.writeTag(Snapshot.TAG_INTEGRAL_DOUBLE);
+				this.writeVarLong(SnapshotWriter.zigzag(l));
+			}
+			else
+			{
+				this.ensure(9);
+				this._buffer.put(Snapshot.TAG_DOUBLE).putDouble(d);
+			}
+		}
+		else if (value instanceof JSString || value instanceof CharSequence || value instanceof Character)
+		{
+			this.writeTag(Snapshot.TAG_STRING);
+			this.writeVarInt(this._stringIds.get(AbstractOps.toString(value)));
+		}
+		else if (value instanceof JSArray || value instanceof JSPlainObject)
+		{
+			Integer id = this._objectIds.get(value);
+			if (id != null)
+			{
+				this.writeTag(Snapshot.TAG_REFERENCE);
+				this.writeVarInt(id);
+				return;
+			}
+			this._objectIds.put(value, this._objectIds.size());
+			
+			if (value instanceof JSArray) this.writeArray((JSArray)value);
+			else this.writeObject((JSPlainObject)value);
+		}
+		else throw new IllegalArgumentException("A " + value.getClass().getName() + " can't be written to a snapshot");
+	}
+	
+	private void writeArray(JSArray array) throws IOException
+	{
+		int length = array.length();
+		this.writeTag(Snapshot.TAG_ARRAY);
+		this.writeVarInt(length);
+		
+		for (int i = 0; i < length; i++)
+		{
+			this.writeValue(array.get(i));
+		}
+	}
+	
+	private void writeObject(JSPlainObject obj) throws IOException
+	{
+		this.writeTag(Snapshot.TAG_OBJECT);
+		this.writeVarInt(obj.size());
+		
+		for (Map.Entry<JSString, Object> property : obj.properties())
+		{
+			this.writeVarInt(this._stringIds.get(property.getKey()));
+			this.writeValue(property.getValue());
+		}
+	}
+}
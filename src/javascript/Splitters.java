@@ -0,0 +1,457 @@
+package javascript;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javascript.interfaces.*;
+
+/**
+ * Precompiled {@link Splitter} implementations for {@link JSString}.
+ * <br/>
+ * Every splitter is compiled once when it is created, holds no state
+ * between calls and may be shared between threads. Pass one to
+ * {@link JSString#split(Object, int)} or {@link JSString#splitIterator(Object, int)}
+ * in place of a separator.
+ * @version 19th October, 2026
+ */
+public final class Splitters
+{
+	private Splitters() {}
+	
+	private static final Splitter<JSString> WHITESPACE = new WhitespaceSplitter();
+	private static final Splitter<JSString> LINES = new LineSplitter();
+	private static final Splitter<JSString> CSV = new CsvSplitter(',');
+	
+	/**
+	 * Returns a splitter that splits on every occurrence of any char in
+	 * <code>chars</code>.
+	 * @param chars The separator chars
+	 * @return A splitter that splits on any char in <code>chars</code>
+	 * @throws IllegalArgumentException if <code>chars</code> is null or empty
+	 */
+	public static Splitter<JSString> charSet(char ...chars)
+	{
+		if (chars == null || chars.length == 0)
+			throw new IllegalArgumentException("'chars' may not be 'null' or empty");
+		return new CharSetSplitter(chars);
+	}
+	
+	/**
+	 * Returns a splitter that splits on every occurrence of any char in
+	 * the string representation of <code>chars</code>.
+	 * @param chars The separator chars
+	 * @return A splitter that splits on any char in <code>chars</code>
+	 * @throws IllegalArgumentException if <code>chars</code> is empty
+	 */
+	public static Splitter<JSString> charSet(Object chars)
+	{
+		JSString C = chars instanceof JSString ? (JSString)chars : new JSString(chars);
+		return Splitters.charSet(C.toCharArray());
+	}
+	
+	/**
+	 * Returns a splitter that splits on runs of ECMAScript white space and
+	 * line terminators. Leading and trailing white space is skipped, so no
+	 * empty pieces are ever produced.
+	 * @return A splitter that splits on runs of white space
+	 */
+	public static Splitter<JSString> whitespace()
+	{
+		return WHITESPACE;
+	}
+	
+	/**
+	 * Returns a splitter that splits on every occurrence of any of the
+	 * string representations of <code>separators</code>. When more than one
+	 * separator matches at the same position, the longest one is used.
+	 * @param separators The separators
+	 * @return A splitter that splits on any of <code>separators</code>
+	 * @throws IllegalArgumentException if no separators are given, or one of
+	 * them is empty
+	 */
+	public static Splitter<JSString> literals(Object ...separators)
+	{
+		if (separators == null || separators.length == 0)
+			throw new IllegalArgumentException("'separators' may not be 'null' or empty");
+		
+		int len = separators.length;
+		char[][] literals = new char[len][];
+		for (int k = 0; k < len; k++)
+		{
+			Object separator = separators[k];
+			JSString R = separator instanceof JSString ? (JSString)separator : new JSString(separator);
+			if (R.length() == 0)
+				throw new IllegalArgumentException("A separator may not be empty");
+			literals[k] = R.toCharArray();
+		}
+		return new LiteralsSplitter(literals);
+	}
+	
+	/**
+	 * Returns a splitter that splits one CSV record into its fields on
+	 * <code>','</code>. Delimiters inside double quotes are ignored, and quoted
+	 * fields are unquoted, with <code>""</code> read as a single <code>"</code>.
+	 * @return A splitter for comma separated records
+	 */
+	public static Splitter<JSString> csv()
+	{
+		return CSV;
+	}
+	
+	/**
+	 * Returns a splitter that splits one CSV record into its fields on
+	 * <code>delimiter</code>. Delimiters inside double quotes are ignored, and
+	 * quoted fields are unquoted, with <code>""</code> read as a single <code>"</code>.
+	 * @param delimiter The field delimiter
+	 * @return A splitter for records separated by <code>delimiter</code>
+	 * @throws IllegalArgumentException if <code>delimiter</code> is <code>'"'</code>
+	 */
+	public static Splitter<JSString> csv(char delimiter)
+	{
+		if (delimiter == '"') throw new IllegalArgumentException("'delimiter' may not be '\"'");
+		return delimiter == ',' ? CSV : new CsvSplitter(delimiter);
+	}
+	
+	/**
+	 * Returns a splitter that splits on <code>"\r\n"</code>, <code>'\r'</code>
+	 * and <code>'\n'</code>. Like {@link JSString#split(Object)}, a trailing line
+	 * terminator produces a trailing empty piece.
+	 * @return A splitter that splits lines
+	 */
+	public static Splitter<JSString> lines()
+	{
+		return LINES;
+	}
+	
+	/**
+	 * The base of every splitter in this class. Implementors only find the
+	 * next piece, the array and iterator are built from that.
+	 */
+	private static abstract class StringSplitter implements Splitter<JSString>
+	{
+		public boolean canSplit(Object obj)
+		{
+			return obj instanceof JSString;
+		}
+		
+		/**
+		 * Finds the piece of <code>S</code> starting at <code>cursor[0]</code>,
+		 * moving <code>cursor[0]</code> past the piece and the separator after it.
+		 * <code>cursor[0]</code> is set to <code>-1</code> once the last piece is found.
+		 * @param S The string being split
+		 * @param values The chars of <code>S</code>
+		 * @param cursor The position to find the next piece at
+		 * @return The next piece, or <code>null</code> if there are no more pieces
+		 */
+		abstract JSString next(JSString S, char[] values, int[] cursor);
+		
+		public JSArray split(JSString objToSplit, int limit)
+		{
+			if (limit == 0) return new JSArray();
+			
+			char[] values = objToSplit.getValues();
+			int[] cursor = new int[1];
+			Object[] pieces = new Object[16];
+			int lengthA = 0;
+			
+			while (cursor[0] != -1)
+			{
+				JSString T = this.next(objToSplit, values, cursor);
+				if (T == null) break;
+				
+				if (lengthA == pieces.length) pieces = Arrays.copyOf(pieces, lengthA << 1);
+				pieces[lengthA] = T;
+				lengthA++;
+				if (lengthA == limit) break;
+			}
+			
+			return JSArray.adopt(pieces, lengthA);
+		}
+		
+		@Override
+		public Iterator<Object> splitIterator(JSString objToSplit, int limit)
+		{
+			return new PieceIterator(this, objToSplit, limit);
+		}
+	}
+	
+	private static final class PieceIterator implements Iterator<Object>
+	{
+		private final StringSplitter splitter;
+		private final JSString string;
+		private final char[] values;
+		private final int limit;
+		private final int[] cursor;
+		private JSString pending;
+		private int count;
+		
+		PieceIterator(StringSplitter splitter, JSString string, int limit)
+		{
+			this.splitter = splitter;
+			this.string = string;
+			this.values = string.getValues();
+			this.limit = limit;
+			this.cursor = new int[1];
+			this.pending = limit == 0 ? null : splitter.next(string, this.values, this.cursor);
+		}
+		
+		public boolean hasNext()
+		{
+			return this.pending != null;
+		}
+		
+		public Object next()
+		{
+			JSString T = this.pending;
+			if (T == null)
+				throw new NoSuchElementException("No more pieces exist in the string");
+			
+			this.count++;
+			this.pending = this.count == this.limit || this.cursor[0] == -1
+				? null
+				: this.splitter.next(this.string, this.values, this.cursor);
+			return T;
+		}
+	}
+	
+	private static final class CharSetSplitter extends StringSplitter
+	{
+		private final boolean[] latin1;
+		private final char[] others;
+		
+		CharSetSplitter(char[] chars)
+		{
+			this.latin1 = new boolean[256];
+			char[] others = new char[chars.length];
+			int otherCount = 0;
+			
+			for (char c : chars)
+			{
+				if (c < 256) this.latin1[c] = true;
+				else
+				{
+					others[otherCount] = c;
+					otherCount++;
+				}
+			}
+			
+			this.others = Arrays.copyOf(others, otherCount);
+			Arrays.sort(this.others);
+		}
+		
+		JSString next(JSString S, char[] values, int[] cursor)
+		{
+			int p = cursor[0];
+			int s = values.length;
+			
+			for (int q = p; q < s; q++)
+			{
+				char c = values[q];
+				if (c < 256 ? this.latin1[c] : Arrays.binarySearch(this.others, c) >= 0)
+				{
+					cursor[0] = q + 1;
+					return JSString.fromRange(values, p, q);
+				}
+			}
+			
+			cursor[0] = -1;
+			return p == 0 ? S : JSString.fromRange(values, p, s);
+		}
+	}
+	
+	private static final class WhitespaceSplitter extends StringSplitter
+	{
+		JSString next(JSString S, char[] values, int[] cursor)
+		{
+			int p = cursor[0];
+			int s = values.length;
+			
+			while (p < s && JSString.isWhiteSpace(values[p])) p++;
+			if (p == s)
+			{
+				cursor[0] = -1;
+				return null;
+			}
+			
+			int q = p + 1;
+			while (q < s && !JSString.isWhiteSpace(values[q])) q++;
+			
+			cursor[0] = q == s ? -1 : q;
+			return p == 0 && q == s ? S : JSString.fromRange(values, p, q);
+		}
+	}
+	
+	private static final class LiteralsSplitter extends StringSplitter
+	{
+		/**
+		 * The separators starting with each Latin-1 char, longest first
+		 */
+		private final char[][][] latin1;
+		
+		/**
+		 * The separators starting outside of Latin-1, longest first
+		 */
+		private final char[][] others;
+		
+		LiteralsSplitter(char[][] literals)
+		{
+			char[][] sorted = Arrays.copyOf(literals, literals.length);
+			Arrays.sort(sorted, (a, b) -> b.length - a.length);
+			
+			this.latin1 = new char[256][][];
+			char[][] others = new char[sorted.length][];
+			int otherCount = 0;
+			
+			for (char[] literal : sorted)
+			{
+				char first = literal[0];
+				if (first < 256)
+				{
+					char[][] bucket = this.latin1[first];
+					if (bucket == null) bucket = new char[][] { literal };
+					else
+					{
+						bucket = Arrays.copyOf(bucket, bucket.length + 1);
+						bucket[bucket.length - 1] = literal;
+					}
+					this.latin1[first] = bucket;
+				}
+				else
+				{
+					others[otherCount] = literal;
+					otherCount++;
+				}
+			}
+			
+			this.others = Arrays.copyOf(others, otherCount);
+		}
+		
+		JSString next(JSString S, char[] values, int[] cursor)
+		{
+			int p = cursor[0];
+			int s = values.length;
+			
+			for (int q = p; q < s; q++)
+			{
+				char c = values[q];
+				char[][] candidates = c < 256 ? this.latin1[c] : this.others;
+				if (candidates == null) continue;
+				
+				for (char[] R : candidates)
+				{
+					int r = R.length;
+					if (R[0] != c || q + r > s) continue;
+					
+					int i = 1;
+					while (i < r && values[q + i] == R[i]) i++;
+					if (i == r)
+					{
+						cursor[0] = q + r;
+						return JSString.fromRange(values, p, q);
+					}
+				}
+			}
+			
+			cursor[0] = -1;
+			return p == 0 ? S : JSString.fromRange(values, p, s);
+		}
+	}
+	
+	private static final class LineSplitter extends StringSplitter
+	{
+		JSString next(JSString S, char[] values, int[] cursor)
+		{
+			int p = cursor[0];
+			int s = values.length;
+			
+			for (int q = p; q < s; q++)
+			{
+				char c = values[q];
+				if (c == '\n')
+				{
+					cursor[0] = q + 1;
+					return JSString.fromRange(values, p, q);
+				}
+				else if (c == '\r')
+				{
+					cursor[0] = q + 1 < s && values[q + 1] == '\n' ? q + 2 : q + 1;
+					return JSString.fromRange(values, p, q);
+				}
+			}
+			
+			cursor[0] = -1;
+			return p == 0 ? S : JSString.fromRange(values, p, s);
+		}
+	}
+	
+	private static final class CsvSplitter extends StringSplitter
+	{
+		private final char delimiter;
+		
+		CsvSplitter(char delimiter)
+		{
+			this.delimiter = delimiter;
+		}
+		
+		JSString next(JSString S, char[] values, int[] cursor)
+		{
+			int p = cursor[0];
+			int s = values.length;
+			char delimiter = this.delimiter;
+			
+			if (p == s || values[p] != '"')
+			{
+				int q = JSString.indexOf(values, delimiter, p, s);
+				if (q == -1)
+				{
+					cursor[0] = -1;
+					return p == 0 ? S : JSString.fromRange(values, p, s);
+				}
+				
+				cursor[0] = q + 1;
+				return JSString.fromRange(values, p, q);
+			}
+			
+			// a quoted field, only copy through a buffer once an escaped quote shows up
+			int start = p + 1;
+			int q = start;
+			char[] buffer = null;
+			int bufferLength = 0;
+			
+			while (q < s)
+			{
+				if (values[q] != '"')
+				{
+					q++;
+					continue;
+				}
+				
+				if (q + 1 < s && values[q + 1] == '"')
+				{
+					if (buffer == null) buffer = new char[s - start];
+					int count = q + 1 - start;
+					System.arraycopy(values, start, buffer, bufferLength, count);
+					bufferLength += count;
+					q += 2;
+					start = q;
+				}
+				else break;
+			}
+			
+			JSString T;
+			if (buffer == null) T = JSString.fromRange(values, start, q);
+			else
+			{
+				int count = q - start;
+				System.arraycopy(values, start, buffer, bufferLength, count);
+				T = JSString.fromRange(buffer, 0, bufferLength + count);
+			}
+			
+			// anything between the closing quote and the delimiter is dropped
+			int end = JSString.indexOf(values, delimiter, Math.min(q + 1, s), s);
+			cursor[0] = end == -1 ? -1 : end + 1;
+			return T;
+		}
+	}
+}
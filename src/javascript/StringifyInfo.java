@@ -0,0 +1,32 @@
+package javascript;
+
+/**
+ * The information passed to a replacer function by
+ * {@link JSON#stringify(Object, java.util.function.Function, Object)} and friends
+ * @version 19th October, 2026
+ */
+public class StringifyInfo
+{
+	/**
+	 * The name of the property being serialized, which is the index for
+	 * array items and the empty string for the value passed to stringify
+	 */
+	public final JSString key;
+	
+	/**
+	 * The value of the property
+	 */
+	public final Object value;
+	
+	/**
+	 * The object or array the property belongs to
+	 */
+	public final Object holder;
+	
+	StringifyInfo(JSString key, Object value, Object holder)
+	{
+		this.key = key;
+		this.value = value;
+		this.holder = holder;
+	}
+}
@@ -0,0 +1,253 @@
+package javascript;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Deep copies values for {@link Global#structuredClone(Object)}.
+ * <br/>
+ * Every array, object and buffer that has been copied is remembered in an
+ * {@link IdentityTable}, so one that appears more than once, or inside
+ * itself, is copied once and shared the same way in the copy. Each thread
+ * keeps its cloner, and so its table, for the next clone.
+ * @version 19th October, 2026
+ */
+final class StructuredCloner
+{
+	private static final ThreadLocal<StructuredCloner> CLONERS = ThreadLocal.withInitial(StructuredCloner::new);
+	
+	private static final ClassValue<FieldCopier> FIELD_COPIERS = new ClassValue<FieldCopier>()
+	{
+		@Override
+		protected FieldCopier computeValue(Class<?> type)
+		{
+			return FieldCopier.forClass(type);
+		}
+	};
+	
+	/**
+	 * Creates an instance of a class and copies its public instance fields over
+	 */
+	private static final class FieldCopier
+	{
+		private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+		private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+		
+		/**
+		 * The no-argument constructor, or <code>null</code> if the class can't be cloned
+		 */
+		final MethodHandle constructor;
+		final MethodHandle[] getters;
+		final MethodHandle[] setters;
+		
+		private FieldCopier(MethodHandle constructor, MethodHandle[] getters, MethodHandle[] setters)
+		{
+			this.constructor = constructor;
+			this.getters = getters;
+			this.setters = setters;
+		}
+		
+		static FieldCopier forClass(Class<?> type)
+		{
+			MethodHandles.Lookup lookup = MethodHandles.lookup();
+			MethodHandle constructor;
+			try
+			{
+				Constructor<?> ctor = type.getDeclaredConstructor();
+				ctor.setAccessible(true);
+				constructor = lookup.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+			}
+			catch (NoSuchMethodException | IllegalAccessException | RuntimeException e)
+			{
+				return new FieldCopier(null, null, null);
+			}
+			
+			ArrayList<MethodHandle> getters = new ArrayList<>();
+			ArrayList<MethodHandle> setters = new ArrayList<>();
+			for (Field field : type.getFields())
+			{
+				if (Modifier.isStatic(field.getModifiers())) continue;
+				
+				try
+				{
+					field.setAccessible(true);
+					getters.add(lookup.unreflectGetter(field).asType(GETTER_TYPE));
+					setters.add(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+				}
+				catch (IllegalAccessException | RuntimeException e)
+				{
+					return new FieldCopier(null, null, null);
+				}
+			}
+			
+			return new FieldCopier(constructor,
+					getters.toArray(new MethodHandle[getters.size()]),
+					setters.toArray(new MethodHandle[setters.size()]));
+		}
+	}
+	
+	private final IdentityTable _copies = new IdentityTable();
+	private boolean _busy;
+	
+	private StructuredCloner() {}
+	
+	static Object clone(Object value)
+	{
+		if (StructuredCloner.isShared(value)) return value;
+		
+		StructuredCloner cloner = CLONERS.get();
+		// a constructor run while cloning may clone something itself
+		if (cloner._busy) cloner = new StructuredCloner();
+		
+		cloner._busy = true;
+		try
+		{
+			return cloner.copy(value);
+		}
+		finally
+		{
+			cloner._copies.clear();
+			cloner._busy = false;
+		}
+	}
+	
+	/**
+	 * Gets whether <code>value</code> can't change, so the copy can use it as is
+	 */
+	private static boolean isShared(Object value)
+	{
+		return value == null
+			|| value instanceof JSString
+			|| value instanceof JSUndefined
+			|| value instanceof Boolean
+			|| value instanceof Number
+			|| value instanceof JSBigInt
+			|| value instanceof Character
+			|| value instanceof String
+			|| value instanceof RegExpMatchArray
+			|| value instanceof JSCollator;
+	}
+	
+	/**
+	 * Finishes copying <code>original</code>, which is the original of
+	 * <code>copy</code>. If the original is frozen and none of its children
+	 * had to be copied, nothing reachable from it can change, so it is
+	 * shared instead. Otherwise the copy is frozen too, since freezing
+	 * is shallow and the children were copied.
+	 * @param changed Whether any child of the copy isn't the original child
+	 * @return The value to use in the copy
+	 */
+	private Object finish(JSObject original, JSObject copy, boolean changed)
+	{
+		if (!JSObject.isFrozen(original)) return copy;
+		
+		if (changed) return JSObject.freeze(copy);
+		
+		this._copies.put(original, original);
+		return original;
+	}
+	
+	private Object copy(Object value)
+	{
+		if (StructuredCloner.isShared(value)) return value;
+		
+		Object copy = this._copies.get(value);
+		if (copy != null) return copy;
+		
+		if (value instanceof JSArray) return this.copyArray((JSArray)value);
+		else if (value instanceof JSPlainObject) return this.copyObject((JSPlainObject)value);
+		else if (value instanceof JSRegExp) copy = JSObject.isFrozen((JSRegExp)value) ? value : new JSRegExp(value);
+		else if (value instanceof ByteBuffer) copy = StructuredCloner.copyBuffer((ByteBuffer)value);
+		else if (value instanceof JSObject) return this.copyFields(value);
+		else throw new IllegalArgumentException("A " + value.getClass().getName() + " could not be cloned");
+		
+		this._copies.put(value, copy);
+		return copy;
+	}
+	
+	private JSArray copyArray(JSArray array)
+	{
+		// the items are copied in bulk, then only the ones that aren't shared are replaced
+		Object[] values = array.getValues().clone();
+		JSArray copy = JSArray.adopt(values, values.length);
+		this._copies.put(array, copy);
+		
+		boolean changed = false;
+		for (int i = 0; i < values.length; i++)
+		{
+			Object item = values[i];
+			if (StructuredCloner.isShared(item)) continue;
+			
+			values[i] = this.copy(item);
+			changed |= values[i] != item;
+		}
+		return (JSArray)this.finish(array, copy, changed);
+	}
+	
+	private JSPlainObject copyObject(JSPlainObject obj)
+	{
+		JSPlainObject copy = new JSPlainObject(obj.size());
+		this._copies.put(obj, copy);
+		
+		boolean changed = false;
+		for (Map.Entry<JSString, Object> property : obj.properties())
+		{
+			Object value = property.getValue();
+			Object valueCopy = this.copy(value);
+			copy.set(property.getKey(), valueCopy);
+			changed |= valueCopy != value;
+		}
+		return (JSPlainObject)this.finish(obj, copy, changed);
+	}
+	
+	private static ByteBuffer copyBuffer(ByteBuffer buffer)
+	{
+		ByteBuffer copy = buffer.isDirect() ? ByteBuffer.allocateDirect(buffer.capacity()) : ByteBuffer.allocate(buffer.capacity());
+		
+		ByteBuffer source = buffer.duplicate();
+		source.clear();
+		copy.put(source);
+		
+		copy.limit(buffer.limit()).position(buffer.position());
+		copy.order(buffer.order());
+		return buffer.isReadOnly() ? copy.asReadOnlyBuffer().order(buffer.order()) : copy;
+	}
+	
+	private Object copyFields(Object obj)
+	{
+		FieldCopier copier = FIELD_COPIERS.get(obj.getClass());
+		if (copier.constructor == null)
+			throw new IllegalArgumentException("A " + obj.getClass().getName() + " could not be cloned");
+		
+		try
+		{
+			Object copy = (Object)copier.constructor.invokeExact();
+			this._copies.put(obj, copy);
+			
+			boolean changed = false;
+			for (int i = 0; i < copier.getters.length; i++)
+			{
+				Object value = (Object)copier.getters[i].invokeExact(obj);
+				Object valueCopy = this.copy(value);
+				copier.setters[i].invokeExact(copy, valueCopy);
+				changed |= valueCopy != value;
+			}
+			return this.finish((JSObject)obj, (JSObject)copy, changed);
+		}
+		catch (RuntimeException | Error e)
+		{
+			throw e;
+		}
+		catch (Throwable e)
+		{
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,340 @@
+package javascript;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A <a href="https://encoding.spec.whatwg.org/#interface-textdecoder">TextDecoder</a>
+ * for UTF-8, which decodes bytes straight into the chars of a new JSString.
+ * <br/>
+ * Input can arrive in chunks by decoding with <code>stream</code> set, in
+ * which case a code point split across chunks is kept as decoder state
+ * rather than as bytes, so nothing is allocated besides the result. The
+ * result is sized exactly, by counting the chars before writing them.
+ * Runs of ASCII are counted by a plain scan for bytes with the high bit set,
+ * then widened, without going through the decoder state.
+ * @version 19th October, 2026
+ */
+public final class TextDecoder
+{
+	private static final char REPLACEMENT = '\uFFFD';
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+	
+	private final boolean _fatal;
+	private final boolean _ignoreBOM;
+	
+	// the UTF-8 decoder state from the spec, carried between chunks
+	private int _codePoint;
+	private int _bytesSeen;
+	private int _bytesNeeded;
+	private int _lowerBoundary = 0x80;
+	private int _upperBoundary = 0xBF;
+	private boolean _bomSeen;
+	
+	public TextDecoder()
+	{
+		this(false, false);
+	}
+	
+	/**
+	 * @param fatal Whether invalid input throws, rather than decoding as U+FFFD
+	 * @param ignoreBOM Whether a leading byte order mark is kept in the result,
+	 * rather than skipped
+	 */
+	public TextDecoder(boolean fatal, boolean ignoreBOM)
+	{
+		this._fatal = fatal;
+		this._ignoreBOM = ignoreBOM;
+	}
+	
+	/**
+	 * @param label The encoding, which must be a label of UTF-8 such as <code>utf-8</code> or <code>utf8</code>
+	 * @param fatal Whether invalid input throws, rather than decoding as U+FFFD
+	 * @param ignoreBOM Whether a leading byte order mark is kept in the result,
+	 * rather than skipped
+	 * @throws IllegalArgumentException If <code>label</code> isn't a label of UTF-8
+	 */
+	public TextDecoder(JSString label, boolean fatal, boolean ignoreBOM)
+	{
+		this(fatal, ignoreBOM);
+		
+		String name = label.trim().toLowerCase().toString();
+		if (!(name.equals("utf-8") || name.equals("utf8") || name.equals("unicode-1-1-utf-8")
+			|| name.equals("unicode11utf8") || name.equals("unicode20utf8") || name.equals("x-unicode20utf8")))
+			throw new IllegalArgumentException("The encoding label provided ('" + label + "') is invalid.");
+	}
+	
+	/**
+	 * Gets the encoding, which is always <code>utf-8</code>
+	 */
+	public JSString getEncoding()
+	{
+		return TextEncoder.UTF_8;
+	}
+	
+	public boolean isFatal()
+	{
+		return this._fatal;
+	}
+	
+	public boolean isIgnoreBOM()
+	{
+		return this._ignoreBOM;
+	}
+	
+	/**
+	 * Ends the stream, decoding whatever is left of a code point split
+	 * across chunks, which is invalid
+	 * @return The chars left, which is U+FFFD if a code point was cut off
+	 * and otherwise empty
+	 */
+	public JSString decode()
+	{
+		return this.decode(EMPTY, false);
+	}
+	
+	/**
+	 * Decodes the rest of <code>input</code>, from its position to its limit,
+	 * as the end of the stream, advancing its position to its limit
+	 * @param input The bytes to decode
+	 * @return The chars, with invalid input as U+FFFD
+	 * @throws IllegalArgumentException If the decoder is fatal and the input isn't valid
+	 */
+	public JSString decode(ByteBuffer input)
+	{
+		return this.decode(input, false);
+	}
+	
+	/**
+	 * Decodes the rest of <code>input</code>, from its position to its limit,
+	 * advancing its position to its limit
+	 * @param input The bytes to decode
+	 * @param stream Whether more input follows, in which case a code point
+	 * cut off at the end is finished by the next call, rather than invalid
+	 * @return The chars, with invalid input as U+FFFD
+	 * @throws IllegalArgumentException If the decoder is fatal and the input isn't valid
+	 */
+	public JSString decode(ByteBuffer input, boolean stream)
+	{
+		int from = input.position();
+		int to = input.limit();
+		
+		// ASCII can be widened straight away when nothing is pending
+		int ascii = this._bytesNeeded == 0 ? TextDecoder.asciiLength(input, from, to) : 0;
+		if (ascii == to - from && this._bytesNeeded == 0)
+		{
+			char[] chars = new char[ascii];
+			TextDecoder.widen(input, from, chars, 0, ascii);
+			if (ascii > 0) this._bomSeen = true;
+			if (!stream) this._bomSeen = false;
+			
+			input.position(to);
+			return JSString.adopt(chars);
+		}
+		
+		int length;
+		try
+		{
+			length = this.run(input, from + ascii, to, null, ascii, stream);
+		}
+		catch (IllegalArgumentException e)
+		{
+			this.reset();
+			input.position(to);
+			throw e;
+		}
+		
+		char[] chars = new char[length];
+		TextDecoder.widen(input, from, chars, 0, ascii);
+		this.run(input, from + ascii, to, chars, ascii, stream);
+		
+		input.position(to);
+		return JSString.adopt(chars);
+	}
+	
+	private void reset()
+	{
+		this._codePoint = 0;
+		this._bytesSeen = 0;
+		this._bytesNeeded = 0;
+		this._lowerBoundary = 0x80;
+		this._upperBoundary = 0xBF;
+		this._bomSeen = false;
+	}
+	
+	private static int asciiLength(ByteBuffer input, int from, int to)
+	{
+		int i = from;
+		if (input.hasArray())
+		{
+			byte[] bytes = input.array();
+			int offset = input.arrayOffset();
+			while (i < to && bytes[offset + i] >= 0) i++;
+		}
+		else
+		{
+			while (i < to && input.get(i) >= 0) i++;
+		}
+		return i - from;
+	}
+	
+	/**
+	 * Copies <code>length</code> ASCII bytes from <code>from</code> to the
+	 * chars from <code>pos</code>
+	 */
+	private static void widen(ByteBuffer input, int from, char[] chars, int pos, int length)
+	{
+		if (input.hasArray())
+		{
+			byte[] bytes = input.array();
+			int offset = input.arrayOffset() + from - pos;
+			for (int i = pos, end = pos + length; i < end; i++) chars[i] = (char)bytes[offset + i];
+		}
+		else
+		{
+			for (int i = 0; i < length; i++) chars[pos + i] = (char)input.get(from + i);
+		}
+	}
+	
+	/**
+	 * Runs the UTF-8 decoder from the spec over the bytes from <code>from</code>
+	 * to <code>to</code>, writing the chars to <code>out</code> from <code>pos</code>.
+	 * <br/>
+	 * When <code>out</code> is <code>null</code> the chars are only counted,
+	 * and the decoder state is left as it was, so the same bytes can be run
+	 * again to write them.
+	 * @return <code>pos</code> plus the number of chars
+	 */
+	private int run(ByteBuffer input, int from, int to, char[] out, int pos, boolean stream)
+	{
+		int codePoint = this._codePoint;
+		int bytesSeen = this._bytesSeen;
+		int bytesNeeded = this._bytesNeeded;
+		int lower = this._lowerBoundary;
+		int upper = this._upperBoundary;
+		boolean bomSeen = this._bomSeen || pos > 0;
+		
+		byte[] bytes = input.hasArray() ? input.array() : null;
+		int offset = input.hasArray() ? input.arrayOffset() : 0;
+		
+		int i = from;
+		while (i < to)
+		{
+			if (bytesNeeded == 0 && bomSeen)
+			{
+				// runs of ASCII decode to themselves
+				int run = TextDecoder.asciiLength(input, i, to);
+				if (out != null) TextDecoder.widen(input, i, out, pos, run);
+				i += run;
+				pos += run;
+				if (i == to) break;
+			}
+			
+			int b = (bytes != null ? bytes[offset + i] : input.get(i)) & 0xFF;
+			int emit = -1;
+			
+			if (bytesNeeded == 0)
+			{
+				i++;
+				if (b < 0x80) emit = b;
+				else if (b >= 0xC2 && b <= 0xDF)
+				{
+					bytesNeeded = 1;
+					codePoint = b & 0x1F;
+				}
+				else if (b >= 0xE0 && b <= 0xEF)
+				{
+					if (b == 0xE0) lower = 0xA0;
+					else if (b == 0xED) upper = 0x9F;
+					bytesNeeded = 2;
+					codePoint = b & 0xF;
+				}
+				else if (b >= 0xF0 && b <= 0xF4)
+				{
+					if (b == 0xF0) lower = 0x90;
+					else if (b == 0xF4) upper = 0x8F;
+					bytesNeeded = 3;
+					codePoint = b & 0x7;
+				}
+				else emit = this.error();
+			}
+			else if (b < lower || b > upper)
+			{
+				// the byte is read again as the start of the next code point
+				codePoint = bytesNeeded = bytesSeen = 0;
+				lower = 0x80;
+				upper = 0xBF;
+				emit = this.error();
+			}
+			else
+			{
+				i++;
+				lower = 0x80;
+				upper = 0xBF;
+				codePoint = (codePoint << 6) | (b & 0x3F);
+				if (++bytesSeen == bytesNeeded)
+				{
+					emit = codePoint;
+					codePoint = bytesNeeded = bytesSeen = 0;
+				}
+			}
+			
+			if (emit < 0) continue;
+			if (!bomSeen && !this._ignoreBOM)
+			{
+				bomSeen = true;
+				if (emit == 0xFEFF) continue;
+			}
+			bomSeen = true;
+			
+			if (emit < 0x10000)
+			{
+				if (out != null) out[pos] = (char)emit;
+				pos++;
+			}
+			else
+			{
+				if (out != null)
+				{
+					out[pos] = Character.highSurrogate(emit);
+					out[pos + 1] = Character.lowSurrogate(emit);
+				}
+				pos += 2;
+			}
+		}
+		
+		if (!stream)
+		{
+			if (bytesNeeded != 0)
+			{
+				this.error();
+				if (out != null) out[pos] = REPLACEMENT;
+				pos++;
+			}
+			codePoint = bytesNeeded = bytesSeen = 0;
+			lower = 0x80;
+			upper = 0xBF;
+			bomSeen = false;
+		}
+		
+		if (out != null)
+		{
+			this._codePoint = codePoint;
+			this._bytesSeen = bytesSeen;
+			this._bytesNeeded = bytesNeeded;
+			this._lowerBoundary = lower;
+			this._upperBoundary = upper;
+			this._bomSeen = bomSeen;
+		}
+		return pos;
+	}
+	
+	/**
+	 * Handles invalid input, by throwing when the decoder is fatal
+	 * @return The replacement character
+	 */
+	private int error()
+	{
+		if (this._fatal) throw new IllegalArgumentException("The encoded data was not valid for encoding utf-8");
+		return REPLACEMENT;
+	}
+}
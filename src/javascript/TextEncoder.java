@@ -0,0 +1,199 @@
+package javascript;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+/**
+ * A <a href="https://encoding.spec.whatwg.org/#interface-textencoder">TextEncoder</a>,
+ * which encodes JSStrings as UTF-8 straight from their chars, without
+ * going through a <code>String</code> first.
+ * <br/>
+ * Lone surrogates are encoded as U+FFFD, the replacement character.
+ * @version 19th October, 2026
+ */
+public final class TextEncoder
+{
+	static final JSString UTF_8 = new JSString("utf-8");
+	
+	public TextEncoder() {}
+	
+	/**
+	 * Gets the encoding, which is always <code>utf-8</code>
+	 */
+	public JSString getEncoding()
+	{
+		return UTF_8;
+	}
+	
+	/**
+	 * Encodes <code>input</code> as UTF-8
+	 * @param input The string to encode
+	 * @return A new buffer holding exactly the encoded bytes, from position 0
+	 */
+	public ByteBuffer encode(JSString input)
+	{
+		char[] values = input.getValues();
+		ByteBuffer result = ByteBuffer.allocate(TextEncoder.encodedLength(values));
+		TextEncoder.encode(values, result);
+		result.flip();
+		return result;
+	}
+	
+	/**
+	 * Encodes as much of <code>source</code> as UTF-8 as fits in the rest of
+	 * <code>destination</code>, from its position, advancing the position
+	 * past the bytes written. Only whole code points are written.
+	 * @param source The string to encode
+	 * @param destination The buffer to write to
+	 * @return How many chars were read and how many bytes were written
+	 * @throws ReadOnlyBufferException If <code>destination</code> is read only
+	 */
+	public EncodeIntoResult encodeInto(JSString source, ByteBuffer destination)
+	{
+		if (destination.isReadOnly()) throw new ReadOnlyBufferException();
+		
+		int start = destination.position();
+		int read = TextEncoder.encode(source.getValues(), destination);
+		return new EncodeIntoResult(read, destination.position() - start);
+	}
+	
+	/**
+	 * Gets the number of bytes <code>values</code> takes up in UTF-8
+	 */
+	static int encodedLength(char[] values)
+	{
+		int length = values.length;
+		for (int i = 0, n = values.length; i < n; i++)
+		{
+			char c = values[i];
+			if (c < 0x80) continue;
+			else if (c < 0x800) length++;
+			else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(values[i + 1]))
+			{
+				// 2 chars become 4 bytes
+				length += 2;
+				i++;
+			}
+			else length += 2;
+		}
+		return length;
+	}
+	
+	/**
+	 * Encodes as many whole code points of <code>values</code> as fit in
+	 * <code>out</code>, advancing its position
+	 * @return The number of chars encoded
+	 */
+	static int encode(char[] values, ByteBuffer out)
+	{
+		return out.hasArray() ? TextEncoder.encodeToArray(values, out) : TextEncoder.encodeToBuffer(values, out);
+	}
+	
+	/**
+	 * Encodes straight into the array backing <code>out</code>
+	 */
+	private static int encodeToArray(char[] values, ByteBuffer out)
+	{
+		byte[] bytes = out.array();
+		int offset = out.arrayOffset();
+		int p = offset + out.position();
+		int limit = offset + out.limit();
+		int n = values.length;
+		int i = 0;
+		
+		while (i < n)
+		{
+			int c = values[i];
+			if (c < 0x80)
+			{
+				// runs of ASCII are copied without checking for anything else
+				int end = Math.min(n, i + limit - p);
+				if (i == end) break;
+				do
+				{
+					bytes[p++] = (byte)c;
+					i++;
+				}
+				while (i < end && (c = values[i]) < 0x80);
+			}
+			else if (c < 0x800)
+			{
+				if (limit - p < 2) break;
+				bytes[p++] = (byte)(0xC0 | (c >>> 6));
+				bytes[p++] = (byte)(0x80 | (c & 0x3F));
+				i++;
+			}
+			else if (Character.isHighSurrogate((char)c) && i + 1 < n && Character.isLowSurrogate(values[i + 1]))
+			{
+				if (limit - p < 4) break;
+				int cp = Character.toCodePoint((char)c, values[i + 1]);
+				bytes[p++] = (byte)(0xF0 | (cp >>> 18));
+				bytes[p++] = (byte)(0x80 | ((cp >>> 12) & 0x3F));
+				bytes[p++] = (byte)(0x80 | ((cp >>> 6) & 0x3F));
+				bytes[p++] = (byte)(0x80 | (cp & 0x3F));
+				i += 2;
+			}
+			else
+			{
+				if (limit - p < 3) break;
+				if (Character.isSurrogate((char)c)) c = 0xFFFD;
+				bytes[p++] = (byte)(0xE0 | (c >>> 12));
+				bytes[p++] = (byte)(0x80 | ((c >>> 6) & 0x3F));
+				bytes[p++] = (byte)(0x80 | (c & 0x3F));
+				i++;
+			}
+		}
+		
+		out.position(p - offset);
+		return i;
+	}
+	
+	/**
+	 * Encodes into a buffer without an accessible array, such as a direct
+	 * buffer, one byte at a time
+	 */
+	private static int encodeToBuffer(char[] values, ByteBuffer out)
+	{
+		int p = out.position();
+		int limit = out.limit();
+		int n = values.length;
+		int i = 0;
+		
+		for (; i < n; i++)
+		{
+			int c = values[i];
+			if (c < 0x80)
+			{
+				if (p == limit) break;
+				out.put(p++, (byte)c);
+			}
+			else if (c < 0x800)
+			{
+				if (limit - p < 2) break;
+				out.put(p++, (byte)(0xC0 | (c >>> 6)));
+				out.put(p++, (byte)(0x80 | (c & 0x3F)));
+			}
+			else if (Character.isHighSurrogate((char)c) && i + 1 < n && Character.isLowSurrogate(values[i + 1]))
+			{
+				if (limit - p < 4) break;
+				int cp = Character.toCodePoint((char)c, values[i + 1]);
+				out.put(p++, (byte)(0xF0 | (cp >>> 18)));
+				out.put(p++, (byte)(0x80 | ((cp >>> 12) & 0x3F)));
+				out.put(p++, (byte)(0x80 | ((cp >>> 6) & 0x3F)));
+				out.put(p++, (byte)(0x80 | (cp & 0x3F)));
+				i++;
+			}
+			else
+			{
+				if (limit - p < 3) break;
+				if (Character.isSurrogate((char)c)) c = 0xFFFD;
+				out.put(p++, (byte)(0xE0 | (c >>> 12)));
+				out.put(p++, (byte)(0x80 | ((c >>> 6) & 0x3F)));
+				out.put(p++, (byte)(0x80 | (c & 0x3F)));
+			}
+		}
+		
+		out.position(p);
+		return i;
+	}
+}
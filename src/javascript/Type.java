@@ -0,0 +1,57 @@
+package javascript;
+
+/**
+ * Sorts values into the ECMAScript types that equality cares about, so
+ * comparisons can switch on one small tag instead of testing the class
+ * of a value against every boxed type in turn.
+ * <br/>
+ * The tag of a class is worked out once and kept with the class.
+ * @version 19th October, 2026
+ */
+final class Type
+{
+	private Type() {}
+	
+	static final int NULL = 0;
+	static final int UNDEFINED = 1;
+	static final int BOOLEAN = 2;
+	static final int STRING = 3;
+	/**
+	 * A <code>Byte</code>, <code>Short</code>, <code>Integer</code> or <code>Long</code>
+	 */
+	static final int INTEGRAL = 4;
+	/**
+	 * A <code>Float</code> or <code>Double</code>
+	 */
+	static final int FLOATING = 5;
+	static final int BIGINT = 6;
+	/**
+	 * Anything else, which is only equal to itself
+	 */
+	static final int OBJECT = 7;
+	
+	private static final ClassValue<Integer> TAGS = new ClassValue<Integer>()
+	{
+		@Override
+		protected Integer computeValue(Class<?> type)
+		{
+			if (type == JSUndefined.class) return UNDEFINED;
+			else if (type == Boolean.class) return BOOLEAN;
+			else if (type == JSString.class || type == String.class || type == Character.class) return STRING;
+			else if (type == Integer.class || type == Long.class || type == Short.class || type == Byte.class) return INTEGRAL;
+			else if (type == Double.class || type == Float.class) return FLOATING;
+			else if (type == JSBigInt.class) return BIGINT;
+			else return OBJECT;
+		}
+	};
+	
+	static int of(Object value)
+	{
+		return value == null ? NULL : TAGS.get(value.getClass());
+	}
+	
+	static boolean isNumber(int tag)
+	{
+		return tag == INTEGRAL || tag == FLOATING;
+	}
+}
@@ -0,0 +1,21 @@
+package javascript.exceptions;
+
+/**
+ * Thrown when source text, such as a regular expression pattern, is not
+ * valid ECMAScript syntax. Mirrors the ECMAScript <code>SyntaxError</code>.
+ * @version 19th October, 2026
+ */
+public class SyntaxException extends RuntimeException
+{
+	private static final long serialVersionUID = 1L;
+	
+	public SyntaxException(String message)
+	{
+		super(message);
+	}
+	
+	public SyntaxException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
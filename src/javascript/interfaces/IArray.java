@@ -174,6 +174,15 @@ public interface IArray<A extends IArray<A>> extends ArrayLike, Iterable<Object>
 	@Mutator
 	A sort(ToIntFunction<CompareInfo> compareFn);
 	
+	/**
+	 * Sorts an array by the string representation of each element,
+	 * compared with <code>collator</code>.
+	 * @param collator The collator to compare elements with
+	 * @return this
+	 */
+	@Mutator
+	A sortByCollator(JSCollator collator);
+	
 	/**
 	 * Removes elements from an array and, if necessary, inserts new elements
 	 * in their place, returning the deleted elements.
@@ -1,6 +1,7 @@
 package javascript.interfaces;
 
 import java.util.Iterator;
+import java.util.function.Function;
 
 import javascript.*;
 import javascript.iterators.StringIterator;
@@ -42,9 +43,33 @@ public interface IString<S extends IString<S>> extends Iterable<S>
 	 * @param pos The position of the code point to get
 	 * @return The code point of the character at <code>pos</code>, or
 	 * <code>null</code> if <code>pos</code> is outside the range of this string.
+	 * @deprecated Use {@link #codePointAt(int)}
 	 */
+	@Deprecated
 	Integer charPointAt(int pos);
 	
+	/**
+	 * Gets the code point starting at <code>pos</code>, which spans two
+	 * chars if they are a surrogate pair. Returns <code>null</code> if
+	 * <code>pos</code> is outside the range of this string.
+	 * @param pos The position of the code point to get
+	 * @return The code point at <code>pos</code>, or <code>null</code> if
+	 * <code>pos</code> is outside the range of this string.
+	 */
+	Integer codePointAt(int pos);
+	
+	/**
+	 * Returns whether this string has no lone surrogates
+	 * @return <code>true</code> if every surrogate in this string is part of a pair
+	 */
+	boolean isWellFormed();
+	
+	/**
+	 * Returns this string with every lone surrogate replaced by <code>U+FFFD</code>
+	 * @return A well formed version of this string
+	 */
+	S toWellFormed();
+	
 	/**
 	 * Returns the result of concatenating this string with <code>args</code>
 	 * (converts each item to a string).
@@ -151,6 +176,32 @@ public interface IString<S extends IString<S>> extends Iterable<S>
 	 */
 	int localeCompare(Object that);
 	
+	/**
+	 * Compares this string to the string representation of <code>that</code>
+	 * by the rules of <code>locales</code>.
+	 * @param that The object to compare to
+	 * @param locales The locale to compare by
+	 * @return The comparison of <code>this</code> to <code>that</code>.
+	 */
+	int localeCompare(Object that, Object locales);
+	
+	/**
+	 * Matches this string against <code>regexp</code>, creating a RegExp from
+	 * <code>regexp</code> if it isn't one.
+	 * @param regexp The RegExp, or the pattern to create one from
+	 * @return The match if <code>regexp</code> is not global, otherwise an array
+	 * of every matched substring, or <code>null</code> if nothing matches.
+	 */
+	ArrayLike match(Object regexp);
+	
+	/**
+	 * Returns an iterator that lazily finds every match of <code>regexp</code>
+	 * in this string.
+	 * @param regexp The global RegExp, or the pattern to create one from
+	 * @return An iterator over every match in this string
+	 */
+	Iterator<RegExpMatchArray> matchAll(Object regexp);
+	
 	S normalize();
 	
 	S normalize(String form);
@@ -167,6 +218,29 @@ public interface IString<S extends IString<S>> extends Iterable<S>
 	
 	S repeat(int count);
 	
+	S replace(Object searchValue, Object replaceValue);
+	
+	S replace(Object searchValue, Function<ReplaceInfo, Object> replacer);
+	
+	S replaceAll(Object searchValue, Object replaceValue);
+	
+	S replaceAll(Object searchValue, Function<ReplaceInfo, Object> replacer);
+	
+	S replace(JSRegExp searchValue, Object replaceValue);
+	
+	S replace(JSRegExp searchValue, Function<ReplaceInfo, Object> replacer);
+	
+	S replaceAll(JSRegExp searchValue, Object replaceValue);
+	
+	S replaceAll(JSRegExp searchValue, Function<ReplaceInfo, Object> replacer);
+	
+	/**
+	 * Returns the index of the first match of <code>regexp</code> in this string.
+	 * @param regexp The RegExp, or the pattern to create one from
+	 * @return The index of the first match, or <code>-1</code> if nothing matches
+	 */
+	int search(Object regexp);
+	
 	S slice();
 	
 	S slice(int start);
@@ -1,5 +1,7 @@
 package javascript.interfaces;
 
+import java.util.Iterator;
+
 import javascript.JSArray;
 
 /**
@@ -13,4 +15,18 @@ public interface Splitter<T>
 	boolean canSplit(Object obj);
 	
 	JSArray split(T objToSplit, int limit);
-}
\ No newline at end of file
+	
+	/**
+	 * Returns an iterator over the pieces of <code>objToSplit</code>.
+	 * <br/>
+	 * Splitters that can find their pieces one at a time should override
+	 * this, by default the result of {@link #split(Object, int)} is iterated.
+	 * @param objToSplit The object to split
+	 * @param limit The maximum number of pieces to produce
+	 * @return An iterator over the pieces of <code>objToSplit</code>
+	 */
+	default Iterator<Object> splitIterator(T objToSplit, int limit)
+	{
+		return this.split(objToSplit, limit).iterator();
+	}
+}
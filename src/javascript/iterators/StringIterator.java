@@ -6,7 +6,7 @@ import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
- * An iterator for iterating through characters in an IString
+ * An iterator for iterating through the code points of an IString
  * @author Josh
  * @version 9th October, 2020
  *
@@ -34,9 +34,11 @@ public class StringIterator<S extends IString<S>> implements Iterator<S>
 	{
 		if (this.hasNext())
 		{
+			// a surrogate pair is a single code point, so it stays together
 			int i = this.index;
-			this.index++;
-			return this.string.charAt(i);
+			int count = Character.charCount(this.string.codePointAt(i));
+			this.index += count;
+			return count == 1 ? this.string.charAt(i) : this.string.substring(i, i + count);
 		}
 		else
 			throw new NoSuchElementException("No such character exists in the string");
@@ -0,0 +1,77 @@
+package javascript.tests;
+
+import java.util.function.Supplier;
+
+import javascript.*;
+
+/**
+ * Times the JSString methods that go through <code>CharScan</code>, on
+ * ASCII and on mixed input.
+ * <br/>
+ * Run it once on the base classes for the scalar numbers, and once with
+ * the Java 17 classes first on the class path and
+ * <code>--add-modules jdk.incubator.vector</code> for the vector numbers.
+ * @version 19th October, 2026
+ */
+class CharScanBenchmark
+{
+	private static final int LENGTH = 1 << 16;
+	private static final int WARMUP_ROUNDS = 2000;
+	private static final int ROUNDS = 5000;
+	
+	/**
+	 * Keeps the results alive so the JIT can't drop the work
+	 */
+	private static int sink;
+	
+	public static void main(String[] args)
+	{
+		System.out.println("length " + LENGTH + ", " + ROUNDS + " rounds");
+		CharScanBenchmark.run("ascii", CharScanBenchmark.input(false));
+		CharScanBenchmark.run("mixed", CharScanBenchmark.input(true));
+		System.out.println(sink == 42 ? "" : "done");
+	}
+	
+	/**
+	 * Builds a string of letters, digits and spaces, with a non-ASCII letter
+	 * in every 64 chars if <code>mixed</code>, padded with spaces and ending
+	 * in a char that is searched for.
+	 */
+	private static String input(boolean mixed)
+	{
+		StringBuilder sb = new StringBuilder(LENGTH);
+		sb.append("    ");
+		for (int k = 0; sb.length() < LENGTH - 5; k++)
+		{
+			if (mixed && k % 64 == 63) sb.append('\u00C9');
+			else if (k % 8 == 7) sb.append(' ');
+			else sb.append((char)((k % 2 == 0 ? 'a' : 'A') + k % 26));
+		}
+		return sb.append("#    ").toString();
+	}
+	
+	private static void run(String name, String input)
+	{
+		JSString a = new JSString(input);
+		JSString b = new JSString(input);
+		
+		CharScanBenchmark.time(name, "indexOf", () -> a.indexOf("#"));
+		CharScanBenchmark.time(name, "includes", () -> a.includes("#") ? 1 : 0);
+		CharScanBenchmark.time(name, "contentEquals", () -> a.contentEquals(b) ? 1 : 0);
+		CharScanBenchmark.time(name, "toLowerCase", () -> a.toLowerCase().length());
+		CharScanBenchmark.time(name, "toUpperCase", () -> a.toUpperCase().length());
+	}
+	
+	private static void time(String name, String method, Supplier<Integer> op)
+	{
+		for (int k = 0; k < WARMUP_ROUNDS; k++)
+			sink += op.get();
+		
+		long start = System.nanoTime();
+		for (int k = 0; k < ROUNDS; k++)
+			sink += op.get();
+		long elapsed = System.nanoTime() - start;
+		
+		System.out.printf("%-6s %-14s %10.1f us/op%n", name, method, elapsed / 1000.0 / ROUNDS);
+	}
+}
@@ -1,5 +1,6 @@
 package javascript.tests;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import javascript.*;
@@ -477,6 +478,92 @@ class JSArrayTests extends Tester
 		this.assertEquals("Java is cool", testArray.join(" "));
 	}
 	
+	public static class Node extends JSObject
+	{
+		public Object value;
+		public Node next;
+	}
+	
+	@Test(testName = "JSArray.indexOf() with numbers")
+	public void testNumberSearch()
+	{
+		JSArray testArray = new JSArray(1, 2.0, Double.NaN, -0.0, 3L, (short)4, 2.5f, new JSString("5"), "6");
+		
+		// boxes don't matter, only the number
+		this.assertEquals(0, testArray.indexOf(1.0));
+		this.assertEquals(1, testArray.indexOf(2));
+		this.assertEquals(4, testArray.indexOf(3));
+		this.assertEquals(5, testArray.lastIndexOf(4.0));
+		this.assertEquals(6, testArray.indexOf(2.5));
+		
+		// NaN is only found by includes, and -0 equals 0
+		this.assertEquals(-1, testArray.indexOf(Double.NaN));
+		this.assertEquals(true, testArray.includes(Float.NaN));
+		this.assertEquals(3, testArray.indexOf(0));
+		
+		// strings are compared by content, and never equal numbers
+		this.assertEquals(7, testArray.indexOf("5"));
+		this.assertEquals(8, testArray.indexOf(new JSString("6")));
+		this.assertEquals(-1, testArray.indexOf(5));
+		
+		this.assertEquals(true, JSNumber.valueOf(7.0) instanceof Integer);
+		this.assertEquals(true, JSNumber.valueOf(1000.0) == JSNumber.valueOf(1000));
+		this.assertEquals(true, JSNumber.valueOf(-0.0) instanceof Double);
+		this.assertEquals(false, JSNumber.isSafeInteger(1L << 53));
+	}
+	
+	@Test(testName = "Global.structuredClone(JSArray)")
+	public void testStructuredClone()
+	{
+		JSString text = new JSString("shared");
+		JSArray frozen = JSObject.freeze(new JSArray(1, 2));
+		JSArray inner = new JSArray(text, 1.5);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(4).putInt(0, 7);
+		
+		Node node = new Node();
+		node.value = inner;
+		node.next = node;
+		
+		JSArray array = new JSArray(inner, inner, frozen, buffer, node, null);
+		array.push(array);
+		
+		JSArray copy = (JSArray)Global.structuredClone(array);
+		JSArray innerCopy = (JSArray)copy.get(0);
+		
+		this.assertEquals(true, innerCopy != inner && innerCopy == copy.get(1));
+		this.assertEquals(true, innerCopy.get(0) == text);
+		this.assertEquals(true, copy.get(2) == frozen);
+		this.assertEquals(true, copy.get(6) == copy);
+		
+		ByteBuffer bufferCopy = (ByteBuffer)copy.get(3);
+		buffer.putInt(0, 8);
+		this.assertEquals(true, bufferCopy.isDirect());
+		this.assertEquals(7, bufferCopy.getInt(0));
+		
+		Node nodeCopy = (Node)copy.get(4);
+		this.assertEquals(true, nodeCopy != node && nodeCopy.next == nodeCopy && nodeCopy.value == innerCopy);
+		
+		// changing the copy leaves the original alone
+		innerCopy.set(1, 2.5);
+		this.assertEquals("1.5", inner.get(1).toString());
+		
+		// freezing is shallow, so a frozen array holding a mutable one is copied
+		JSArray mutable = new JSArray(1, 2);
+		JSArray shallow = JSObject.freeze(new JSArray(mutable));
+		JSArray outer = (JSArray)Global.structuredClone(new JSArray(shallow));
+		JSArray shallowCopy = (JSArray)outer.get(0);
+		this.assertEquals(true, shallowCopy != shallow && JSObject.isFrozen(shallowCopy));
+		((JSArray)shallowCopy.get(0)).set(0, 99);
+		this.assertEquals("1,2", mutable.toString());
+		
+		// a frozen cycle can't be shared either, but comes back as a frozen cycle
+		JSPlainObject loop = new JSPlainObject();
+		loop.set("self", loop);
+		JSObject.freeze(loop);
+		JSPlainObject loopCopy = (JSPlainObject)Global.structuredClone(loop);
+		this.assertEquals(true, loopCopy != loop && loopCopy.get("self") == loopCopy && JSObject.isFrozen(loopCopy));
+	}
+	
 	public void assertEquals(JSArray result, Object ...expected)
 	{
 		int len = expected.length;
@@ -0,0 +1,151 @@
+package javascript.tests;
+
+import javascript.*;
+
+class JSNumberTests extends Tester
+{
+	@Test(testName = "JSNumber.toString()")
+	public void testToString()
+	{
+		this.assertEquals("1", JSNumber.toString(1.0).toString());
+		this.assertEquals("-0.5", JSNumber.toString(-0.5).toString());
+		this.assertEquals("0", JSNumber.toString(-0.0).toString());
+		this.assertEquals("0.1", JSNumber.toString(0.1).toString());
+		this.assertEquals("0.30000000000000004", JSNumber.toString(0.1 + 0.2).toString());
+		this.assertEquals("123456789012345680000", JSNumber.toString(123456789012345678901.0).toString());
+		this.assertEquals("1e+21", JSNumber.toString(1e21).toString());
+		this.assertEquals("1.23e+22", JSNumber.toString(123e20).toString());
+		this.assertEquals("0.000001", JSNumber.toString(1e-6).toString());
+		this.assertEquals("1.5e-7", JSNumber.toString(1.5e-7).toString());
+		this.assertEquals("5e-324", JSNumber.toString(Double.MIN_VALUE).toString());
+		this.assertEquals("1.7976931348623157e+308", JSNumber.toString(Double.MAX_VALUE).toString());
+		this.assertEquals("-Infinity", JSNumber.toString(Double.NEGATIVE_INFINITY).toString());
+		this.assertEquals("NaN", JSNumber.toString(Double.NaN).toString());
+		
+		// every string conversion goes the same way
+		this.assertEquals("2.5", new JSString(2.5).toString());
+		this.assertEquals("3", new JSString((Object)3.0).toString());
+		this.assertEquals("1,2.5,,x", new JSArray(1.0, 2.5, null, "x").join());
+	}
+	
+	@Test(testName = "JSNumber.toFixed(), toExponential() and toPrecision()")
+	public void testFormatting()
+	{
+		this.assertEquals("123.46", JSNumber.toFixed(123.456, 2).toString());
+		this.assertEquals("3", JSNumber.toFixed(2.5).toString());
+		this.assertEquals("1.00", JSNumber.toFixed(1.005, 2).toString());
+		this.assertEquals("-0.00", JSNumber.toFixed(-1e-7, 2).toString());
+		this.assertEquals("1e+21", JSNumber.toFixed(1e21, 2).toString());
+		
+		this.assertEquals("1.23456e+2", JSNumber.toExponential(123.456).toString());
+		this.assertEquals("1.235e+2", JSNumber.toExponential(123.456, 3).toString());
+		this.assertEquals("0.00e+0", JSNumber.toExponential(0, 2).toString());
+		
+		this.assertEquals("123.5", JSNumber.toPrecision(123.456, 4).toString());
+		this.assertEquals("1.2e+5", JSNumber.toPrecision(123456, 2).toString());
+		this.assertEquals("0.000001000", JSNumber.toPrecision(1e-6, 4).toString());
+		this.assertEquals("1.2e-7", JSNumber.toPrecision(1.234e-7, 2).toString());
+		this.assertEquals("100", JSNumber.toPrecision(99.99, 3).toString());
+		
+		try
+		{
+			JSNumber.toPrecision(1, 0);
+			throw new AssertionError("Allowed a precision of 0");
+		}
+		catch (IllegalArgumentException e) {}
+	}
+	
+	@Test(testName = "Global.parseInt(), parseFloat() and JSNumber.toNumber()")
+	public void testParse()
+	{
+		this.assertEquals("42", JSNumber.toString(JSNumber.toNumber(" \u00a042\n")).toString());
+		this.assertEquals("0", JSNumber.toString(JSNumber.toNumber("")).toString());
+		this.assertEquals("31", JSNumber.toString(JSNumber.toNumber("0x1F")).toString());
+		this.assertEquals("5", JSNumber.toString(JSNumber.toNumber("0b101")).toString());
+		this.assertEquals("-Infinity", JSNumber.toString(JSNumber.toNumber("-Infinity")).toString());
+		this.assertEquals(true, Double.isNaN(JSNumber.toNumber("12px")));
+		this.assertEquals(true, Double.isNaN(JSNumber.toNumber("-0x10")));
+		this.assertEquals(true, Double.isNaN(JSNumber.toNumber(Global.undefined)));
+		
+		this.assertEquals("12", JSNumber.toString(Global.parseFloat("12px")).toString());
+		this.assertEquals("-0.0005", JSNumber.toString(Global.parseFloat("-.5e-3x")).toString());
+		this.assertEquals("1", JSNumber.toString(Global.parseFloat("1e")).toString());
+		this.assertEquals("Infinity", JSNumber.toString(Global.parseFloat("Infinity and beyond")).toString());
+		this.assertEquals("1.7976931348623157e+308", JSNumber.toString(Global.parseFloat("1.7976931348623157e308")).toString());
+		this.assertEquals("0.30000000000000004", JSNumber.toString(Global.parseFloat("0.30000000000000004")).toString());
+		this.assertEquals("5e-324", JSNumber.toString(Global.parseFloat("4.9406564584124654e-324")).toString());
+		this.assertEquals(true, Double.isNaN(Global.parseFloat(".")));
+		
+		this.assertEquals("-26", JSNumber.toString(Global.parseInt("  -0x1A")).toString());
+		this.assertEquals("255", JSNumber.toString(Global.parseInt("ff", 16)).toString());
+		this.assertEquals("0", JSNumber.toString(Global.parseInt("0xff", 10)).toString());
+		this.assertEquals("35", JSNumber.toString(Global.parseInt("z", 36)).toString());
+		this.assertEquals("1.2345678901234568e+29", JSNumber.toString(Global.parseInt("123456789012345678901234567890")).toString());
+		this.assertEquals(true, 1 / Global.parseInt("-0") < 0);
+		this.assertEquals(true, Double.isNaN(Global.parseInt("12", 1)));
+	}
+	
+	@Test(testName = "AbstractOps conversions and equality")
+	public void testAbstractOps()
+	{
+		this.assertEquals("1.5", AbstractOps.toString(1.5).toString());
+		this.assertEquals("42", AbstractOps.toString(42L).toString());
+		this.assertEquals("undefined", AbstractOps.toString(Global.undefined).toString());
+		this.assertEquals("null", AbstractOps.toString(null).toString());
+		this.assertEquals("1,2.5,", AbstractOps.toString(new JSArray(1, 2.5, null)).toString());
+		
+		this.assertEquals("-3", JSNumber.toString(AbstractOps.toIntegerOrInfinity(-3.9)).toString());
+		this.assertEquals("0", JSNumber.toString(AbstractOps.toIntegerOrInfinity("abc")).toString());
+		this.assertEquals(true, Double.isInfinite(AbstractOps.toIntegerOrInfinity(Double.NEGATIVE_INFINITY)));
+		
+		this.assertEquals(true, AbstractOps.isStrictlyEqual(1, 1.0));
+		this.assertEquals(false, AbstractOps.isStrictlyEqual(Double.NaN, Double.NaN));
+		this.assertEquals(false, AbstractOps.isStrictlyEqual(1, new JSString("1")));
+		this.assertEquals(true, AbstractOps.isLooselyEqual(1, new JSString("1")));
+		this.assertEquals(true, AbstractOps.isLooselyEqual(null, Global.undefined));
+		this.assertEquals(false, AbstractOps.isLooselyEqual(null, 0));
+		this.assertEquals(true, AbstractOps.isLooselyEqual(true, "1"));
+		this.assertEquals(true, AbstractOps.isLooselyEqual(new JSArray(1, 2), new JSString("1,2")));
+	}
+	
+	@Test(testName = "JSBigInt arithmetic, wrapping and conversions")
+	public void testBigInt()
+	{
+		JSBigInt max = JSBigInt.valueOf(Long.MAX_VALUE);
+		JSBigInt two = JSBigInt.valueOf(2);
+		
+		this.assertEquals("9223372036854775808", max.add(JSBigInt.ONE).toString());
+		this.assertEquals("9223372036854775807", max.add(JSBigInt.ONE).subtract(JSBigInt.ONE).toString());
+		this.assertEquals("-9223372036854775808", JSBigInt.valueOf(Long.MIN_VALUE).toString(10).toString());
+		this.assertEquals("340282366920938463463374607431768211456", two.pow(JSBigInt.valueOf(128)).toString());
+		this.assertEquals("-3", JSBigInt.valueOf(-7).divide(two).toString());
+		this.assertEquals("-1", JSBigInt.valueOf(-7).remainder(two).toString());
+		this.assertEquals("-4", JSBigInt.valueOf(-7).shiftRight(JSBigInt.ONE).toString());
+		this.assertEquals("18446744073709551616", JSBigInt.ONE.shiftLeft(JSBigInt.valueOf(64)).toString());
+		JSBigInt huge = two.pow(JSBigInt.valueOf(100));
+		JSBigInt minInt = JSBigInt.valueOf(Integer.MIN_VALUE);
+		this.assertEquals("0", huge.shiftRight(minInt.negate()).toString());
+		this.assertEquals("-1", huge.negate().shiftRight(minInt.negate()).toString());
+		this.assertEquals("0", huge.shiftLeft(minInt).toString());
+		this.assertEquals("-1", JSBigInt.valueOf(-5).shiftLeft(minInt).toString());
+		this.assertEquals("1", huge.shiftRight(JSBigInt.valueOf(100)).toString());
+		this.assertEquals("0", huge.shiftRight(JSBigInt.valueOf(101)).toString());
+		
+		this.assertEquals("-1", JSBigInt.asIntN(8, JSBigInt.valueOf(255)).toString());
+		this.assertEquals("18446744073709551615", JSBigInt.asUintN(64, JSBigInt.valueOf(-1)).toString());
+		this.assertEquals("9223372036854775807", JSBigInt.asIntN(64, max.add(JSBigInt.ONE).not().negate().subtract(two)).toString());
+		
+		this.assertEquals("ff", JSBigInt.valueOf(255).toString(16).toString());
+		this.assertEquals("255", JSBigInt.parse(new JSString(" 0xff ")).toString());
+		this.assertEquals("-12345678901234567890123", JSBigInt.parse(new JSString("-12345678901234567890123")).toString());
+		this.assertEquals("0", JSBigInt.parse(new JSString("")).toString());
+		this.assertEquals("9007199254740993", JSBigInt.valueOf((Object)new JSString("9007199254740993")).toString());
+		
+		this.assertEquals(true, AbstractOps.isStrictlyEqual(JSBigInt.valueOf(5000), JSBigInt.valueOf(5000)));
+		this.assertEquals(false, AbstractOps.isStrictlyEqual(JSBigInt.ONE, 1));
+		this.assertEquals(true, AbstractOps.isLooselyEqual(JSBigInt.ONE, 1.0));
+		this.assertEquals(true, AbstractOps.isLooselyEqual(new JSString("0x10"), JSBigInt.valueOf(16)));
+		this.assertEquals(false, AbstractOps.isLooselyEqual(JSBigInt.ONE, 1.5));
+		this.assertEquals(true, new JSArray(1, JSBigInt.valueOf(2)).includes(JSBigInt.valueOf(2)));
+	}
+}
@@ -0,0 +1,124 @@
+package javascript.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javascript.*;
+import javascript.exceptions.*;
+
+class JSONTests extends Tester
+{
+	@Test(testName = "JSON.parse()")
+	public void testParse()
+	{
+		JSArray result = (JSArray)JSON.parse(" [1, -2.5e1, \"a\\u0041\\n\", true, null, {\"key\": [], \"key\": {}}] ");
+		
+		this.assertEquals(6, result.length());
+		this.assertEquals("1.0", result.get(0).toString());
+		this.assertEquals("-25.0", result.get(1).toString());
+		this.assertEquals("aA\n", result.get(2).toString());
+		this.assertEquals(true, result.get(3));
+		this.assertEquals(true, result.get(4) == null);
+		
+		JSPlainObject obj = (JSPlainObject)result.get(5);
+		this.assertEquals(1, obj.size());
+		this.assertEquals(true, obj.get("key") instanceof JSPlainObject);
+		this.assertEquals(true, obj.get("missing") instanceof JSUndefined);
+	}
+	
+	@Test(testName = "JSON.parse() errors")
+	public void testParseErrors()
+	{
+		String[] invalid = { "", "[1,]", "{\"a\" 1}", "01", "1.", "\"abc", "tru", "[1]x", "\"a\tb\"" };
+		for (String text : invalid)
+		{
+			try
+			{
+				JSON.parse(text);
+				throw new AssertionError("Parsed invalid JSON '" + text + "'");
+			}
+			catch (SyntaxException e) {}
+		}
+	}
+	
+	@Test(testName = "JSONReader")
+	public void testReader()
+	{
+		StringBuilder sb = new StringBuilder("[");
+		for (int k = 0; k < 5000; k++)
+		{
+			sb.append(k == 0 ? "" : ",").append("{\"id\":").append(k).append(",\"name\":\"item \\\"").append(k).append("\\\"\"}");
+		}
+		String text = sb.append("]").toString();
+		
+		// read one element at a time, across many buffer refills
+		JSONReader reader = new JSONReader(new StringReader(text));
+		this.assertEquals(true, reader.next() == JSONReader.Token.BEGIN_ARRAY);
+		
+		int count = 0;
+		JSString firstKey = null;
+		while (reader.peek() != JSONReader.Token.END_ARRAY)
+		{
+			JSPlainObject item = (JSPlainObject)reader.readValue();
+			this.assertEquals("item \"" + count + "\"", item.get("name").toString());
+			
+			// repeated keys share one string
+			if (firstKey == null) firstKey = (JSString)item.keys().get(0);
+			this.assertEquals(true, item.keys().get(0) == firstKey);
+			count++;
+		}
+		this.assertEquals(5000, count);
+		this.assertEquals(true, reader.next() == JSONReader.Token.END_ARRAY);
+		this.assertEquals(true, reader.next() == JSONReader.Token.END_DOCUMENT);
+	}
+	
+	public static class Point extends JSObject
+	{
+		public double y = 0.5;
+		public int x = 3;
+		public Object label = Global.undefined;
+		public static int count = 0;
+	}
+	
+	@Test(testName = "JSON.stringify()")
+	public void testStringify()
+	{
+		JSPlainObject obj = new JSPlainObject();
+		obj.set("s", "a\"b\\c\n\u0001\uD800");
+		obj.set("n", new JSArray(1.0, 1e21, 0.1, -0.0, Double.NaN, Global.undefined, null, true));
+		obj.set("skipped", Global.undefined);
+		obj.set("point", new Point());
+		
+		String expected = "{\"s\":\"a\\\"b\\\\c\\n\\u0001\\ud800\",\"n\":[1,1e+21,0.1,0,null,null,null,true],\"point\":{\"x\":3,\"y\":0.5}}";
+		this.assertEquals(expected, JSON.stringify(obj).toString());
+		this.assertEquals(true, JSObject.keys(new Point()).get(0) instanceof JSString);
+		this.assertEquals("label,x,y", JSObject.keys(new Point()).join().toString());
+		this.assertEquals(true, JSON.stringify(Global.undefined) == null);
+		
+		// the same text goes straight to writers and streams
+		StringWriter writer = new StringWriter();
+		JSON.stringify(obj, writer);
+		this.assertEquals(expected, writer.toString());
+		
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		JSON.stringify(new JSArray("\u00e9"), null, null, bytes);
+		this.assertEquals(6, bytes.size());
+		
+		// spacing, replacers and property lists
+		JSArray nested = new JSArray(new JSArray(), new JSPlainObject());
+		this.assertEquals("[\n  [],\n  {}\n]", JSON.stringify(nested, (info) -> info.value, 2).toString());
+		this.assertEquals("{\"x\":6,\"y\":1}", JSON.stringify(new Point(), (info) -> info.value instanceof Number ? ((Number)info.value).doubleValue() * 2 : info.value, null).toString());
+		this.assertEquals("{\n\t\"y\": 0.5\n}", JSON.stringify(new Point(), new JSArray("y", "missing"), "\t").toString());
+		this.assertEquals("[\n  1,\n  -9223372036854775808,\n  \"a\\\"b\"\n]", JSON.stringify(new JSArray(1, Long.MIN_VALUE, new StringBuilder("a\"b")), null, 2).toString());
+		
+		JSArray cycle = new JSArray(1);
+		cycle.set(0, cycle);
+		try
+		{
+			JSON.stringify(cycle);
+			throw new AssertionError("Stringified a circular structure");
+		}
+		catch (IllegalArgumentException e) {}
+	}
+}
\ No newline at end of file
@@ -0,0 +1,430 @@
+package javascript.tests;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+import java.util.HashMap;
+
+import javascript.*;
+
+class JSStringTests extends Tester
+{
+	@Test(testName = "JSString.split()")
+	public void testSplit()
+	{
+		JSString testString = new JSString("King of Hearts,King of Spades,,King of Clubs");
+		
+		this.assertEquals(testString.split(","), "King of Hearts", "King of Spades", "", "King of Clubs");
+		
+		// make sure the limit is respected
+		this.assertEquals(testString.split(",", 2), "King of Hearts", "King of Spades");
+		this.assertEquals(0, testString.split(",", 0).length());
+		
+		// what about a multi-char separator?
+		this.assertEquals(testString.split("King of "), "", "Hearts,", "Spades,,", "Clubs");
+		this.assertEquals(new JSString("a::b:::c").split("::"), "a", "b", ":c");
+		
+		// separators that never occur return the whole string
+		this.assertEquals(testString.split(";"), testString.toString());
+		
+		// an empty separator splits every char
+		this.assertEquals(new JSString("abc").split(""), "a", "b", "c");
+		
+		// empty strings
+		this.assertEquals(new JSString().split(","), "");
+		this.assertEquals(0, new JSString().split("").length());
+	}
+	
+	@Test(testName = "JSString.splitIterator()")
+	public void testSplitIterator()
+	{
+		JSString testString = new JSString("King of Hearts,King of Spades,,King of Clubs");
+		
+		// the lazy pieces should match the eager ones
+		this.assertEquals(JSArray.from(testString.splitIterator(",")), "King of Hearts", "King of Spades", "", "King of Clubs");
+		this.assertEquals(JSArray.from(testString.splitIterator(",", 3)), "King of Hearts", "King of Spades", "");
+		this.assertEquals(JSArray.from(testString.splitIterator("King of ")), "", "Hearts,", "Spades,,", "Clubs");
+		this.assertEquals(JSArray.from(new JSString("abc").splitIterator("")), "a", "b", "c");
+		this.assertEquals(JSArray.from(new JSString().splitIterator(",")), "");
+		this.assertEquals(false, new JSString().splitIterator("").hasNext());
+		
+		this.assertEquals(2, (int)testString.splitStream(",").filter(piece -> piece.startsWith("King of S") || piece.length() == 0).count());
+	}
+	
+	@Test(testName = "Splitters")
+	public void testSplitters()
+	{
+		JSString record = new JSString("King of Hearts;King of Spades|King of Clubs");
+		
+		this.assertEquals(record.split(Splitters.charSet(";|")), "King of Hearts", "King of Spades", "King of Clubs");
+		this.assertEquals(record.split(Splitters.charSet(";|"), 2), "King of Hearts", "King of Spades");
+		this.assertEquals(record.split(Splitters.literals(" of ", ";", "|")), "King", "Hearts", "King", "Spades", "King", "Clubs");
+		this.assertEquals(new JSString("a<=b<c").split(Splitters.literals("<", "<=")), "a", "b", "c");
+		
+		this.assertEquals(new JSString("  King\tof \n Hearts  ").split(Splitters.whitespace()), "King", "of", "Hearts");
+		this.assertEquals(0, new JSString(" \t ").split(Splitters.whitespace()).length());
+		
+		this.assertEquals(new JSString("a\r\nb\rc\nd\n").split(Splitters.lines()), "a", "b", "c", "d", "");
+		
+		JSString csv = new JSString("King,\"of, \"\"Hearts\"\"\",,\"\"");
+		this.assertEquals(csv.split(Splitters.csv()), "King", "of, \"Hearts\"", "", "");
+		this.assertEquals(new JSString("a;\"b;c\"").split(Splitters.csv(';')), "a", "b;c");
+		
+		// the lazy pieces should match the eager ones
+		this.assertEquals(JSArray.from(csv.splitIterator(Splitters.csv())), "King", "of, \"Hearts\"", "", "");
+		this.assertEquals(JSArray.from(record.splitIterator(Splitters.charSet(";|"), 1)), "King of Hearts");
+	}
+	
+	@Test(testName = "JSString.indexOf()")
+	public void testIndexOf()
+	{
+		JSString testString = new JSString("aaab, aab, ab");
+		
+		this.assertEquals(2, testString.indexOf("ab"));
+		this.assertEquals(7, testString.indexOf("ab", 3));
+		this.assertEquals(-1, testString.indexOf("abc"));
+		this.assertEquals(5, testString.indexOf("", 5));
+		this.assertEquals(0, new JSString().indexOf(""));
+		this.assertEquals(true, testString.includes("aab,"));
+		this.assertEquals(false, testString.includes("aab,", 7));
+	}
+	
+	@Test(testName = "JSString.parallelSplit()")
+	public void testParallelSplit()
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int k = 0; sb.length() < 1 << 20; k++)
+		{
+			sb.append("King of ").append(k % 7 == 0 ? "" : "Hearts").append(k % 3 == 0 ? ",," : ",");
+		}
+		JSString testString = new JSString(sb.toString());
+		
+		String[] separators = { ",", ",,", "King of ", "aa", "s,K", ";" };
+		for (String separator : separators)
+		{
+			JSArray sequential = testString.split(separator);
+			JSArray parallel = testString.parallelSplit(separator);
+			
+			this.assertEquals(sequential.length(), parallel.length());
+			for (int k = 0, len = sequential.length(); k < len; k++)
+				this.assertEquals(true, ((JSString)sequential.get(k)).contentEquals((JSString)parallel.get(k)));
+			
+			this.assertEquals(testString.indexOf(separator), testString.parallelIndexOf(separator));
+			this.assertEquals(testString.indexOf(separator, 500000), testString.parallelIndexOf(separator, 500000));
+		}
+		
+		this.assertEquals(-1, testString.parallelIndexOf("Spades"));
+	}
+	
+	@Test(testName = "JSString.match()")
+	public void testMatch()
+	{
+		JSString testString = new JSString("The Quick brown fox, the lazy dog.\nThe end");
+		
+		this.assertEquals((JSArray)testString.match(new JSRegExp("the", "gi")), "The", "the", "The");
+		this.assertEquals(true, testString.match(new JSRegExp("cat")) == null);
+		
+		RegExpMatchArray result = (RegExpMatchArray)testString.match(new JSRegExp("(?<adjective>\\w+) (f)(o)?x"));
+		this.assertEquals(10, result.index);
+		this.assertEquals("brown fox", result.get(0).toString());
+		this.assertEquals("brown", result.group("adjective").toString());
+		this.assertEquals(true, result.get(3) instanceof JSString);
+		
+		// matchAll starts at lastIndex, but matches on a copy of the regexp
+		JSRegExp regexp = new JSRegExp("[a-z](\\d)", "g");
+		regexp.setLastIndex(3);
+		JSArray matches = JSArray.from(new JSString("x1y2z3").matchAll(regexp), match -> match.get(1));
+		this.assertEquals(matches, "3");
+		this.assertEquals(3, regexp.lastIndex());
+	}
+	
+	@Test(testName = "JSString.search()")
+	public void testSearch()
+	{
+		JSString testString = new JSString("The Quick brown fox, the lazy dog.\nThe end");
+		
+		this.assertEquals(16, testString.search("fox"));
+		this.assertEquals(-1, testString.search(new JSRegExp("dog.$")));
+		this.assertEquals(30, testString.search(new JSRegExp("dog\\.$", "m")));
+		this.assertEquals(39, testString.search(new JSRegExp("end$")));
+	}
+	
+	@Test(testName = "JSString.replace()")
+	public void testReplace()
+	{
+		JSString testString = new JSString("one fish, two fish");
+		
+		this.assertEquals("one [fish], two fish", testString.replace("fish", "[$&]").toString());
+		this.assertEquals("one $1$<x>$, two fish", testString.replace("fish", "$1$<x>$$").toString());
+		this.assertEquals("one one , two fish", testString.replace("fish", "$`").toString());
+		this.assertEquals("one cat, two cat", testString.replaceAll("fish", "cat").toString());
+		this.assertEquals("-a-b-", new JSString("ab").replaceAll("", "-").toString());
+		this.assertEquals("one 4, two 14", testString.replaceAll("fish", info -> info.position).toString());
+		this.assertEquals("anullc", new JSString("abc").replace("b", null).toString());
+		this.assertEquals("nullanullbnull", new JSString("xaxbx").replaceAll("x", null).toString());
+		
+		// nothing to replace returns the same string
+		this.assertEquals(true, testString.replaceAll("cat", "dog") == testString);
+	}
+	
+	@Test(testName = "JSString.replace(JSRegExp)")
+	public void testReplaceRegExp()
+	{
+		JSString testString = new JSString("The Quick brown fox");
+		
+		this.assertEquals("Quick The [The Quick] $ $3 brown fox",
+				testString.replace(new JSRegExp("(\\w+) (\\w+)"), "$2 $1 [$&] $$ $3").toString());
+		this.assertEquals("Quick-The fox-brown",
+				testString.replace(new JSRegExp("(?<a>\\w+) (?<b>\\w+)", "g"), "$<b>-$<a>").toString());
+		this.assertEquals("The Quick br12wn f17x",
+				testString.replaceAll(new JSRegExp("o", "g"), info -> info.position).toString());
+		this.assertEquals("-a-a-a-", new JSString("aaa").replace(new JSRegExp("a*?", "g"), "-").toString());
+		
+		// nothing to replace returns the same string
+		this.assertEquals(true, testString.replace(new JSRegExp("cat", "g"), "dog") == testString);
+	}
+	
+	@Test(testName = "JSString.split(JSRegExp)")
+	public void testSplitRegExp()
+	{
+		this.assertEquals(new JSString("a1b22c333").split(new JSRegExp("(\\d)+")), "a", "1", "b", "2", "c", "3", "");
+		this.assertEquals(new JSString("King  of\tHearts").split(new JSRegExp("\\s+"), 2), "King", "of");
+		this.assertEquals(0, new JSString().split(new JSRegExp("")).length());
+	}
+	
+	@Test(testName = "JSString.equals()/hashCode()/compareTo()")
+	public void testEquals()
+	{
+		JSString apple = new JSString("apple");
+		
+		this.assertEquals(true, apple.equals(new JSString("apple")));
+		this.assertEquals(false, apple.equals(new JSString("apples")));
+		this.assertEquals(false, apple.equals("apple"));
+		this.assertEquals("apple".hashCode(), apple.hashCode());
+		
+		HashMap<JSString, Integer> map = new HashMap<>();
+		map.put(apple, 1);
+		this.assertEquals(1, (int)map.get(new JSString("apple")));
+		
+		this.assertEquals(true, apple.compareTo(new JSString("apples")) < 0);
+		this.assertEquals(true, new JSString("applesauce").compareTo(new JSString("applet")) < 0);
+		this.assertEquals(true, new JSString("\uFF21").compareTo(apple) > 0);
+		this.assertEquals(0, apple.compareTo(new JSString("apple")));
+	}
+	
+	@Test(testName = "JSString.intern()")
+	public void testIntern()
+	{
+		InternStats before = JSString.internStats();
+		JSString first = new JSString("fieldName").intern();
+		JSString second = new JSString("fieldName").intern();
+		JSString other = new JSString("otherField").intern();
+		InternStats after = JSString.internStats();
+		
+		this.assertEquals(true, first == second);
+		this.assertEquals(true, first == first.intern());
+		this.assertEquals(false, first.equals(other));
+		this.assertEquals(true, first.equals(new JSString("fieldName")));
+		this.assertEquals(true, after.hits - before.hits >= 1);
+		this.assertEquals(true, after.bytesSaved - before.bytesSaved >= 18);
+	}
+	
+	@Test(testName = "JSString conversions")
+	public void testConversions()
+	{
+		JSString testString = new JSString("caf\u00E9 au lait");
+		
+		this.assertEquals(true, testString.toString() == testString.valueOf());
+		this.assertEquals("caf\u00E9 au lait", JSString.wrap(new StringBuilder("caf\u00E9 au lait")).toString());
+		this.assertEquals("au", JSString.copyOf(testString.toCharArray(), 5, 7).toString());
+		
+		CharSequence chars = testString.asCharSequence();
+		this.assertEquals(12, chars.length());
+		this.assertEquals("lait", new StringBuilder().append(chars, 8, 12).toString());
+		this.assertEquals(true, java.util.regex.Pattern.compile("au").matcher(chars).find());
+		this.assertEquals(true, JSString.wrap(chars) == testString);
+		
+		char[] dst = new char[4];
+		testString.getChars(0, 4, dst, 0);
+		this.assertEquals("caf\u00E9", new String(dst));
+	}
+	
+	@Test(testName = "JSString char scans")
+	public void testCharScans()
+	{
+		// cover every length around the vector sizes, so the leftover chars are checked too
+		StringBuilder sb = new StringBuilder();
+		for (int len = 0; len < 80; len++)
+		{
+			String expected = sb.toString();
+			JSString testString = new JSString(expected);
+			String padded = "   " + expected + "  ";
+			
+			this.assertEquals(expected.toLowerCase(), testString.toLowerCase().toString());
+			this.assertEquals(expected.toUpperCase(), testString.toUpperCase().toString());
+			this.assertEquals(expected.indexOf('\u00E9'), testString.indexOf("\u00E9"));
+			this.assertEquals(padded.trim(), new JSString(padded).trim().toString());
+			this.assertEquals(true, testString.contentEquals(new JSString(expected)));
+			this.assertEquals(false, len > 0 && testString.contentEquals(new JSString(expected.substring(0, len - 1) + '!')));
+			
+			sb.append(len % 7 == 6 ? ' ' : (char)((len % 3 == 0 ? 'A' : 'a') + len % 26));
+		}
+		sb.append('\u00E9').append("MiXeD");
+		this.assertEquals(sb.toString().toLowerCase(), new JSString(sb.toString()).toLowerCase().toString());
+		this.assertEquals(80, new JSString(sb.toString()).indexOf("\u00E9"));
+	}
+	
+	@Test(testName = "JSString code points")
+	public void testCodePoints()
+	{
+		JSString testString = JSString.fromCodePoint(0x61, 0x1F600, 0xE9);
+		
+		this.assertEquals("a\uD83D\uDE00\u00E9", testString.toString());
+		this.assertEquals(0x1F600, (int)testString.codePointAt(1));
+		this.assertEquals(0xDE00, (int)testString.codePointAt(2));
+		this.assertEquals(0xD83D, (int)testString.charCodeAt(1));
+		this.assertEquals(3, (int)testString.codePoints().count());
+		
+		JSArray chars = JSArray.from(testString);
+		this.assertEquals(chars, "a", "\uD83D\uDE00", "\u00E9");
+		
+		JSString loneSurrogates = new JSString("\uDE00ab\uD83D\uDE00\uD83D");
+		this.assertEquals(true, testString.isWellFormed());
+		this.assertEquals(false, loneSurrogates.isWellFormed());
+		this.assertEquals("\uFFFDab\uD83D\uDE00\uFFFD", loneSurrogates.toWellFormed().toString());
+		this.assertEquals(true, testString.toWellFormed() == testString);
+		
+		this.assertEquals("\uD801\uDC28", new JSString("\uD801\uDC00").toLowerCase().toString());
+		this.assertEquals("STRASSE", new JSString("stra\u00DFe").toUpperCase().toString());
+		this.assertEquals("a\u03C3\u03C2", new JSString("A\u03A3\u03A3").toLowerCase().toString());
+	}
+	
+	@Test(testName = "JSString single chars")
+	public void testSingleChars()
+	{
+		JSString testString = new JSString("abca\u00FF\u0100\u0100");
+		
+		this.assertEquals(true, testString.charAt(0) == testString.charAt(3));
+		this.assertEquals(true, testString.charAt(4) == JSString.fromCharCode(0xFF));
+		this.assertEquals(false, testString.charAt(5) == testString.charAt(6));
+		this.assertEquals("", testString.charAt(7).toString());
+		this.assertEquals(true, testString.split("").get(0) == testString.iterator().next());
+		this.assertEquals(true, new JSString('b').charAt(0) == testString.charAt(1));
+		this.assertEquals("\u0100", JSString.fromCharCode(0x10100).toString());
+	}
+	
+	@Test(testName = "JSString.trim()")
+	public void testTrim()
+	{
+		JSString testString = new JSString("\t\n\u00A0\uFEFF hello world\u2028\r\n\u3000");
+		JSString trimmed = new JSString("hello world");
+		
+		this.assertEquals("hello world", testString.trim().toString());
+		this.assertEquals("hello world\u2028\r\n\u3000", testString.trimStart().toString());
+		this.assertEquals("\t\n\u00A0\uFEFF hello world", testString.trimEnd().toString());
+		this.assertEquals("\u200B", new JSString("\u200B").trim().toString());
+		this.assertEquals("", new JSString(" \t ").trim().toString());
+		
+		// nothing to trim returns the same string
+		this.assertEquals(true, trimmed.trim() == trimmed);
+		this.assertEquals(true, trimmed.trimStart() == trimmed);
+		this.assertEquals(true, trimmed.trimEnd() == trimmed);
+	}
+	
+	@Test(testName = "JSString.normalize()")
+	public void testNormalize()
+	{
+		JSString ascii = new JSString("plain text");
+		JSString latin1 = new JSString("caf\u00E9");
+		JSString decomposed = new JSString("cafe\u0301");
+		
+		this.assertEquals(true, ascii.normalize("NFKD") == ascii);
+		this.assertEquals(true, latin1.normalize() == latin1);
+		this.assertEquals("cafe\u0301", latin1.normalize("NFD").toString());
+		this.assertEquals(true, latin1.normalize("NFD") == latin1.normalize("NFD"));
+		this.assertEquals("caf\u00E9", decomposed.normalize().toString());
+		this.assertEquals(true, decomposed.normalize("NFD") == decomposed);
+		this.assertEquals("1/2", new JSString("\u00BD").normalize("NFKC").toString().replace('\u2044', '/'));
+	}
+	
+	@Test(testName = "JSString.localeCompare()")
+	public void testLocaleCompare()
+	{
+		JSString a = new JSString("a");
+		
+		this.assertEquals(true, a.localeCompare("B", "en") < 0);
+		this.assertEquals(true, new JSString("\u00E4").localeCompare("z", "de") < 0);
+		this.assertEquals(true, new JSString("\u00E4").localeCompare("z", "sv") > 0);
+		this.assertEquals(0, new JSString("caf\u00E9").localeCompare("cafe\u0301", "fr"));
+		this.assertEquals(0, new JSString("undefined").localeCompare(Global.undefined));
+		this.assertEquals(0, new JSString("1").localeCompare(1.0));
+		
+		JSArray words = JSArray.of(new JSString("zebra"), Global.undefined, "\u00C5ngstr\u00F6m", "apple", new JSString("Apple"));
+		words.sortByCollator(new JSCollator("en"));
+		this.assertEquals(words.slice(0, 4), "\u00C5ngstr\u00F6m", "apple", "Apple", "zebra");
+		this.assertEquals(true, words.get(4) instanceof JSUndefined);
+	}
+	
+	public void assertEquals(JSArray result, String ...expected)
+	{
+		int len = expected.length;
+		this.assertEquals(len, result.length());
+		for (int index = 0; index < len; index++)
+			this.assertEquals(expected[index], result.get(index).toString());
+	}
+	
+	@Test(testName = "TextEncoder and TextDecoder")
+	public void testTextEncoding()
+	{
+		JSString text = new JSString("a\u00e9\u20ac\ud83d\ude00");
+		TextEncoder encoder = new TextEncoder();
+		
+		ByteBuffer encoded = encoder.encode(text);
+		this.assertEquals(10, encoded.remaining());
+		this.assertEquals(text.toString(), new TextDecoder().decode(encoded.duplicate()).toString());
+		
+		// the emoji doesn't fit, and isn't split
+		ByteBuffer small = ByteBuffer.allocateDirect(8);
+		EncodeIntoResult result = encoder.encodeInto(text, small);
+		this.assertEquals(3, result.read);
+		this.assertEquals(6, result.written);
+		this.assertEquals(6, small.position());
+		
+		boolean readOnly = false;
+		try
+		{
+			encoder.encodeInto(text, ByteBuffer.allocate(8).asReadOnlyBuffer());
+		}
+		catch (ReadOnlyBufferException e)
+		{
+			readOnly = true;
+		}
+		this.assertEquals(true, readOnly);
+		
+		// a code point split across chunks
+		TextDecoder decoder = new TextDecoder();
+		StringBuilder chunks = new StringBuilder();
+		for (int i = 0; i < 10; i += 3)
+		{
+			ByteBuffer chunk = encoded.duplicate();
+			chunk.position(i).limit(Math.min(i + 3, 10));
+			chunks.append(decoder.decode(chunk, true));
+		}
+		chunks.append(decoder.decode());
+		this.assertEquals(text.toString(), chunks.toString());
+		
+		this.assertEquals("\ufffd\ufffda", new TextDecoder().decode(ByteBuffer.wrap(new byte[] { (byte)0xC3, (byte)0xFF, 'a' })).toString());
+		this.assertEquals("x", new TextDecoder().decode(ByteBuffer.wrap(new byte[] { (byte)0xEF, (byte)0xBB, (byte)0xBF, 'x' })).toString());
+		this.assertEquals("\ufffd", new TextDecoder().decode(ByteBuffer.wrap(new byte[] { (byte)0xF0, (byte)0x9F })).toString());
+		
+		boolean threw = false;
+		try
+		{
+			new TextDecoder(true, false).decode(ByteBuffer.wrap(new byte[] { (byte)0x80 }));
+		}
+		catch (IllegalArgumentException e)
+		{
+			threw = true;
+		}
+		this.assertEquals(true, threw);
+	}
+}
@@ -7,5 +7,21 @@ class Main
 		JSArrayTests arrayTests = new JSArrayTests();
 		
 		arrayTests.test();
+		
+		JSStringTests stringTests = new JSStringTests();
+		
+		stringTests.test();
+		
+		JSONTests jsonTests = new JSONTests();
+		
+		jsonTests.test();
+		
+		JSNumberTests numberTests = new JSNumberTests();
+		
+		numberTests.test();
+		
+		SnapshotTests snapshotTests = new SnapshotTests();
+		
+		snapshotTests.test();
 	}
 }
\ No newline at end of file
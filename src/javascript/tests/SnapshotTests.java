@@ -0,0 +1,120 @@
+package javascript.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import javascript.*;
+
+class SnapshotTests extends Tester
+{
+	@Test(testName = "Snapshot round trip")
+	public void testRoundTrip() throws IOException
+	{
+		JSPlainObject obj = new JSPlainObject();
+		obj.set("name", "caf\u00e9");
+		obj.set("wide", "\u4e2d\u6587\uD83D\uDE00");
+		obj.set("numbers", new JSArray(0.0, -0.0, 1.5, -42.0, 1e300, 7, 1L << 40, Double.NaN));
+		obj.set("flags", new JSArray(true, false, null, Global.undefined));
+		
+		JSArray list = new JSArray(200000);
+		for (int i = 0; i < list.length(); i++)
+		{
+			list.set(i, i % 2 == 0 ? new JSString("item " + (i % 100)) : (Object)(double)i);
+		}
+		obj.set("list", list);
+		obj.set("again", list);
+		obj.set("self", obj);
+		
+		Path path = Files.createTempFile("snapshot", ".bin");
+		try
+		{
+			Snapshot.write(obj, path);
+			JSPlainObject result = (JSPlainObject)Snapshot.read(path);
+			
+			this.assertEquals("caf\u00e9", result.get("name").toString());
+			this.assertEquals("\u4e2d\u6587\uD83D\uDE00", result.get("wide").toString());
+			this.assertEquals(true, result.get("self") == result);
+			this.assertEquals(true, result.get("again") == result.get("list"));
+			
+			JSArray numbers = (JSArray)result.get("numbers");
+			this.assertEquals(true, 1 / (Double)numbers.get(1) < 0);
+			this.assertEquals("1.5", numbers.get(2).toString());
+			this.assertEquals("1.0E300", numbers.get(4).toString());
+			this.assertEquals(true, numbers.get(5).equals(7));
+			this.assertEquals(true, numbers.get(6).equals(1L << 40));
+			this.assertEquals(true, ((Double)numbers.get(7)).isNaN());
+			
+			JSArray flags = (JSArray)result.get("flags");
+			this.assertEquals(true, flags.get(2) == null && flags.get(3) instanceof JSUndefined);
+			
+			// equal strings come back as one shared string
+			JSArray items = (JSArray)result.get("list");
+			this.assertEquals(200000, items.length());
+			this.assertEquals("item 42", items.get(200042 - 200000).toString());
+			this.assertEquals(true, items.get(4) == items.get(204));
+			this.assertEquals("199999.0", items.get(199999).toString());
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+	
+	@Test(testName = "Snapshot rejects corrupt and truncated files")
+	public void testCorrupt() throws IOException
+	{
+		Path path = Files.createTempFile("snapshot", ".bin");
+		try
+		{
+			// an array claiming Integer.MAX_VALUE items, and a string table claiming as many strings
+			byte[] header = { 'J', 'S', 'S', 'N', 1, 0 };
+			byte[] huge = { (byte)0xFF, (byte)0xFF, (byte)0xFF, (byte)0xFF, 0x07 };
+			this.assertEquals(true, SnapshotTests.fails(path, header, new byte[] { 0, 9 }, huge));
+			this.assertEquals(true, SnapshotTests.fails(path, header, huge));
+			
+			// a string longer than the file
+			this.assertEquals(true, SnapshotTests.fails(path, header, new byte[] { 1 }, huge));
+			
+			// cut off half way through
+			JSArray list = new JSArray(1000);
+			Snapshot.write(list, path);
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE))
+			{
+				channel.truncate(channel.size() / 2);
+			}
+			this.assertEquals(true, SnapshotTests.fails(path));
+		}
+		finally
+		{
+			Files.delete(path);
+		}
+	}
+	
+	/**
+	 * Writes <code>parts</code> to <code>path</code>, if there are any, and
+	 * gets whether reading it back throws an IOException
+	 */
+	private static boolean fails(Path path, byte[] ...parts) throws IOException
+	{
+		if (parts.length > 0)
+		{
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			for (byte[] part : parts) bytes.write(part);
+			Files.write(path, bytes.toByteArray());
+		}
+		
+		try
+		{
+			Snapshot.read(path);
+			return false;
+		}
+		catch (IOException e)
+		{
+			return true;
+		}
+	}
+}